@@ -27,6 +27,7 @@ import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metadata.TokenMap;
 import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3Token;
 import com.datastax.oss.driver.shaded.guava.common.base.Preconditions;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
 import com.datastax.oss.dsbulk.sampler.DataSizes;
@@ -41,8 +42,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 public class DefaultStatementBatcher implements StatementBatcher {
 
@@ -236,12 +235,17 @@ public class DefaultStatementBatcher implements StatementBatcher {
   @NonNull
   public List<Statement<?>> batchByGroupingKey(
       @NonNull Iterable<BatchableStatement<?>> statements) {
-    return StreamSupport.stream(statements.spliterator(), false)
-        .collect(Collectors.groupingBy(this::groupingKey))
-        .values()
-        .stream()
-        .flatMap(stmts -> maybeBatch(stmts).stream())
-        .collect(Collectors.toList());
+    int expectedSize =
+        statements instanceof Collection
+            ? ((Collection<?>) statements).size()
+            : StatementBuckets.DEFAULT_CAPACITY;
+    StatementBuckets buckets = new StatementBuckets(expectedSize);
+    List<Statement<?>> batches = new ArrayList<>();
+    for (BatchableStatement<?> statement : statements) {
+      batches.addAll(buckets.add(statement));
+    }
+    batches.addAll(buckets.flush());
+    return batches;
   }
 
   @Override
@@ -338,6 +342,169 @@ public class DefaultStatementBatcher implements StatementBatcher {
     return session.getKeyspace().orElse(null);
   }
 
+  /**
+   * Groups statements by {@linkplain #groupingKey(Statement) grouping key} in a single pass, and
+   * emits a batch as soon as a group reaches the maximum number of statements or the maximum data
+   * size in bytes.
+   *
+   * <p>Groups are kept in an open-addressing table; Murmur3 tokens, by far the most common grouping
+   * keys, are stored as primitive longs. Statements without a grouping key are emitted immediately,
+   * unbatched.
+   *
+   * <p>This class is not thread-safe.
+   */
+  protected class StatementBuckets {
+
+    /** The default initial capacity of the table. */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    // null keys denote Murmur3 tokens, stored in the tokens array
+    private Object[] keys;
+    private long[] tokens;
+    private Bucket[] buckets;
+    private int size;
+
+    // buckets in insertion order, to flush remaining statements in a predictable order
+    private final List<Bucket> order = new ArrayList<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param expectedSize the expected number of statements; used to size the table.
+     */
+    public StatementBuckets(int expectedSize) {
+      int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize) * 2 - 1);
+      keys = new Object[capacity];
+      tokens = new long[capacity];
+      buckets = new Bucket[capacity];
+    }
+
+    /**
+     * Adds the given statement to its bucket.
+     *
+     * @param statement the statement to add.
+     * @return the statements to emit: a full batch, or the statement itself if it cannot be
+     *     grouped; empty in most cases.
+     */
+    @NonNull
+    public List<Statement<?>> add(@NonNull BatchableStatement<?> statement) {
+      Object key = groupingKey(statement);
+      if (key == statement) {
+        return Collections.singletonList(statement);
+      }
+      Bucket bucket =
+          key instanceof Murmur3Token ? bucket(((Murmur3Token) key).getValue()) : bucket(key);
+      return bucket.add(statement);
+    }
+
+    /**
+     * Flushes all the buckets.
+     *
+     * @return the batches formed by the remaining statements in each bucket.
+     */
+    @NonNull
+    public List<Statement<?>> flush() {
+      List<Statement<?>> batches = new ArrayList<>();
+      for (Bucket bucket : order) {
+        if (!bucket.statements.isEmpty()) {
+          batches.add(bucket.flush());
+        }
+      }
+      return batches;
+    }
+
+    private Bucket bucket(long token) {
+      int mask = buckets.length - 1;
+      int i = mix(token) & mask;
+      while (buckets[i] != null) {
+        if (keys[i] == null && tokens[i] == token) {
+          return buckets[i];
+        }
+        i = (i + 1) & mask;
+      }
+      Bucket bucket = new Bucket();
+      tokens[i] = token;
+      insert(i, bucket);
+      return bucket;
+    }
+
+    private Bucket bucket(Object key) {
+      int mask = buckets.length - 1;
+      int i = mix(key.hashCode()) & mask;
+      while (buckets[i] != null) {
+        if (keys[i] != null && keys[i].equals(key)) {
+          return buckets[i];
+        }
+        i = (i + 1) & mask;
+      }
+      Bucket bucket = new Bucket();
+      keys[i] = key;
+      insert(i, bucket);
+      return bucket;
+    }
+
+    private void insert(int i, Bucket bucket) {
+      buckets[i] = bucket;
+      order.add(bucket);
+      if (++size * 2 > buckets.length) {
+        resize();
+      }
+    }
+
+    private void resize() {
+      Object[] oldKeys = keys;
+      long[] oldTokens = tokens;
+      Bucket[] oldBuckets = buckets;
+      int capacity = oldBuckets.length * 2;
+      int mask = capacity - 1;
+      keys = new Object[capacity];
+      tokens = new long[capacity];
+      buckets = new Bucket[capacity];
+      for (int j = 0; j < oldBuckets.length; j++) {
+        if (oldBuckets[j] != null) {
+          Object key = oldKeys[j];
+          int i = (key == null ? mix(oldTokens[j]) : mix(key.hashCode())) & mask;
+          while (buckets[i] != null) {
+            i = (i + 1) & mask;
+          }
+          keys[i] = key;
+          tokens[i] = oldTokens[j];
+          buckets[i] = oldBuckets[j];
+        }
+      }
+    }
+
+    private int mix(long h) {
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+      return (int) h;
+    }
+  }
+
+  private class Bucket {
+
+    private final List<BatchableStatement<?>> statements = new ArrayList<>();
+    private final AdaptiveSizingBatchPredicate shouldFlush = new AdaptiveSizingBatchPredicate();
+
+    private List<Statement<?>> add(BatchableStatement<?> statement) {
+      statements.add(statement);
+      if (shouldFlush.test(statement)) {
+        return Collections.singletonList(flush());
+      }
+      return Collections.emptyList();
+    }
+
+    private Statement<?> flush() {
+      Statement<?> batch =
+          statements.size() == 1
+              ? statements.get(0)
+              : BatchStatement.newInstance(batchType, statements);
+      statements.clear();
+      return batch;
+    }
+  }
+
   protected class AdaptiveSizingBatchPredicate implements Predicate<BatchableStatement<?>> {
 
     private int statementsCounter = 0;
@@ -34,6 +34,7 @@ import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metadata.TokenMap;
 import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3Token;
 import com.datastax.oss.driver.shaded.guava.common.collect.Sets;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -332,6 +333,44 @@ public class StatementBatcherTest {
     stmt6 = stmt6.setRoutingKey(key1).setRoutingToken(null);
   }
 
+  @Test
+  void should_batch_by_murmur3_token_with_many_distinct_tokens() {
+    List<BatchableStatement<?>> children = murmur3Statements(1000, 300);
+    StatementBatcher batcher = new DefaultStatementBatcher(3);
+    List<Statement<?>> statements = batcher.batchByGroupingKey(children);
+    assertGroupedByToken(statements, children, 3);
+  }
+
+  protected List<BatchableStatement<?>> murmur3Statements(int count, int distinctTokens) {
+    List<BatchableStatement<?>> statements = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      statements.add(
+          SimpleStatement.newInstance("stmt" + i)
+              .setRoutingToken(new Murmur3Token((i % distinctTokens) * 0x1234567890L)));
+    }
+    return statements;
+  }
+
+  protected void assertGroupedByToken(
+      List<Statement<?>> statements, List<BatchableStatement<?>> children, int maxBatchStatements) {
+    List<Statement<?>> actual = new ArrayList<>();
+    for (Statement<?> statement : statements) {
+      if (statement instanceof BatchStatement) {
+        BatchStatement batch = (BatchStatement) statement;
+        assertThat(batch.size()).isBetween(2, maxBatchStatements);
+        Set<Token> tokens = new HashSet<>();
+        for (BatchableStatement<?> child : batch) {
+          tokens.add(child.getRoutingToken());
+          actual.add(child);
+        }
+        assertThat(tokens).hasSize(1);
+      } else {
+        actual.add(statement);
+      }
+    }
+    assertThat(actual).containsExactlyInAnyOrderElementsOf(children);
+  }
+
   protected void assignRoutingTokens() {
     stmt1 = stmt1.setRoutingKey((ByteBuffer) null).setRoutingToken(token1);
     stmt2 = stmt2.setRoutingKey((ByteBuffer) null).setRoutingToken(token1);
@@ -173,7 +173,13 @@ public class ReactorStatementBatcher extends DefaultStatementBatcher
   @NonNull
   public Flux<Statement<?>> batchByGroupingKey(
       @NonNull Publisher<BatchableStatement<?>> statements) {
-    return Flux.from(statements).groupBy(this::groupingKey).flatMap(this::batchAll);
+    return Flux.defer(
+        () -> {
+          StatementBuckets buckets = new StatementBuckets(StatementBuckets.DEFAULT_CAPACITY);
+          return Flux.from(statements)
+              .concatMapIterable(buckets::add)
+              .concatWith(Flux.defer(() -> Flux.fromIterable(buckets.flush())));
+        });
   }
 
   @Override
@@ -21,12 +21,14 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
 import com.datastax.oss.driver.api.core.cql.Statement;
 import com.datastax.oss.driver.api.core.metadata.Metadata;
 import com.datastax.oss.driver.api.core.metadata.TokenMap;
 import com.datastax.oss.dsbulk.batcher.api.BatchMode;
 import com.datastax.oss.dsbulk.batcher.api.StatementBatcherTest;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
@@ -244,4 +246,13 @@ class ReactorStatementBatcherTest extends StatementBatcherTest {
         .extracting(EXTRACTOR)
         .contains(tuple(stmt1, stmt2, stmt3, stmt4, stmt5, stmt6));
   }
+
+  @Test
+  void should_batch_by_murmur3_token_with_many_distinct_tokens_reactive() {
+    List<BatchableStatement<?>> children = murmur3Statements(1000, 300);
+    ReactorStatementBatcher batcher = new ReactorStatementBatcher(3);
+    List<Statement<?>> statements =
+        batcher.batchByGroupingKey(Flux.fromIterable(children)).collectList().block();
+    assertGroupedByToken(statements, children, 3);
+  }
 }
@@ -0,0 +1,284 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.detach.AttachmentPoint;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.datastax.oss.driver.internal.core.cql.DefaultColumnDefinition;
+import com.datastax.oss.driver.internal.core.cql.DefaultColumnDefinitions;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.dsbulk.config.ConfigUtils;
+import com.datastax.oss.protocol.internal.ProtocolConstants;
+import com.datastax.oss.protocol.internal.response.result.ColumnSpec;
+import com.datastax.oss.protocol.internal.response.result.RawType;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic data shared by all benchmarks.
+ *
+ * <p>All benchmarks operate on the same logical table:
+ *
+ * <pre>
+ * CREATE TABLE ks.t1 (pk int, cc bigint, v1 text, v2 timestamp, v3 decimal,
+ *                     PRIMARY KEY (pk, cc))
+ * </pre>
+ *
+ * Data is generated from a fixed seed so that successive runs operate on identical inputs.
+ */
+public final class BenchmarkFixtures {
+
+  public static final String KEYSPACE = "ks";
+  public static final String TABLE = "t1";
+
+  public static final String[] COLUMNS = {"pk", "cc", "v1", "v2", "v3"};
+
+  private static final int[] COLUMN_TYPES = {
+    ProtocolConstants.DataType.INT,
+    ProtocolConstants.DataType.BIGINT,
+    ProtocolConstants.DataType.VARCHAR,
+    ProtocolConstants.DataType.TIMESTAMP,
+    ProtocolConstants.DataType.DECIMAL
+  };
+
+  private static final long SEED = 42L;
+
+  private BenchmarkFixtures() {}
+
+  /**
+   * Generates the textual values of one synthetic row, in column order.
+   *
+   * @param random the random generator to use.
+   * @param partitions the number of distinct partition keys to generate.
+   * @return the row values, as strings.
+   */
+  @NonNull
+  public static String[] randomRow(@NonNull SplittableRandom random, int partitions) {
+    return new String[] {
+      String.valueOf(random.nextInt(partitions)),
+      String.valueOf(random.nextLong()),
+      randomText(random, 10 + random.nextInt(40)),
+      Instant.ofEpochMilli(random.nextLong(0, 4102444800000L)).toString(),
+      BigDecimal.valueOf(random.nextLong(), 4).toPlainString()
+    };
+  }
+
+  /**
+   * Creates a temporary CSV file containing the given number of synthetic rows.
+   *
+   * @param rows the number of rows to generate.
+   * @param header whether to include a header line.
+   * @return the path to the generated file; the caller is responsible for deleting it.
+   */
+  @NonNull
+  public static Path createCsvFile(int rows, boolean header) throws IOException {
+    Path file = Files.createTempFile("dsbulk-benchmark-", ".csv");
+    SplittableRandom random = new SplittableRandom(SEED);
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      if (header) {
+        writer.write(String.join(",", COLUMNS));
+        writer.newLine();
+      }
+      for (int i = 0; i < rows; i++) {
+        String[] row = randomRow(random, Integer.MAX_VALUE);
+        // quote the text column to exercise the parser's quote handling
+        row[2] = '"' + row[2] + '"';
+        writer.write(String.join(",", row));
+        writer.newLine();
+      }
+    }
+    return file;
+  }
+
+  /**
+   * Creates a temporary JSON file containing the given number of synthetic documents.
+   *
+   * @param rows the number of documents to generate.
+   * @param array whether to enclose all documents in a JSON array (single document mode), or to
+   *     write one document per line (multi document mode).
+   * @return the path to the generated file; the caller is responsible for deleting it.
+   */
+  @NonNull
+  public static Path createJsonFile(int rows, boolean array) throws IOException {
+    Path file = Files.createTempFile("dsbulk-benchmark-", ".json");
+    SplittableRandom random = new SplittableRandom(SEED);
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      if (array) {
+        writer.write('[');
+        writer.newLine();
+      }
+      for (int i = 0; i < rows; i++) {
+        String[] row = randomRow(random, Integer.MAX_VALUE);
+        writer.write(
+            String.format(
+                "{\"pk\":%s,\"cc\":%s,\"v1\":\"%s\",\"v2\":\"%s\",\"v3\":%s}",
+                row[0], row[1], row[2], row[3], row[4]));
+        if (array && i < rows - 1) {
+          writer.write(',');
+        }
+        writer.newLine();
+      }
+      if (array) {
+        writer.write(']');
+        writer.newLine();
+      }
+    }
+    return file;
+  }
+
+  /**
+   * Creates connector settings for the given connector, using the reference configuration
+   * overridden with the given HOCON string.
+   *
+   * @param connectorName the connector name, e.g. "csv".
+   * @param overrides the settings to override, in HOCON syntax.
+   * @return the connector settings.
+   */
+  @NonNull
+  public static Config connectorSettings(@NonNull String connectorName, @NonNull String overrides) {
+    return ConfigFactory.parseString(overrides)
+        .withFallback(
+            ConfigUtils.createReferenceConfig()
+                .resolve()
+                .getConfig("dsbulk.connector." + connectorName));
+  }
+
+  /** @return the bound variables of the synthetic INSERT statement. */
+  @NonNull
+  public static ColumnDefinitions variableDefinitions() {
+    List<ColumnDefinition> definitions = new ArrayList<>();
+    for (int i = 0; i < COLUMNS.length; i++) {
+      ColumnSpec spec =
+          new ColumnSpec(KEYSPACE, TABLE, COLUMNS[i], i, RawType.PRIMITIVES.get(COLUMN_TYPES[i]));
+      definitions.add(new DefaultColumnDefinition(spec, AttachmentPoint.NONE));
+    }
+    return DefaultColumnDefinitions.valueOf(definitions);
+  }
+
+  /**
+   * Creates a mocked INSERT prepared statement for the synthetic table. Each call to {@link
+   * PreparedStatement#boundStatementBuilder(Object...)} returns a real, empty builder.
+   *
+   * @return the mocked prepared statement.
+   */
+  @NonNull
+  public static PreparedStatement mockInsertStatement() {
+    ColumnDefinitions variables = variableDefinitions();
+    PreparedStatement ps = mock(PreparedStatement.class, withSettings().stubOnly());
+    when(ps.getQuery())
+        .thenReturn(
+            String.format(
+                "INSERT INTO %s.%s (%s) VALUES (:%s)",
+                KEYSPACE, TABLE, String.join(",", COLUMNS), String.join(",:", COLUMNS)));
+    when(ps.getVariableDefinitions()).thenReturn(variables);
+    when(ps.getPartitionKeyIndices()).thenReturn(ImmutableList.of(0));
+    when(ps.boundStatementBuilder())
+        .thenAnswer(invocation -> newBoundStatementBuilder(ps, variables));
+    return ps;
+  }
+
+  /**
+   * Creates the given number of bound statements for the synthetic table, with their routing keys
+   * set.
+   *
+   * @param ps the prepared statement to bind.
+   * @param statements the number of statements to create.
+   * @param partitions the number of distinct partition keys to spread statements across.
+   * @return the bound statements.
+   */
+  @NonNull
+  public static List<BatchableStatement<?>> createBoundStatements(
+      @NonNull PreparedStatement ps, int statements, int partitions) {
+    SplittableRandom random = new SplittableRandom(SEED);
+    ProtocolVersion protocolVersion = ProtocolVersion.DEFAULT;
+    ColumnDefinitions variables = ps.getVariableDefinitions();
+    List<BatchableStatement<?>> result = new ArrayList<>(statements);
+    for (int i = 0; i < statements; i++) {
+      String[] row = randomRow(random, partitions);
+      ByteBuffer pk = TypeCodecs.INT.encode(Integer.parseInt(row[0]), protocolVersion);
+      result.add(
+          newBoundStatementBuilder(ps, variables)
+              .setBytesUnsafe(0, pk)
+              .setBytesUnsafe(1, TypeCodecs.BIGINT.encode(Long.parseLong(row[1]), protocolVersion))
+              .setBytesUnsafe(2, TypeCodecs.TEXT.encode(row[2], protocolVersion))
+              .setBytesUnsafe(
+                  3, TypeCodecs.TIMESTAMP.encode(Instant.parse(row[3]), protocolVersion))
+              .setBytesUnsafe(4, TypeCodecs.DECIMAL.encode(new BigDecimal(row[4]), protocolVersion))
+              .setRoutingKey(pk)
+              .build());
+    }
+    return result;
+  }
+
+  @NonNull
+  private static BoundStatementBuilder newBoundStatementBuilder(
+      @NonNull PreparedStatement ps, @NonNull ColumnDefinitions variables) {
+    return new BoundStatementBuilder(
+        ps,
+        variables,
+        new ByteBuffer[variables.size()],
+        null,
+        null,
+        null,
+        null,
+        null,
+        Collections.emptyMap(),
+        null,
+        false,
+        Statement.NO_DEFAULT_TIMESTAMP,
+        null,
+        Integer.MIN_VALUE,
+        null,
+        null,
+        null,
+        CodecRegistry.DEFAULT,
+        ProtocolVersion.DEFAULT);
+  }
+
+  @NonNull
+  private static String randomText(@NonNull SplittableRandom random, int length) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) ('a' + random.nextInt(26));
+    }
+    return new String(chars);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.benchmarks;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.datastax.oss.dsbulk.sampler.DataSizes;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the throughput of {@link DataSizes#getDataSize} for bound, simple and batch statements.
+ * Each operation is the data size of one statement computed; for batches, one child statement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DataSizesBenchmark {
+
+  private static final int STATEMENTS = 1024;
+
+  private static final ProtocolVersion PROTOCOL_VERSION = ProtocolVersion.DEFAULT;
+  private static final CodecRegistry CODEC_REGISTRY = CodecRegistry.DEFAULT;
+
+  private List<BatchableStatement<?>> boundStatements;
+  private List<SimpleStatement> simpleStatements;
+  private BatchStatement batchStatement;
+
+  @Setup
+  public void setup() {
+    boundStatements =
+        BenchmarkFixtures.createBoundStatements(
+            BenchmarkFixtures.mockInsertStatement(), STATEMENTS, STATEMENTS);
+    simpleStatements = new ArrayList<>(STATEMENTS);
+    SplittableRandom random = new SplittableRandom(42);
+    for (int i = 0; i < STATEMENTS; i++) {
+      String[] row = BenchmarkFixtures.randomRow(random, STATEMENTS);
+      simpleStatements.add(
+          SimpleStatement.newInstance(
+              "INSERT INTO ks.t1 (pk, cc, v1, v2, v3) VALUES (?, ?, ?, ?, ?)",
+              Integer.parseInt(row[0]),
+              Long.parseLong(row[1]),
+              row[2],
+              Instant.parse(row[3]),
+              new BigDecimal(row[4])));
+    }
+    batchStatement = BatchStatement.newInstance(BatchType.UNLOGGED, boundStatements);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(STATEMENTS)
+  public void boundStatement(Blackhole bh) {
+    for (BatchableStatement<?> statement : boundStatements) {
+      bh.consume(DataSizes.getDataSize(statement, PROTOCOL_VERSION, CODEC_REGISTRY));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(STATEMENTS)
+  public void simpleStatement(Blackhole bh) {
+    for (SimpleStatement statement : simpleStatements) {
+      bh.consume(DataSizes.getDataSize(statement, PROTOCOL_VERSION, CODEC_REGISTRY));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(STATEMENTS)
+  public long batchStatement() {
+    return DataSizes.getDataSize(batchStatement, PROTOCOL_VERSION, CODEC_REGISTRY);
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.benchmarks;
+
+import com.datastax.oss.dsbulk.connectors.json.JsonConnector;
+import com.datastax.oss.dsbulk.url.BulkLoaderURLStreamHandlerFactory;
+import com.typesafe.config.Config;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+/**
+ * Measures the throughput of {@link JsonConnector} when reading a local, uncompressed file. Each
+ * operation is one record read, parsed and converted into a {@link
+ * com.datastax.oss.dsbulk.connectors.api.Record}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JsonConnectorBenchmark {
+
+  private static final int RECORDS = 100_000;
+
+  @Param({"MULTI_DOCUMENT", "SINGLE_DOCUMENT"})
+  private String mode;
+
+  private Path file;
+  private JsonConnector connector;
+
+  @Setup
+  public void setup() throws Exception {
+    BulkLoaderURLStreamHandlerFactory.install();
+    file = BenchmarkFixtures.createJsonFile(RECORDS, mode.equals("SINGLE_DOCUMENT"));
+    Config settings =
+        BenchmarkFixtures.connectorSettings(
+            "json", String.format("url = \"%s\", mode = %s", file.toUri(), mode));
+    connector = new JsonConnector();
+    connector.configure(settings, true);
+    connector.init();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    connector.close();
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void readNext(Blackhole bh) {
+    Flux.concat(connector.read()).doOnNext(bh::consume).blockLast();
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.benchmarks;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.type.reflect.GenericType;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSetMultimap;
+import com.datastax.oss.dsbulk.codecs.api.ConvertingCodecFactory;
+import com.datastax.oss.dsbulk.codecs.text.TextConversionContext;
+import com.datastax.oss.dsbulk.connectors.api.DefaultIndexedField;
+import com.datastax.oss.dsbulk.connectors.api.DefaultMappedField;
+import com.datastax.oss.dsbulk.connectors.api.DefaultRecord;
+import com.datastax.oss.dsbulk.connectors.api.Field;
+import com.datastax.oss.dsbulk.connectors.api.Record;
+import com.datastax.oss.dsbulk.mapping.CQLWord;
+import com.datastax.oss.dsbulk.mapping.DefaultMapping;
+import com.datastax.oss.dsbulk.workflow.commons.schema.DefaultRecordMapper;
+import com.datastax.oss.dsbulk.workflow.commons.schema.RecordMapper;
+import java.net.URI;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the throughput of {@link DefaultRecordMapper#map(Record)}, from a record as emitted by
+ * the CSV connector with a header, to a bound statement, using the real text codecs and a mocked
+ * prepared statement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RecordMapperBenchmark {
+
+  private static final int RECORDS = 1024;
+
+  private static final URI RESOURCE = URI.create("file:///dsbulk-benchmark.csv");
+
+  private RecordMapper mapper;
+  private Record[] records;
+
+  @Setup
+  public void setup() {
+    PreparedStatement insertStatement = BenchmarkFixtures.mockInsertStatement();
+    ImmutableSetMultimap.Builder<Field, CQLWord> fieldsToVariables = ImmutableSetMultimap.builder();
+    for (String column : BenchmarkFixtures.COLUMNS) {
+      fieldsToVariables.put(new DefaultMappedField(column), CQLWord.fromInternal(column));
+    }
+    DefaultMapping mapping =
+        new DefaultMapping(
+            fieldsToVariables.build(),
+            new ConvertingCodecFactory(new TextConversionContext()),
+            ImmutableSet.of());
+    mapper =
+        new DefaultRecordMapper(
+            insertStatement,
+            ImmutableSet.of(CQLWord.fromInternal("pk")),
+            ImmutableSet.of(CQLWord.fromInternal("cc")),
+            ProtocolVersion.DEFAULT,
+            mapping,
+            (field, cqlType) -> GenericType.STRING,
+            true,
+            true,
+            false);
+    records = new Record[RECORDS];
+    SplittableRandom random = new SplittableRandom(42);
+    for (int i = 0; i < RECORDS; i++) {
+      String[] row = BenchmarkFixtures.randomRow(random, Integer.MAX_VALUE);
+      ReusableRecord record = new ReusableRecord(String.join(",", row), i + 1);
+      for (int j = 0; j < row.length; j++) {
+        // emulate what the CSV connector does: each value is accessible by name and by index
+        record.setFieldValue(new DefaultMappedField(BenchmarkFixtures.COLUMNS[j]), row[j]);
+        record.setFieldValue(new DefaultIndexedField(j), row[j]);
+      }
+      records[i] = record;
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void map(Blackhole bh) {
+    for (Record record : records) {
+      bh.consume(mapper.map(record));
+    }
+  }
+
+  /**
+   * A record that ignores calls to {@link #clear()}, so that it can be mapped more than once; the
+   * record mapper clears each record once it is mapped.
+   */
+  private static class ReusableRecord extends DefaultRecord {
+
+    private static final long serialVersionUID = 1L;
+
+    private ReusableRecord(Object source, long position) {
+      super(source, RESOURCE, position);
+    }
+
+    @Override
+    public void clear() {}
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.benchmarks;
+
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.dsbulk.batcher.api.DefaultStatementBatcher;
+import com.datastax.oss.dsbulk.batcher.reactor.ReactorStatementBatcher;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+/**
+ * Measures the throughput of {@link DefaultStatementBatcher#batchByGroupingKey(Iterable)} and
+ * {@link ReactorStatementBatcher#batchByGroupingKey(org.reactivestreams.Publisher)} when grouping
+ * statements by partition key. Each operation is one statement batched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StatementBatcherBenchmark {
+
+  private static final int STATEMENTS = 4096;
+
+  /** The number of distinct partition keys among the statements to batch. */
+  @Param({"1", "32", "4096"})
+  private int partitions;
+
+  /** The maximum batch size in bytes; -1 disables batching by data size. */
+  @Param({"-1", "4096"})
+  private long maxSizeInBytes;
+
+  private List<BatchableStatement<?>> statements;
+  private DefaultStatementBatcher defaultBatcher;
+  private ReactorStatementBatcher reactorBatcher;
+
+  @Setup
+  public void setup() {
+    statements =
+        BenchmarkFixtures.createBoundStatements(
+            BenchmarkFixtures.mockInsertStatement(), STATEMENTS, partitions);
+    defaultBatcher = new DefaultStatementBatcher(32, maxSizeInBytes);
+    reactorBatcher = new ReactorStatementBatcher(32, maxSizeInBytes);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(STATEMENTS)
+  public void defaultBatcher(Blackhole bh) {
+    bh.consume(defaultBatcher.batchByGroupingKey(statements));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(STATEMENTS)
+  public void reactorBatcher(Blackhole bh) {
+    reactorBatcher
+        .batchByGroupingKey(Flux.fromIterable(statements))
+        .doOnNext(bh::consume)
+        .blockLast();
+  }
+}
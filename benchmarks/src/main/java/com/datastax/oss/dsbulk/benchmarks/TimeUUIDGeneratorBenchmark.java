@@ -0,0 +1,80 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.benchmarks;
+
+import com.datastax.oss.dsbulk.codecs.api.util.TimeUUIDGenerator;
+import java.time.Instant;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the throughput of {@link TimeUUIDGenerator#RANDOM} when all available cores generate
+ * UUIDs concurrently. Each operation is one UUID generated.
+ *
+ * <p>The {@code sharedRandom} benchmark draws random bits from a single {@link Random} instance, as
+ * the generator used to do, and serves as a baseline to expose the contention on its seed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(Threads.MAX)
+public class TimeUUIDGeneratorBenchmark {
+
+  private static final int UUIDS = 1024;
+
+  private static final Instant INSTANT = Instant.parse("2020-01-01T00:00:00Z");
+
+  private final Random sharedRandom = new Random(42);
+
+  @Benchmark
+  @OperationsPerInvocation(UUIDS)
+  public void sharedRandom(Blackhole bh) {
+    long msb = TimeUUIDGenerator.FIXED.generate(INSTANT).getMostSignificantBits();
+    for (int i = 0; i < UUIDS; i++) {
+      bh.consume(new UUID(msb, sharedRandom.nextLong()));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(UUIDS)
+  public void random(Blackhole bh) {
+    for (int i = 0; i < UUIDS; i++) {
+      bh.consume(TimeUUIDGenerator.RANDOM.generate(INSTANT));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(UUIDS)
+  public UUID[] randomBatch() {
+    return TimeUUIDGenerator.RANDOM.generate(INSTANT, UUIDS);
+  }
+}
@@ -36,6 +36,7 @@ import java.util.Properties;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This class is loosely inspired by Cassandra's {@code UUIDGen} class and by the DataStax Java
@@ -59,9 +60,8 @@ public enum TimeUUIDGenerator {
   FIXED {
 
     @Override
-    public UUID generate(Instant instant) {
-      return new UUID(
-          createMostSignificantBits(toUUIDTimestamp(instant)), FIXED_CLOCK_SEQ_AND_NODE);
+    long clockSeqAndNode() {
+      return FIXED_CLOCK_SEQ_AND_NODE;
     }
   },
 
@@ -73,13 +73,14 @@ public enum TimeUUIDGenerator {
    * every call, then you should prefer {@link #FIXED}, {@link #MIN} or {@link #MAX} which are
    * faster. If you can't guarantee this however, this strategy will ensure the generated UUIDs are
    * still unique (across calls) through randomization.
+   *
+   * <p>Random numbers are drawn from a {@link ThreadLocalRandom}, so that threads generating UUIDs
+   * concurrently do not contend on a shared random number generator.
    */
   RANDOM {
     @Override
-    public UUID generate(Instant instant) {
-      return new UUID(
-          createMostSignificantBits(toUUIDTimestamp(instant)),
-          RANDOM_CLOCK_SEQ_AND_NODE.nextLong());
+    long clockSeqAndNode() {
+      return ThreadLocalRandom.current().nextLong();
     }
   },
 
@@ -92,8 +93,8 @@ public enum TimeUUIDGenerator {
    */
   MIN {
     @Override
-    public UUID generate(Instant instant) {
-      return new UUID(createMostSignificantBits(toUUIDTimestamp(instant)), MIN_CLOCK_SEQ_AND_NODE);
+    long clockSeqAndNode() {
+      return MIN_CLOCK_SEQ_AND_NODE;
     }
   },
 
@@ -107,8 +108,8 @@ public enum TimeUUIDGenerator {
   MAX {
 
     @Override
-    public UUID generate(Instant instant) {
-      return new UUID(createMostSignificantBits(toUUIDTimestamp(instant)), MAX_CLOCK_SEQ_AND_NODE);
+    long clockSeqAndNode() {
+      return MAX_CLOCK_SEQ_AND_NODE;
     }
   };
 
@@ -135,15 +136,37 @@ public enum TimeUUIDGenerator {
   private static final long MIN_CLOCK_SEQ_AND_NODE = 0x8080808080808080L;
   private static final long MAX_CLOCK_SEQ_AND_NODE = 0x7f7f7f7f7f7f7f7fL;
 
-  private static final Random RANDOM_CLOCK_SEQ_AND_NODE = new Random(System.currentTimeMillis());
-
   /**
    * Generates a version 1 time-based {@link UUID} from the provided {@link Instant}.
    *
    * @param instant the instant to use.
    * @return a version 1 time-based {@link UUID}.
    */
-  public abstract UUID generate(Instant instant);
+  public UUID generate(Instant instant) {
+    return new UUID(createMostSignificantBits(toUUIDTimestamp(instant)), clockSeqAndNode());
+  }
+
+  /**
+   * Generates {@code count} version 1 time-based {@link UUID}s from the provided {@link Instant}.
+   *
+   * <p>This is equivalent to calling {@link #generate(Instant)} {@code count} times, but the
+   * timestamp part of the UUIDs is computed only once.
+   *
+   * @param instant the instant to use.
+   * @param count the number of UUIDs to generate.
+   * @return an array of {@code count} version 1 time-based {@link UUID}s.
+   */
+  public UUID[] generate(Instant instant, int count) {
+    long msb = createMostSignificantBits(toUUIDTimestamp(instant));
+    UUID[] uuids = new UUID[count];
+    for (int i = 0; i < count; i++) {
+      uuids[i] = new UUID(msb, clockSeqAndNode());
+    }
+    return uuids;
+  }
+
+  /** @return the least significant bits of the next UUID generated by this strategy. */
+  abstract long clockSeqAndNode();
 
   public static long toUUIDTimestamp(Instant instant) {
     return (SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano()) / 100 + EPOCH_OFFSET;
@@ -24,6 +24,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.datastax.oss.driver.api.core.uuid.Uuids;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 
 class TImeUUIDGeneratorTest {
@@ -100,4 +101,16 @@ class TImeUUIDGeneratorTest {
                     ZonedDateTime.parse("2017-12-05T12:44:36+01:00").toInstant().toEpochMilli())
                 .timestamp());
   }
+
+  @Test
+  void should_generate_many_uuids_for_same_instant() {
+    Instant instant = ZonedDateTime.parse("2017-12-05T12:44:36+01:00").toInstant();
+    UUID[] uuids = RANDOM.generate(instant, 100);
+    assertThat(uuids).hasSize(100).doesNotHaveDuplicates();
+    for (UUID uuid : uuids) {
+      assertThat(uuid.version()).isEqualTo(1);
+      assertThat(uuid.timestamp()).isEqualTo(RANDOM.generate(instant).timestamp());
+    }
+    assertThat(MIN.generate(instant, 3)).containsOnly(MIN.generate(instant));
+  }
 }
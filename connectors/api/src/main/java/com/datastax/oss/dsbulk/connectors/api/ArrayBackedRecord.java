@@ -0,0 +1,265 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.connectors.api;
+
+import com.datastax.oss.driver.shaded.guava.common.base.MoreObjects;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.net.URI;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact {@link Record} whose values are stored in an array, and whose fields are described by a
+ * {@link Schema} shared by all the records of the same shape.
+ *
+ * <p>Records created with a {@linkplain Schema#mapped(MappedField[]) mapped schema} expose each
+ * value twice: once under its mapped field, and once under its indexed field; mapped fields come
+ * first in iteration order. Records created with an {@linkplain Schema#indexed(int) indexed schema}
+ * only expose indexed fields.
+ */
+public class ArrayBackedRecord implements Record {
+
+  private final Object source;
+  private final URI resource;
+  private final long position;
+  private final Schema schema;
+
+  private Object[] values;
+
+  /**
+   * Creates a new record.
+   *
+   * @param source the record source (its original form).
+   * @param resource the record resource (where it comes from: file, database, etc).
+   * @param position the record position inside the resource (line number, etc.).
+   * @param schema the record schema.
+   * @param values the record values, in schema order; the array is not copied.
+   * @throws IllegalArgumentException if the number of values does not match the schema size.
+   */
+  public ArrayBackedRecord(
+      @NonNull Object source,
+      @NonNull URI resource,
+      long position,
+      @NonNull Schema schema,
+      @NonNull Object[] values) {
+    if (schema.size() != values.length) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expecting record to contain %d fields but found %d.", schema.size(), values.length));
+    }
+    this.source = source;
+    this.resource = resource;
+    this.position = position;
+    this.schema = schema;
+    this.values = values;
+  }
+
+  @NonNull
+  @Override
+  public Object getSource() {
+    return source;
+  }
+
+  @NonNull
+  @Override
+  public URI getResource() {
+    return resource;
+  }
+
+  @Override
+  public long getPosition() {
+    return position;
+  }
+
+  /** @return the schema of this record. */
+  @NonNull
+  public Schema getSchema() {
+    return schema;
+  }
+
+  @NonNull
+  @Override
+  public Set<Field> fields() {
+    return values == null ? Collections.emptySet() : schema.fields();
+  }
+
+  @NonNull
+  @Override
+  public Collection<Object> values() {
+    Object[] values = this.values;
+    if (values == null) {
+      return Collections.emptyList();
+    }
+    int size = schema.fields.length;
+    return new AbstractList<Object>() {
+      @Override
+      public Object get(int index) {
+        if (index < 0 || index >= size) {
+          throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return values[index % values.length];
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Nullable
+  @Override
+  public Object getFieldValue(@NonNull Field field) {
+    int index = schema.indexOf(field);
+    return index == -1 ? null : getFieldValue(index);
+  }
+
+  /**
+   * Returns the value at the given index.
+   *
+   * @param index the value index, as returned by {@link Schema#indexOf(Field)}.
+   * @return the value at the given index, or null if this record was cleared.
+   */
+  @Nullable
+  public Object getFieldValue(int index) {
+    return values == null ? null : values[index];
+  }
+
+  @Override
+  public void clear() {
+    values = null;
+  }
+
+  @Override
+  public String toString() {
+    List<String> entries = new ArrayList<>();
+    if (values != null) {
+      for (Field field : schema.fields) {
+        entries.add(field + "=" + getFieldValue(field));
+      }
+    }
+    return MoreObjects.toStringHelper(this)
+        .add("source", source)
+        .add("entries", entries)
+        .toString();
+  }
+
+  /**
+   * The fields of an {@link ArrayBackedRecord}, and their positions in the record's values array.
+   *
+   * <p>Schemas are immutable and are meant to be shared by all records of the same shape, e.g. all
+   * the records of a CSV file with a header line.
+   */
+  public static final class Schema {
+
+    /**
+     * Creates a schema for records containing both mapped and indexed fields. The value at index
+     * {@code i} is exposed under {@code names[i]} and under the indexed field {@code i}.
+     *
+     * @param names the mapped fields, in value order.
+     * @return a new schema.
+     */
+    @NonNull
+    public static Schema mapped(@NonNull MappedField[] names) {
+      return new Schema(names, names.length);
+    }
+
+    /**
+     * Creates a schema for records containing only indexed fields.
+     *
+     * @param size the number of values.
+     * @return a new schema.
+     */
+    @NonNull
+    public static Schema indexed(int size) {
+      return new Schema(new MappedField[0], size);
+    }
+
+    private final int size;
+    private final Field[] fields;
+    private final Set<Field> fieldSet;
+    private final Map<Field, Integer> mappedIndices;
+    private final int hashCode;
+
+    private Schema(MappedField[] names, int size) {
+      this.size = size;
+      fields = new Field[names.length + size];
+      mappedIndices = new HashMap<>();
+      for (int i = 0; i < names.length; i++) {
+        fields[i] = names[i];
+        mappedIndices.putIfAbsent(names[i], i);
+      }
+      for (int i = 0; i < size; i++) {
+        fields[names.length + i] = new DefaultIndexedField(i);
+      }
+      fieldSet = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(fields)));
+      hashCode = 31 * size + Arrays.hashCode(fields);
+    }
+
+    /** @return the number of values in records having this schema. */
+    public int size() {
+      return size;
+    }
+
+    /** @return the fields in this schema, mapped fields first, then indexed fields. */
+    @NonNull
+    public Set<Field> fields() {
+      return fieldSet;
+    }
+
+    /**
+     * Returns the index of the value associated with the given field.
+     *
+     * @param field the field to look up.
+     * @return the value index, or -1 if this schema does not contain the field.
+     */
+    public int indexOf(@NonNull Field field) {
+      if (field instanceof IndexedField) {
+        int index = ((IndexedField) field).getFieldIndex();
+        return index < size ? index : -1;
+      }
+      Integer index = mappedIndices.get(field);
+      return index == null ? -1 : index;
+    }
+
+    /** Two schemas are equal if they have the same fields, in the same order. */
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Schema)) {
+        return false;
+      }
+      Schema that = (Schema) o;
+      return size == that.size && hashCode == that.hashCode && Arrays.equals(fields, that.fields);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
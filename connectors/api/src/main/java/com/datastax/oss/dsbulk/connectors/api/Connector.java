@@ -17,7 +17,9 @@ package com.datastax.oss.dsbulk.connectors.api;
 
 import com.typesafe.config.Config;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.net.URI;
 import java.util.function.Function;
+import java.util.function.LongPredicate;
 import org.reactivestreams.Publisher;
 
 /**
@@ -161,6 +163,23 @@ public interface Connector extends AutoCloseable {
   @Override
   default void close() throws Exception {}
 
+  /**
+   * Instructs the connector to skip records that were already processed by a previous operation,
+   * typically because that operation was interrupted and is now being resumed.
+   *
+   * <p>This method is only invoked when reading, after the connector is properly {@link #init()
+   * initialized} and before {@link #read()} is called. Records are identified by their {@linkplain
+   * Record#getResource() resource} and {@linkplain Record#getPosition() position}.
+   *
+   * <p>The default implementation does nothing: connectors that cannot skip records will simply
+   * emit them again.
+   *
+   * @param processedRecords a function that returns, for a given resource, a predicate telling
+   *     whether the record at a given position was already processed; the function returns {@code
+   *     null} if no record was processed for that resource.
+   */
+  default void skipProcessedRecords(@NonNull Function<URI, LongPredicate> processedRecords) {}
+
   /**
    * Whether or not the connector supports the given feature.
    *
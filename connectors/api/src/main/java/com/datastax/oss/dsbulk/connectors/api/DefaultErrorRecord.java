@@ -28,7 +28,8 @@ import java.util.function.Supplier;
 public class DefaultErrorRecord implements ErrorRecord {
 
   private final @NonNull Object source;
-  private final @NonNull Supplier<URI> resource;
+  private final URI resource;
+  private final Supplier<URI> resourceSupplier;
   private final long position;
   private final @NonNull Throwable error;
 
@@ -42,7 +43,11 @@ public class DefaultErrorRecord implements ErrorRecord {
    */
   public DefaultErrorRecord(
       @NonNull Object source, @NonNull URI resource, long position, @NonNull Throwable error) {
-    this(source, () -> resource, position, error);
+    this.source = source;
+    this.resource = resource;
+    this.resourceSupplier = null;
+    this.position = position;
+    this.error = error;
   }
 
   /**
@@ -59,7 +64,8 @@ public class DefaultErrorRecord implements ErrorRecord {
       long position,
       @NonNull Throwable error) {
     this.source = source;
-    this.resource = Suppliers.memoize(resource::get);
+    this.resource = null;
+    this.resourceSupplier = Suppliers.memoize(resource::get);
     this.position = position;
     this.error = error;
   }
@@ -73,7 +79,7 @@ public class DefaultErrorRecord implements ErrorRecord {
   @NonNull
   @Override
   public URI getResource() {
-    return resource.get();
+    return resourceSupplier == null ? resource : resourceSupplier.get();
   }
 
   @Override
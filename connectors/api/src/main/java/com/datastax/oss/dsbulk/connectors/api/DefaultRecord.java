@@ -81,7 +81,8 @@ public class DefaultRecord extends LinkedHashMap<Field, Object> implements Recor
   }
 
   private final Object source;
-  private final Supplier<URI> resource;
+  private final URI resource;
+  private final Supplier<URI> resourceSupplier;
   private final long position;
 
   /**
@@ -93,7 +94,8 @@ public class DefaultRecord extends LinkedHashMap<Field, Object> implements Recor
    */
   public DefaultRecord(Object source, URI resource, long position) {
     this.source = source;
-    this.resource = () -> resource;
+    this.resource = resource;
+    this.resourceSupplier = null;
     this.position = position;
   }
 
@@ -107,13 +109,15 @@ public class DefaultRecord extends LinkedHashMap<Field, Object> implements Recor
    */
   public DefaultRecord(Object source, Supplier<URI> resource, long position) {
     this.source = source;
-    this.resource = Suppliers.memoize(resource::get);
+    this.resource = null;
+    this.resourceSupplier = Suppliers.memoize(resource::get);
     this.position = position;
   }
 
   private DefaultRecord(Object source, URI resource, long position, Object... values) {
     this.source = source;
-    this.resource = () -> resource;
+    this.resource = resource;
+    this.resourceSupplier = null;
     this.position = position;
     Streams.forEachPair(
         IntStream.range(0, values.length).boxed().map(DefaultIndexedField::new),
@@ -123,7 +127,8 @@ public class DefaultRecord extends LinkedHashMap<Field, Object> implements Recor
 
   private DefaultRecord(
       Object source, URI resource, long position, Field[] keys, Object... values) {
-    this.resource = () -> resource;
+    this.resource = resource;
+    this.resourceSupplier = null;
     this.position = position;
     if (keys.length != values.length) {
       throw new IllegalArgumentException(
@@ -136,7 +141,8 @@ public class DefaultRecord extends LinkedHashMap<Field, Object> implements Recor
 
   private DefaultRecord(
       Object source, URI resource, long position, Map<? extends Field, ?> values) {
-    this.resource = () -> resource;
+    this.resource = resource;
+    this.resourceSupplier = null;
     this.position = position;
     this.source = source;
     putAll(values);
@@ -151,7 +157,7 @@ public class DefaultRecord extends LinkedHashMap<Field, Object> implements Recor
   @NonNull
   @Override
   public URI getResource() {
-    return resource.get();
+    return resourceSupplier == null ? resource : resourceSupplier.get();
   }
 
   @Override
@@ -25,9 +25,11 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystemNotFoundException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -41,6 +43,7 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.LongPredicate;
 import java.util.stream.Stream;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
@@ -64,6 +67,7 @@ public abstract class AbstractFileBasedConnector implements Connector {
   protected static final String MAX_CONCURRENT_FILES = "maxConcurrentFiles";
   protected static final String RECURSIVE = "recursive";
   protected static final String FILE_NAME_FORMAT = "fileNameFormat";
+  protected static final String SPLIT_SIZE = "splitSize";
 
   protected boolean read;
   protected List<URL> urls;
@@ -78,10 +82,12 @@ public abstract class AbstractFileBasedConnector implements Connector {
   protected long maxRecords;
   protected int resourceCount;
   protected int maxConcurrentFiles;
+  protected long splitSize = -1;
   protected Deque<RecordWriter> writers;
   protected RecordWriter singleWriter;
   protected AtomicInteger fileCounter;
   protected AtomicInteger nextWriterIndex;
+  protected Function<URI, LongPredicate> processedRecords;
 
   // Public API
 
@@ -154,74 +160,42 @@ public abstract class AbstractFileBasedConnector implements Connector {
     }
   }
 
+  @Override
+  public void skipProcessedRecords(@NonNull Function<URI, LongPredicate> processedRecords) {
+    this.processedRecords = processedRecords;
+  }
+
   @NonNull
   @Override
   public Publisher<Publisher<Record>> read() {
     assert read;
     return Flux.concat(
             Flux.fromIterable(roots).flatMap(this::scanRootDirectory), Flux.fromIterable(files))
-        .map(url -> readSingleFile(url).transform(this::applyPerFileLimits));
+        .concatMap(
+            url ->
+                isSplittable(url)
+                    ? splitFile(url)
+                    : Flux.just(
+                        readSingleFile(url)
+                            .transform(this::applyPerFileLimits)
+                            .transform(records -> skipProcessedRecords(records, url))));
   }
 
-  @SuppressWarnings("BlockingMethodInNonBlockingContext")
   @NonNull
   @Override
   public Function<Publisher<Record>, Publisher<Record>> write() {
     assert !read;
     if (!roots.isEmpty() && maxConcurrentFiles > 1) {
+      // Bind a writer once per inner publisher, and give it back to the pool when the publisher
+      // completes, so that the connector can switch writers between publishers.
       return records ->
-          Flux.from(records)
-              .concatMap(
-                  record ->
-                      Mono.subscriberContext()
-                          .flatMap(
-                              ctx -> {
-                                try {
-                                  RecordWriter writer = ctx.get("WRITER");
-                                  writer.write(record);
-                                  return Mono.just(record);
-                                } catch (Exception e) {
-                                  return Mono.error(e);
-                                }
-                              }),
-                  500)
-              .concatWith(
-                  Mono.subscriberContext()
-                      .flatMap(
-                          ctx -> {
-                            try {
-                              RecordWriter writer = ctx.get("WRITER");
-                              writer.flush();
-                              writers.offer(writer);
-                              return Mono.empty();
-                            } catch (Exception e) {
-                              return Mono.error(e);
-                            }
-                          }))
-              .subscriberContext(ctx -> ctx.put("WRITER", writers.remove()));
+          Flux.defer(
+              () -> {
+                RecordWriter writer = writers.remove();
+                return writeRecords(records, writer, () -> writers.offer(writer));
+              });
     } else {
-      return records ->
-          Flux.from(records)
-              .concatMap(
-                  record -> {
-                    try {
-                      singleWriter.write(record);
-                      return Mono.just(record);
-                    } catch (Exception e) {
-                      return Mono.error(e);
-                    }
-                  },
-                  500)
-              .concatWith(
-                  Flux.create(
-                      sink -> {
-                        try {
-                          singleWriter.flush();
-                          sink.complete();
-                        } catch (Exception e) {
-                          sink.error(e);
-                        }
-                      }));
+      return records -> writeRecords(records, singleWriter, () -> {});
     }
   }
 
@@ -300,6 +274,132 @@ public abstract class AbstractFileBasedConnector implements Connector {
   @NonNull
   protected abstract RecordReader newSingleFileReader(@NonNull URL url) throws IOException;
 
+  /**
+   * Returns true if the given URL can be split into {@linkplain FileChunk chunks} to be read in
+   * parallel; false otherwise. Used during the {@linkplain #read() data reading phase}.
+   *
+   * <p>Only local, uncompressed files larger than {@code splitSize} and encoded with an
+   * ASCII-compatible charset can be split; also, since {@code maxRecords} and {@code skipRecords}
+   * apply to entire files, splitting is disabled when any of them is set. Subclasses supporting
+   * split reads should set {@code splitSize} during the {@linkplain #configure(Config, boolean)
+   * configuration phase}, and may impose further restrictions by overriding this method. When this
+   * method returns true, the file is read with the readers returned by {@link
+   * #newChunkReader(FileChunk)}, and split with the detectors returned by {@link
+   * #newBoundaryDetector()}.
+   */
+  protected boolean isSplittable(@NonNull URL url) {
+    if (splitSize <= 0
+        || !CompressedIOUtils.isNoneCompression(compression)
+        || skipRecords > 0
+        || maxRecords >= 0
+        || !isAsciiCompatible(encoding)
+        || !url.getProtocol().equals("file")) {
+      return false;
+    }
+    try {
+      Path file = Paths.get(url.toURI());
+      return Files.isRegularFile(file) && Files.size(file) > splitSize;
+    } catch (URISyntaxException | IOException | FileSystemNotFoundException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Splits the local file accessible through the given URL into {@linkplain FileChunk chunks}, and
+   * returns a stream of publishers, one per chunk. Chunks are emitted as soon as their boundaries
+   * are known, i.e. before the entire file is scanned.
+   *
+   * @param url The URL to read; must be {@linkplain #isSplittable(URL) splittable}.
+   * @return A stream of publishers, one per chunk, each emitting the chunk's {@link Record}s.
+   */
+  @NonNull
+  protected Flux<Publisher<Record>> splitFile(@NonNull URL url) {
+    return Flux.<FileChunk, FileSplitter>generate(
+            () -> new FileSplitter(url, Paths.get(url.toURI()), splitSize, newBoundaryDetector()),
+            (splitter, sink) -> {
+              try {
+                FileChunk chunk = splitter.next();
+                if (chunk == null) {
+                  sink.complete();
+                } else {
+                  LOGGER.debug("Emitting {}", chunk);
+                  sink.next(chunk);
+                }
+              } catch (IOException e) {
+                sink.error(new IOException("Error splitting " + url, e));
+              }
+              return splitter;
+            },
+            splitter -> {
+              try {
+                splitter.close();
+              } catch (IOException e) {
+                LOGGER.error("Error closing " + url, e);
+              }
+            })
+        .map(chunk -> skipProcessedRecords(readChunk(chunk), url));
+  }
+
+  /**
+   * Reads a single {@linkplain FileChunk chunk} of a local file.
+   *
+   * @param chunk The chunk to read.
+   * @return A stream of {@link Record}s; never null but may be empty.
+   */
+  @NonNull
+  protected Flux<Record> readChunk(@NonNull FileChunk chunk) {
+    return Flux.generate(
+        () -> newChunkReader(chunk),
+        RecordReader::readNext,
+        recordReader -> {
+          try {
+            recordReader.close();
+          } catch (IOException e) {
+            LOGGER.error("Error closing " + chunk, e);
+          }
+        });
+  }
+
+  /**
+   * Returns a new {@link RecordReader} instance for the given chunk; cannot be null. Only used when
+   * reading {@linkplain #isSplittable(URL) splittable} files. The reader must only emit the records
+   * contained in the chunk, and must number them starting with {@link
+   * FileChunk#getFirstRecordNumber()}. It is possible to throw {@link IOException} if the reader
+   * cannot be initialized.
+   */
+  @NonNull
+  protected abstract RecordReader newChunkReader(@NonNull FileChunk chunk) throws IOException;
+
+  /**
+   * Returns a new {@link RecordBoundaryDetector} instance; cannot be null. Only used when reading
+   * {@linkplain #isSplittable(URL) splittable} files. Each invocation of this method is expected to
+   * return a newly-allocated instance.
+   */
+  @NonNull
+  protected abstract RecordBoundaryDetector newBoundaryDetector();
+
+  /**
+   * A detector for record boundaries in a file. Implementors are not expected to deal with
+   * thread-safety issues, these are handled by this class.
+   *
+   * <p>Detectors operate on raw bytes; this works because splittable files are always encoded with
+   * an ASCII-compatible charset, where bytes in the ASCII range always denote ASCII characters.
+   */
+  protected interface RecordBoundaryDetector {
+
+    /**
+     * Consumes the next byte of the file.
+     *
+     * @param b The next byte.
+     * @return true if the byte ends a record, or a line that does not contain any record (e.g. an
+     *     empty line); that is, if a chunk could start right after this byte.
+     */
+    boolean isRecordBoundary(byte b);
+
+    /** @return the number of records whose end has been detected so far. */
+    long getRecordCount();
+  }
+
   /**
    * A reader for {@link Record}s. Implementors are not expected to deal with thread-safety issues,
    * these are handled by this class.
@@ -330,6 +430,40 @@ public abstract class AbstractFileBasedConnector implements Connector {
     void close() throws IOException;
   }
 
+  /**
+   * Writes the given records synchronously with the given writer, then flushes the writer and
+   * invokes the given callback when all records are written. Records are written as they are
+   * emitted, without any intermediary publisher per record.
+   */
+  @SuppressWarnings("BlockingMethodInNonBlockingContext")
+  @NonNull
+  private static Flux<Record> writeRecords(
+      @NonNull Publisher<Record> records,
+      @NonNull RecordWriter writer,
+      @NonNull Runnable onFlushed) {
+    return Flux.from(records)
+        .<Record>handle(
+            (record, sink) -> {
+              try {
+                writer.write(record);
+                sink.next(record);
+              } catch (Exception e) {
+                sink.error(e);
+              }
+            })
+        .concatWith(
+            Mono.create(
+                sink -> {
+                  try {
+                    writer.flush();
+                    onFlushed.run();
+                    sink.success();
+                  } catch (Exception e) {
+                    sink.error(e);
+                  }
+                }));
+  }
+
   /**
    * Returns a new {@link RecordWriter} instance; cannot be null. Only used when writing. Each
    * invocation of this method is expected to return a newly-allocated instance.
@@ -453,7 +587,7 @@ public abstract class AbstractFileBasedConnector implements Connector {
           }
           resourceCount += inDirectoryResourceCount;
         } else {
-          resourceCount += 1;
+          resourceCount += isSplittable(u) ? (int) ((Files.size(root) - 1) / splitSize + 1) : 1;
           files.add(u);
         }
       } catch (FileSystemNotFoundException ignored) {
@@ -545,6 +679,23 @@ public abstract class AbstractFileBasedConnector implements Connector {
     return records;
   }
 
+  /**
+   * Filters out records that were already processed by a previous operation, if this connector was
+   * instructed to {@linkplain #skipProcessedRecords(Function) skip processed records}. Per-file
+   * limits, if any, must have been applied already, since skipped records still count towards them.
+   */
+  @SuppressWarnings("ReactiveStreamsUnusedPublisher")
+  @NonNull
+  protected Flux<Record> skipProcessedRecords(@NonNull Flux<Record> records, @NonNull URL url) {
+    if (processedRecords != null) {
+      LongPredicate processed = processedRecords.apply(URI.create(url.toExternalForm()));
+      if (processed != null) {
+        records = records.filter(record -> !processed.test(record.getPosition()));
+      }
+    }
+    return records;
+  }
+
   /**
    * Returns the URL that the connector should write to. Not used for reads.
    *
@@ -566,4 +717,10 @@ public abstract class AbstractFileBasedConnector implements Connector {
     // assume we are writing to a single URL and ignore fileNameFormat
     return urls.get(0);
   }
+
+  private static boolean isAsciiCompatible(@NonNull Charset charset) {
+    return charset.equals(StandardCharsets.UTF_8)
+        || charset.equals(StandardCharsets.US_ASCII)
+        || charset.equals(StandardCharsets.ISO_8859_1);
+  }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.connectors.commons;
+
+import com.datastax.oss.dsbulk.io.IOUtils;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+/**
+ * A contiguous region of a local file, starting and ending on record boundaries, that can be read
+ * independently of the other regions of the same file.
+ */
+public final class FileChunk {
+
+  private final URL url;
+  private final Path file;
+  private final int index;
+  private final long start;
+  private final long end;
+  private final long firstRecordNumber;
+
+  FileChunk(
+      @NonNull URL url,
+      @NonNull Path file,
+      int index,
+      long start,
+      long end,
+      long firstRecordNumber) {
+    this.url = url;
+    this.file = file;
+    this.index = index;
+    this.start = start;
+    this.end = end;
+    this.firstRecordNumber = firstRecordNumber;
+  }
+
+  /** @return the URL of the file this chunk belongs to. */
+  @NonNull
+  public URL getUrl() {
+    return url;
+  }
+
+  /** @return the zero-based index of this chunk in its file. */
+  public int getIndex() {
+    return index;
+  }
+
+  /** @return the position, in bytes, of the first byte of this chunk (inclusive). */
+  public long getStart() {
+    return start;
+  }
+
+  /** @return the position, in bytes, of the last byte of this chunk (exclusive). */
+  public long getEnd() {
+    return end;
+  }
+
+  /**
+   * @return the number (starting at 1) of the first record in this chunk, relative to the beginning
+   *     of the file.
+   */
+  public long getFirstRecordNumber() {
+    return firstRecordNumber;
+  }
+
+  /**
+   * Opens a reader for this chunk's contents. The chunk is memory-mapped.
+   *
+   * @param charset the charset to use to decode bytes.
+   * @return a new reader; the caller is responsible for closing it.
+   * @throws IOException if the file cannot be opened.
+   */
+  @NonNull
+  public Reader newReader(@NonNull Charset charset) throws IOException {
+    return IOUtils.newMappedReader(file, start, end - start, charset);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s [chunk %d, bytes %d-%d]", url, index, start, end);
+  }
+}
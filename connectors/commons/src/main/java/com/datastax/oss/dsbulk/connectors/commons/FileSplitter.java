@@ -0,0 +1,119 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.connectors.commons;
+
+import com.datastax.oss.dsbulk.connectors.commons.AbstractFileBasedConnector.RecordBoundaryDetector;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Splits a local file into {@linkplain FileChunk chunks} of approximately the given size, aligned
+ * on record boundaries.
+ *
+ * <p>Record boundaries are found by feeding each byte of the file, in order, to a {@link
+ * RecordBoundaryDetector}. The file is scanned through memory-mapped windows; the scan is much
+ * cheaper than parsing, and is performed lazily: each call to {@link #next()} only scans as far as
+ * needed to find the end of the next chunk, so that chunks can be read while the rest of the file
+ * is still being scanned.
+ *
+ * <p>This class is not thread-safe.
+ */
+class FileSplitter implements AutoCloseable {
+
+  private static final long WINDOW_SIZE = 64 * 1024 * 1024;
+
+  private final URL url;
+  private final Path file;
+  private final long splitSize;
+  private final RecordBoundaryDetector detector;
+  private final FileChannel channel;
+  private final long size;
+
+  private int index;
+  private long start;
+  private MappedByteBuffer window;
+  private long windowStart;
+
+  FileSplitter(
+      @NonNull URL url,
+      @NonNull Path file,
+      long splitSize,
+      @NonNull RecordBoundaryDetector detector)
+      throws IOException {
+    this.url = url;
+    this.file = file;
+    this.splitSize = splitSize;
+    this.detector = detector;
+    channel = FileChannel.open(file, StandardOpenOption.READ);
+    size = channel.size();
+  }
+
+  /**
+   * Returns the next chunk, or null if the whole file has been split already.
+   *
+   * @throws IOException if the file cannot be read.
+   */
+  @Nullable
+  FileChunk next() throws IOException {
+    if (start >= size) {
+      return null;
+    }
+    long firstRecordNumber = detector.getRecordCount() + 1;
+    long end = size - start <= splitSize ? size : scan(start + splitSize);
+    FileChunk chunk = new FileChunk(url, file, index++, start, end, firstRecordNumber);
+    start = end;
+    return chunk;
+  }
+
+  @Override
+  public void close() throws IOException {
+    window = null;
+    channel.close();
+  }
+
+  /**
+   * Scans the file from the current position, and returns the position right after the first record
+   * boundary found at or after the given target position, or the file size if no such boundary
+   * exists.
+   */
+  private long scan(long target) throws IOException {
+    while (true) {
+      if (window == null || !window.hasRemaining()) {
+        long position = window == null ? start : windowStart + window.capacity();
+        if (position >= size) {
+          return size;
+        }
+        window = channel.map(MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+        windowStart = position;
+      }
+      while (window.hasRemaining()) {
+        if (detector.isRecordBoundary(window.get())) {
+          long position = windowStart + window.position();
+          if (position >= target) {
+            return position;
+          }
+        }
+      }
+    }
+  }
+}
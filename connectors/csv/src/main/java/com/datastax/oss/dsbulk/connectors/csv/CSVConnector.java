@@ -17,17 +17,18 @@ package com.datastax.oss.dsbulk.connectors.csv;
 
 import com.datastax.oss.driver.api.core.type.reflect.GenericType;
 import com.datastax.oss.dsbulk.config.ConfigUtils;
+import com.datastax.oss.dsbulk.connectors.api.ArrayBackedRecord;
+import com.datastax.oss.dsbulk.connectors.api.ArrayBackedRecord.Schema;
 import com.datastax.oss.dsbulk.connectors.api.CommonConnectorFeature;
 import com.datastax.oss.dsbulk.connectors.api.ConnectorFeature;
 import com.datastax.oss.dsbulk.connectors.api.DefaultErrorRecord;
-import com.datastax.oss.dsbulk.connectors.api.DefaultIndexedField;
 import com.datastax.oss.dsbulk.connectors.api.DefaultMappedField;
-import com.datastax.oss.dsbulk.connectors.api.DefaultRecord;
 import com.datastax.oss.dsbulk.connectors.api.Field;
 import com.datastax.oss.dsbulk.connectors.api.MappedField;
 import com.datastax.oss.dsbulk.connectors.api.Record;
 import com.datastax.oss.dsbulk.connectors.api.RecordMetadata;
 import com.datastax.oss.dsbulk.connectors.commons.AbstractFileBasedConnector;
+import com.datastax.oss.dsbulk.connectors.commons.FileChunk;
 import com.datastax.oss.dsbulk.io.CompressedIOUtils;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigException;
@@ -40,6 +41,7 @@ import com.univocity.parsers.csv.CsvParserSettings;
 import com.univocity.parsers.csv.CsvWriter;
 import com.univocity.parsers.csv.CsvWriterSettings;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.io.Reader;
 import java.net.URI;
@@ -47,8 +49,11 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLStreamHandler;
 import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -105,6 +110,7 @@ public class CSVConnector extends AbstractFileBasedConnector {
   private String nullValue;
   private String emptyValue;
   private CsvParserSettings parserSettings;
+  private CsvParserSettings chunkParserSettings;
   private CsvWriterSettings writerSettings;
 
   @Override
@@ -139,6 +145,7 @@ public class CSVConnector extends AbstractFileBasedConnector {
       normalizeLineEndingsInQuotes = settings.getBoolean(NORMALIZE_LINE_ENDINGS_IN_QUOTES);
       nullValue = settings.getIsNull(NULL_VALUE) ? null : settings.getString(NULL_VALUE);
       emptyValue = settings.getIsNull(EMPTY_VALUE) ? null : settings.getString(EMPTY_VALUE);
+      splitSize = settings.getBytes(SPLIT_SIZE);
       if (!AUTO_NEWLINE.equalsIgnoreCase(newline) && (newline.isEmpty() || newline.length() > 2)) {
         throw new IllegalArgumentException(
             String.format(
@@ -181,6 +188,13 @@ public class CSVConnector extends AbstractFileBasedConnector {
       } else {
         format.setLineSeparator(newline);
       }
+      if (header) {
+        // chunks other than the first one do not start with a header line
+        chunkParserSettings = parserSettings.clone();
+        chunkParserSettings.setHeaderExtractionEnabled(false);
+      } else {
+        chunkParserSettings = parserSettings;
+      }
     } else {
       writerSettings = new CsvWriterSettings();
       writerSettings.setFormat(format);
@@ -223,7 +237,135 @@ public class CSVConnector extends AbstractFileBasedConnector {
   @Override
   @NonNull
   protected RecordReader newSingleFileReader(@NonNull URL url) throws IOException {
-    return new CSVRecordReader(url);
+    return new CSVRecordReader(url, null);
+  }
+
+  @Override
+  protected boolean isSplittable(@NonNull URL url) {
+    // the boundary detector operates on raw bytes, which requires all special chars to be ASCII
+    return isAscii(delimiter)
+        && quote < 0x80
+        && escape < 0x80
+        && comment < 0x80
+        && (AUTO_NEWLINE.equalsIgnoreCase(newline) || isAscii(newline))
+        && super.isSplittable(url);
+  }
+
+  @NonNull
+  @Override
+  protected RecordBoundaryDetector newBoundaryDetector() {
+    return new CSVRecordBoundaryDetector();
+  }
+
+  @NonNull
+  @Override
+  protected RecordReader newChunkReader(@NonNull FileChunk chunk) throws IOException {
+    return new CSVRecordReader(chunk.getUrl(), chunk);
+  }
+
+  private static boolean isAscii(String s) {
+    return s.chars().allMatch(c -> c < 0x80);
+  }
+
+  /**
+   * A simplified CSV lexer that only tracks what is needed to tell whether a line terminator ends a
+   * record: quoted sections, escaped characters and comment lines.
+   */
+  private class CSVRecordBoundaryDetector implements RecordBoundaryDetector {
+
+    private final byte[] delimiterBytes = delimiter.getBytes(StandardCharsets.US_ASCII);
+    private final byte terminator =
+        AUTO_NEWLINE.equalsIgnoreCase(newline)
+            ? (byte) '\n'
+            : (byte) newline.charAt(newline.length() - 1);
+
+    private boolean inQuotes;
+    private boolean pendingQuote;
+    private boolean escaped;
+    private boolean inComment;
+    private boolean lineStart = true;
+    private boolean fieldStart = true;
+    private boolean lineHasContent;
+    private int delimiterMatch;
+    private boolean headerSkipped = !header;
+    private long recordCount;
+
+    @Override
+    public boolean isRecordBoundary(byte b) {
+      if (inQuotes) {
+        if (escaped) {
+          escaped = false;
+          return false;
+        }
+        if (pendingQuote) {
+          pendingQuote = false;
+          if (b == quote) {
+            // doubled quote: still inside the quoted value
+            return false;
+          }
+          inQuotes = false;
+          // fall through to process the byte outside quotes
+        } else {
+          if (b == escape && escape != quote) {
+            escaped = true;
+          } else if (b == quote) {
+            pendingQuote = true;
+          }
+          return false;
+        }
+      }
+      if (b == terminator) {
+        boolean counted = lineHasContent && !inComment;
+        if (counted) {
+          if (headerSkipped) {
+            recordCount++;
+          } else {
+            headerSkipped = true;
+          }
+        }
+        inComment = false;
+        lineStart = true;
+        fieldStart = true;
+        lineHasContent = false;
+        delimiterMatch = 0;
+        return true;
+      }
+      if (inComment || b == '\r') {
+        return false;
+      }
+      if (lineStart && comment != '\0' && b == comment) {
+        inComment = true;
+        lineStart = false;
+        return false;
+      }
+      lineStart = false;
+      lineHasContent = true;
+      if (b == quote && fieldStart) {
+        inQuotes = true;
+        fieldStart = false;
+        return false;
+      }
+      if (b == delimiterBytes[delimiterMatch]) {
+        delimiterMatch++;
+        if (delimiterMatch == delimiterBytes.length) {
+          delimiterMatch = 0;
+          fieldStart = true;
+          return false;
+        }
+      } else {
+        delimiterMatch = b == delimiterBytes[0] ? 1 : 0;
+      }
+      // leading whitespace does not prevent an opening quote from being recognized
+      if (b != ' ' && b != '\t') {
+        fieldStart = false;
+      }
+      return false;
+    }
+
+    @Override
+    public long getRecordCount() {
+      return recordCount;
+    }
   }
 
   private class CSVRecordReader implements RecordReader {
@@ -233,23 +375,51 @@ public class CSVConnector extends AbstractFileBasedConnector {
     private final CsvParser parser;
     private final ParsingContext context;
     private final MappedField[] fieldNames;
+    private final Schema mappedSchema;
+    private final Map<Integer, Schema> indexedSchemas = new HashMap<>();
 
-    private long recordNumber = 1;
+    private Schema lastIndexedSchema;
+    private long recordNumber;
 
-    private CSVRecordReader(URL url) throws IOException {
+    private CSVRecordReader(URL url, @Nullable FileChunk chunk) throws IOException {
       this.url = url;
       try {
         resource = URI.create(url.toExternalForm());
-        parser = new CsvParser(parserSettings);
-        Reader r = CompressedIOUtils.newBufferedReader(url, encoding, compression);
+        if (chunk == null || chunk.getIndex() == 0) {
+          parser = new CsvParser(parserSettings);
+        } else {
+          parser = new CsvParser(chunkParserSettings);
+        }
+        Reader r =
+            chunk == null
+                ? CompressedIOUtils.newBufferedReader(url, encoding, compression)
+                : chunk.newReader(encoding);
         parser.beginParsing(r);
         context = parser.getContext();
-        fieldNames = header ? getFieldNames(url, context) : null;
+        if (!header) {
+          fieldNames = null;
+        } else if (chunk == null || chunk.getIndex() == 0) {
+          fieldNames = getFieldNames(url, context);
+        } else {
+          fieldNames = readFieldNames(url);
+        }
+        mappedSchema = header ? Schema.mapped(fieldNames) : null;
+        recordNumber = chunk == null ? 1 : chunk.getFirstRecordNumber();
       } catch (Exception e) {
         throw asIOException(url, e, "Error creating CSV parser for " + url);
       }
     }
 
+    private MappedField[] readFieldNames(URL url) throws IOException {
+      CsvParser headerParser = new CsvParser(parserSettings);
+      try {
+        headerParser.beginParsing(CompressedIOUtils.newBufferedReader(url, encoding, compression));
+        return getFieldNames(url, headerParser.getContext());
+      } finally {
+        headerParser.stopParsing();
+      }
+    }
+
     private MappedField[] getFieldNames(URL url, ParsingContext context) throws IOException {
       List<String> fieldNames = new ArrayList<>();
       String[] parsedHeaders = context.headers();
@@ -300,23 +470,25 @@ public class CSVConnector extends AbstractFileBasedConnector {
       Record record;
       try {
         Object[] values = row.getValues();
-        if (header) {
-          record = DefaultRecord.mapped(source, resource, recordNumber++, fieldNames, values);
-          // also emit indexed fields
-          for (int i = 0; i < values.length; i++) {
-            DefaultIndexedField field = new DefaultIndexedField(i);
-            Object value = values[i];
-            ((DefaultRecord) record).setFieldValue(field, value);
-          }
-        } else {
-          record = DefaultRecord.indexed(source, resource, recordNumber++, values);
-        }
+        // records with a header expose both mapped and indexed fields
+        Schema schema = header ? mappedSchema : getIndexedSchema(values.length);
+        record = new ArrayBackedRecord(source, resource, recordNumber++, schema, values);
       } catch (Exception e) {
         record = new DefaultErrorRecord(source, resource, recordNumber, e);
       }
       return record;
     }
 
+    private Schema getIndexedSchema(int size) {
+      // rows usually all have the same size, so the last schema can almost always be reused
+      Schema schema = lastIndexedSchema;
+      if (schema == null || schema.size() != size) {
+        schema = indexedSchemas.computeIfAbsent(size, Schema::indexed);
+        lastIndexedSchema = schema;
+      }
+      return schema;
+    }
+
     @Override
     public void close() {
       if (parser != null) {
@@ -64,7 +64,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -80,6 +82,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.reactivestreams.Publisher;
 import org.slf4j.event.Level;
 import reactor.core.publisher.Flux;
@@ -658,6 +661,9 @@ class CSVConnectorTest {
               i -> Flux.fromIterable(createRecords()).transform(write).subscribeOn(scheduler),
               maxConcurrentFiles)
           .blockLast();
+      // all writers should have been given back to the pool
+      assertThat((Collection<?>) ReflectionUtils.getInternalState(connector, "writers"))
+          .hasSize(maxConcurrentFiles);
       connector.close();
       scheduler.dispose();
       List<String> actual =
@@ -1763,6 +1769,130 @@ class CSVConnectorTest {
     connector.close();
   }
 
+  @Test
+  void should_share_fields_between_records() throws Exception {
+    CSVConnector connector = new CSVConnector();
+    Config settings =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.connector.csv",
+            "url",
+            url("/sample.csv"),
+            "normalizeLineEndingsInQuotes",
+            true,
+            "escape",
+            "\"\\\"\"",
+            "comment",
+            "\"#\"");
+    connector.configure(settings, true);
+    connector.init();
+    List<Record> actual = Flux.merge(connector.read()).collectList().block();
+    assertThat(actual).hasSize(5);
+    for (Record record : actual) {
+      assertThat(record.fields()).isSameAs(actual.get(0).fields()).hasSize(10);
+      assertThat(record.getFieldValue(new DefaultMappedField("Model")))
+          .isEqualTo(record.getFieldValue(new DefaultIndexedField(2)));
+    }
+    actual.get(0).clear();
+    assertThat(actual.get(0).fields()).isEmpty();
+    assertThat(actual.get(0).values()).isEmpty();
+    connector.close();
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void should_split_large_file(boolean header) throws Exception {
+    Path file = Files.createTempFile("test", ".csv");
+    List<String> lines = new ArrayList<>();
+    if (header) {
+      lines.add("pk,v");
+    }
+    for (int i = 1; i <= 1000; i++) {
+      if (i % 11 == 0) {
+        lines.add("");
+      }
+      if (i % 13 == 0) {
+        lines.add("# comment with \"unbalanced quote");
+      }
+      if (i % 7 == 0) {
+        lines.add(i + ",\"line1\nline2, \\\"quoted\\\"\"");
+      } else {
+        lines.add(i + ",value" + i);
+      }
+    }
+    Files.write(file, lines);
+    CSVConnector connector = new CSVConnector();
+    Config settings =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.connector.csv",
+            "url",
+            StringUtils.quoteJson(file),
+            "header",
+            header,
+            "comment",
+            "\"#\"",
+            "maxConcurrentFiles",
+            4,
+            "splitSize",
+            1024);
+    connector.configure(settings, true);
+    connector.init();
+    assertThat(connector.readConcurrency()).isEqualTo(4);
+    List<Record> records = Flux.merge(connector.read()).collectList().block();
+    assertThat(records).hasSize(1000).doesNotHaveAnyElementsOfTypes(ErrorRecord.class);
+    records.sort(Comparator.comparingLong(Record::getPosition));
+    for (int i = 1; i <= 1000; i++) {
+      Record record = records.get(i - 1);
+      assertThat(record.getPosition()).isEqualTo(i);
+      assertThat(record.getResource()).isEqualTo(records.get(0).getResource());
+      assertThat(record.getFieldValue(new DefaultIndexedField(0))).isEqualTo(String.valueOf(i));
+      String expected = i % 7 == 0 ? "line1\nline2, \"quoted\"" : "value" + i;
+      assertThat(record.getFieldValue(new DefaultIndexedField(1))).isEqualTo(expected);
+      if (header) {
+        assertThat(record.getFieldValue(new DefaultMappedField("v"))).isEqualTo(expected);
+      }
+    }
+    connector.close();
+    Files.delete(file);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void should_skip_processed_records(boolean split) throws Exception {
+    Path file = Files.createTempFile("test", ".csv");
+    List<String> lines = new ArrayList<>();
+    for (int i = 1; i <= 1000; i++) {
+      lines.add(i + ",value" + i);
+    }
+    Files.write(file, lines);
+    CSVConnector connector = new CSVConnector();
+    Config settings =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.connector.csv",
+            "url",
+            StringUtils.quoteJson(file),
+            "header",
+            false,
+            "splitSize",
+            split ? 1024 : 0);
+    connector.configure(settings, true);
+    connector.init();
+    connector.skipProcessedRecords(
+        resource ->
+            resource.getPath().equals(file.toUri().getPath())
+                ? position -> position <= 500 || position % 2 == 0
+                : null);
+    List<Record> records = Flux.merge(connector.read()).collectList().block();
+    assertThat(records).hasSize(250);
+    assertThat(records)
+        .allSatisfy(
+            record -> {
+              assertThat(record.getPosition()).isGreaterThan(500L);
+              assertThat(record.getPosition() % 2).isOne();
+            });
+    connector.close();
+    Files.delete(file);
+  }
+
   private static String url(String resource) {
     return StringUtils.quoteJson(CSVConnectorTest.class.getResource(resource));
   }
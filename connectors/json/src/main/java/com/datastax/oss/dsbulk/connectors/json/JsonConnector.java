@@ -16,6 +16,7 @@
 package com.datastax.oss.dsbulk.connectors.json;
 
 import com.datastax.oss.driver.api.core.type.reflect.GenericType;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import com.datastax.oss.dsbulk.config.ConfigUtils;
 import com.datastax.oss.dsbulk.connectors.api.CommonConnectorFeature;
 import com.datastax.oss.dsbulk.connectors.api.ConnectorFeature;
@@ -25,6 +26,7 @@ import com.datastax.oss.dsbulk.connectors.api.MappedField;
 import com.datastax.oss.dsbulk.connectors.api.Record;
 import com.datastax.oss.dsbulk.connectors.api.RecordMetadata;
 import com.datastax.oss.dsbulk.connectors.commons.AbstractFileBasedConnector;
+import com.datastax.oss.dsbulk.connectors.commons.FileChunk;
 import com.datastax.oss.dsbulk.io.CompressedIOUtils;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonFactory;
@@ -33,20 +35,19 @@ import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.io.SerializedString;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigException;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.io.BufferedReader;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
+import java.io.Reader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -54,8 +55,6 @@ import java.net.URLStreamHandler;
 import java.nio.channels.ClosedChannelException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.SynchronousSink;
@@ -89,12 +88,10 @@ public class JsonConnector extends AbstractFileBasedConnector {
   private static final String SERIALIZATION_STRATEGY = "serializationStrategy";
   private static final String PRETTY_PRINT = "prettyPrint";
 
-  private static final TypeReference<Map<String, JsonNode>> JSON_NODE_MAP_TYPE_REFERENCE =
-      new TypeReference<Map<String, JsonNode>>() {};
+  private static final int MAX_CACHED_FIELDS = 1024;
 
   private DocumentMode mode;
   private ObjectMapper objectMapper;
-  private JavaType jsonNodeMapType;
   private Map<JsonParser.Feature, Boolean> parserFeatures;
   private Map<JsonGenerator.Feature, Boolean> generatorFeatures;
   private Map<SerializationFeature, Boolean> serializationFeatures;
@@ -122,6 +119,7 @@ public class JsonConnector extends AbstractFileBasedConnector {
           getFeatureMap(settings.getConfig(DESERIALIZATION_FEATURES), DeserializationFeature.class);
       serializationStrategy = settings.getEnum(JsonInclude.Include.class, SERIALIZATION_STRATEGY);
       prettyPrint = settings.getBoolean(PRETTY_PRINT);
+      splitSize = settings.getBytes(SPLIT_SIZE);
     } catch (ConfigException e) {
       throw ConfigUtils.convertConfigException(e, "dsbulk.connector.json");
     }
@@ -132,7 +130,6 @@ public class JsonConnector extends AbstractFileBasedConnector {
     super.init();
     objectMapper = new ObjectMapper();
     objectMapper.setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
-    jsonNodeMapType = objectMapper.constructType(JSON_NODE_MAP_TYPE_REFERENCE.getType());
     if (read) {
       for (JsonParser.Feature parserFeature : parserFeatures.keySet()) {
         objectMapper.configure(parserFeature, parserFeatures.get(parserFeature));
@@ -179,7 +176,108 @@ public class JsonConnector extends AbstractFileBasedConnector {
   @Override
   @NonNull
   protected RecordReader newSingleFileReader(@NonNull URL url) throws IOException {
-    return new JsonRecordReader(url);
+    return new JsonRecordReader(url, null);
+  }
+
+  @Override
+  protected boolean isSplittable(@NonNull URL url) {
+    // the boundary detector does not understand comments nor single-quoted strings
+    return mode == DocumentMode.MULTI_DOCUMENT
+        && !isParserFeatureEnabled(JsonParser.Feature.ALLOW_COMMENTS)
+        && !isParserFeatureEnabled(JsonParser.Feature.ALLOW_YAML_COMMENTS)
+        && !isParserFeatureEnabled(JsonParser.Feature.ALLOW_SINGLE_QUOTES)
+        && super.isSplittable(url);
+  }
+
+  private boolean isParserFeatureEnabled(JsonParser.Feature feature) {
+    return parserFeatures.getOrDefault(feature, feature.enabledByDefault());
+  }
+
+  @NonNull
+  @Override
+  protected RecordBoundaryDetector newBoundaryDetector() {
+    return new JsonRecordBoundaryDetector();
+  }
+
+  @NonNull
+  @Override
+  protected RecordReader newChunkReader(@NonNull FileChunk chunk) throws IOException {
+    return new JsonRecordReader(chunk.getUrl(), chunk);
+  }
+
+  /**
+   * Detects the end of top-level documents by tracking nesting depth and string literals; a chunk
+   * may start after any line terminator found outside of a document. Top-level scalars count as
+   * documents too, so that record numbers do not drift when they are found.
+   */
+  @VisibleForTesting
+  static class JsonRecordBoundaryDetector implements RecordBoundaryDetector {
+
+    private int depth;
+    private boolean inString;
+    private boolean inScalar;
+    private boolean escaped;
+    private long recordCount;
+
+    @Override
+    public boolean isRecordBoundary(byte b) {
+      if (inString) {
+        if (escaped) {
+          escaped = false;
+        } else if (b == '\\') {
+          escaped = true;
+        } else if (b == '"') {
+          inString = false;
+          if (depth == 0) {
+            recordCount++;
+          }
+        }
+        return false;
+      }
+      if (inScalar) {
+        // numbers and literals end at the first whitespace or structural char
+        if (!isWhitespace(b) && !isStructural(b)) {
+          return false;
+        }
+        inScalar = false;
+      }
+      switch (b) {
+        case '"':
+          inString = true;
+          return false;
+        case '{':
+        case '[':
+          depth++;
+          return false;
+        case '}':
+        case ']':
+          if (depth > 0 && --depth == 0) {
+            recordCount++;
+          }
+          return false;
+        case '\n':
+          return depth == 0;
+        default:
+          if (depth == 0 && !isWhitespace(b) && !isStructural(b)) {
+            inScalar = true;
+            recordCount++;
+          }
+          return false;
+      }
+    }
+
+    private static boolean isWhitespace(byte b) {
+      return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private static boolean isStructural(byte b) {
+      return b == '{' || b == '}' || b == '[' || b == ']' || b == '"' || b == ',' || b == ':';
+    }
+
+    @Override
+    public long getRecordCount() {
+      return recordCount;
+    }
   }
 
   private class JsonRecordReader implements RecordReader {
@@ -187,24 +285,31 @@ public class JsonConnector extends AbstractFileBasedConnector {
     private final URL url;
     private final URI resource;
     private final JsonParser parser;
-    private final MappingIterator<JsonNode> nodesIterator;
+    private final JsonNodeFactory nodeFactory;
+    private final boolean failOnDuplicateKeys;
+    private final Map<String, MappedField> fieldsCache = new HashMap<>();
 
-    private long recordNumber = 1;
+    private long recordNumber;
 
-    private JsonRecordReader(URL url) throws IOException {
+    private JsonRecordReader(URL url, @Nullable FileChunk chunk) throws IOException {
       this.url = url;
       resource = URI.create(url.toExternalForm());
+      recordNumber = chunk == null ? 1 : chunk.getFirstRecordNumber();
       try {
         JsonFactory factory = objectMapper.getFactory();
-        BufferedReader r = CompressedIOUtils.newBufferedReader(url, encoding, compression);
+        Reader r =
+            chunk == null
+                ? CompressedIOUtils.newBufferedReader(url, encoding, compression)
+                : chunk.newReader(encoding);
         parser = factory.createParser(r);
         if (mode == DocumentMode.SINGLE_DOCUMENT) {
           do {
             parser.nextToken();
           } while (parser.currentToken() != JsonToken.START_ARRAY && parser.currentToken() != null);
-          parser.nextToken();
         }
-        nodesIterator = objectMapper.readValues(parser, JsonNode.class);
+        nodeFactory = objectMapper.getNodeFactory();
+        failOnDuplicateKeys =
+            objectMapper.isEnabled(DeserializationFeature.FAIL_ON_READING_DUP_TREE_KEY);
       } catch (Exception e) {
         throw new IOException(String.format("Error reading from %s", url), e);
       }
@@ -214,21 +319,16 @@ public class JsonConnector extends AbstractFileBasedConnector {
     @Override
     public RecordReader readNext(@NonNull SynchronousSink<Record> sink) {
       try {
-        if (nodesIterator.hasNext()) {
-          if (parser.currentToken() != JsonToken.START_OBJECT) {
+        JsonToken token = parser.nextToken();
+        if (token != null && token != JsonToken.END_ARRAY) {
+          if (token != JsonToken.START_OBJECT) {
             throw new JsonParseException(
                 parser,
                 String.format(
                     "Expecting START_OBJECT, got %s. Did you forget to set connector.json.mode to SINGLE_DOCUMENT?",
-                    parser.currentToken()));
+                    token));
           }
-          JsonNode node = nodesIterator.next();
-          Map<String, JsonNode> values = objectMapper.convertValue(node, jsonNodeMapType);
-          Map<MappedField, JsonNode> fields =
-              values.entrySet().stream()
-                  .collect(
-                      Collectors.toMap(e -> new DefaultMappedField(e.getKey()), Entry::getValue));
-          Record record = DefaultRecord.mapped(node, resource, recordNumber++, fields);
+          Record record = readRecord();
           LOGGER.trace("Emitting record {}", record);
           sink.next(record);
         } else {
@@ -241,6 +341,55 @@ public class JsonConnector extends AbstractFileBasedConnector {
       return this;
     }
 
+    /**
+     * Reads the document starting at the current START_OBJECT token, populating the record's fields
+     * as each field is parsed. The document node, used as the record source, shares its children
+     * with the record, so that each value is materialized only once.
+     */
+    private Record readRecord() throws IOException {
+      ObjectNode source = nodeFactory.objectNode();
+      DefaultRecord record = new DefaultRecord(source, resource, recordNumber++);
+      String name;
+      while ((name = parser.nextFieldName()) != null) {
+        if (failOnDuplicateKeys && source.has(name)) {
+          throw new JsonParseException(
+              parser, String.format("Duplicate field '%s' for ObjectNode", name));
+        }
+        JsonToken token = parser.nextToken();
+        JsonNode value;
+        switch (token) {
+          case VALUE_NULL:
+            value = nodeFactory.nullNode();
+            break;
+          case VALUE_STRING:
+            value = nodeFactory.textNode(parser.getText());
+            break;
+          case VALUE_TRUE:
+          case VALUE_FALSE:
+            value = nodeFactory.booleanNode(token == JsonToken.VALUE_TRUE);
+            break;
+          default:
+            // numbers and containers: let the mapper honor the configured deserialization features
+            value = objectMapper.readTree(parser);
+        }
+        source.set(name, value);
+        record.setFieldValue(getField(name), value);
+      }
+      return record;
+    }
+
+    private MappedField getField(String name) {
+      MappedField field = fieldsCache.get(name);
+      if (field == null) {
+        field = new DefaultMappedField(name);
+        // avoid unbounded growth when documents have many distinct keys
+        if (fieldsCache.size() < MAX_CACHED_FIELDS) {
+          fieldsCache.put(name, field);
+        }
+      }
+      return field;
+    }
+
     @Override
     public void close() throws IOException {
       if (parser != null) {
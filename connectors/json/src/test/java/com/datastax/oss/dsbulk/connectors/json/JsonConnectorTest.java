@@ -45,6 +45,7 @@ import com.datastax.oss.dsbulk.tests.utils.StringUtils;
 import com.datastax.oss.dsbulk.tests.utils.TestConfigUtils;
 import com.datastax.oss.dsbulk.url.BulkLoaderURLStreamHandlerFactory;
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.github.tomakehurst.wiremock.WireMockServer;
@@ -60,12 +61,14 @@ import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -161,6 +164,32 @@ class JsonConnectorTest {
         arguments("multi_doc.json.zstd", CompressedIOUtils.ZSTD_COMPRESSION));
   }
 
+  @Test
+  void should_share_fields_and_values_between_records_and_sources() throws Exception {
+    JsonConnector connector = new JsonConnector();
+    Config settings =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.connector.json",
+            "url",
+            url("/multi_doc.json"),
+            "parserFeatures",
+            "{ALLOW_COMMENTS:true}");
+    connector.configure(settings, true);
+    connector.init();
+    List<Record> actual = Flux.merge(connector.read()).collectList().block();
+    assertThat(actual).hasSize(5);
+    Field year = actual.get(0).fields().iterator().next();
+    for (Record record : actual) {
+      assertThat(record.fields()).first().isSameAs(year);
+      JsonNode source = (JsonNode) record.getSource();
+      for (Field field : record.fields()) {
+        assertThat(record.getFieldValue(field))
+            .isSameAs(source.get(((DefaultMappedField) field).getFieldName()));
+      }
+    }
+    connector.close();
+  }
+
   @Test
   void should_read_single_file_single_doc() throws Exception {
     JsonConnector connector = new JsonConnector();
@@ -1349,6 +1378,72 @@ class JsonConnectorTest {
     return records;
   }
 
+  @Test
+  void should_split_large_file() throws Exception {
+    Path file = Files.createTempFile("test", ".json");
+    List<String> lines = new ArrayList<>();
+    for (int i = 1; i <= 1000; i++) {
+      if (i % 11 == 0) {
+        lines.add("");
+      }
+      if (i % 7 == 0) {
+        // documents spanning multiple lines, with tricky strings
+        lines.add("{\"pk\": " + i + ",");
+        lines.add(" \"v\": [\"} \\\"{\\n\", {\"nested\": \"]\"}]");
+        lines.add("}");
+      } else {
+        lines.add("{\"pk\": " + i + ", \"v\": \"value" + i + "\"}");
+      }
+    }
+    Files.write(file, lines);
+    JsonConnector connector = new JsonConnector();
+    Config settings =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.connector.json",
+            "url",
+            StringUtils.quoteJson(file),
+            "maxConcurrentFiles",
+            4,
+            "splitSize",
+            1024);
+    connector.configure(settings, true);
+    connector.init();
+    assertThat(connector.readConcurrency()).isEqualTo(4);
+    List<Record> records = Flux.merge(connector.read()).collectList().block();
+    assertThat(records).hasSize(1000);
+    records.sort(Comparator.comparingLong(Record::getPosition));
+    for (int i = 1; i <= 1000; i++) {
+      Record record = records.get(i - 1);
+      assertThat(record.getPosition()).isEqualTo(i);
+      assertThat(record.getFieldValue(new DefaultMappedField("pk")))
+          .isEqualTo(JsonNodeFactory.instance.numberNode(i));
+      if (i % 7 == 0) {
+        assertThat(record.getFieldValue(new DefaultMappedField("v")).toString())
+            .isEqualTo("[\"} \\\"{\\n\",{\"nested\":\"]\"}]");
+      } else {
+        assertThat(record.getFieldValue(new DefaultMappedField("v")))
+            .isEqualTo(JsonNodeFactory.instance.textNode("value" + i));
+      }
+    }
+    connector.close();
+    Files.delete(file);
+  }
+
+  @Test
+  void should_count_top_level_scalars_as_records() {
+    JsonConnector.JsonRecordBoundaryDetector detector =
+        new JsonConnector.JsonRecordBoundaryDetector();
+    String input = "{\"pk\": 1}\n42\n\"a \\\" b\"\ntrue null\n[1, \"x\"]\n-1.5e3 {}\n";
+    int boundaries = 0;
+    for (byte b : input.getBytes(StandardCharsets.US_ASCII)) {
+      if (detector.isRecordBoundary(b)) {
+        boundaries++;
+      }
+    }
+    assertThat(boundaries).isEqualTo(6);
+    assertThat(detector.getRecordCount()).isEqualTo(8);
+  }
+
   private static String url(String resource) {
     return StringUtils.quoteJson(JsonConnectorTest.class.getResource(resource));
   }
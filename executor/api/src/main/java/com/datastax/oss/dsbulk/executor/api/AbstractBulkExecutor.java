@@ -15,12 +15,24 @@
  */
 package com.datastax.oss.dsbulk.executor.api;
 
+import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.shaded.guava.common.util.concurrent.RateLimiter;
+import com.datastax.oss.dsbulk.executor.api.listener.AdaptiveConcurrencyLimiter;
+import com.datastax.oss.dsbulk.executor.api.listener.CompositeExecutionListener;
 import com.datastax.oss.dsbulk.executor.api.listener.ExecutionListener;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.nio.ByteBuffer;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Semaphore;
 
 /** Base class for implementations of {@link BulkExecutor}. */
@@ -42,8 +54,21 @@ public abstract class AbstractBulkExecutor implements BulkExecutor, AutoCloseabl
 
   protected final @Nullable ExecutionListener listener;
 
+  /** The maximum number of in-flight requests per replica set, or -1 if disabled. */
+  protected final int maxInFlightRequestsPerReplicaSet;
+
+  private final ConcurrentMap<Set<Node>, AsyncSemaphore> maxConcurrentRequestsPerReplicaSet =
+      new ConcurrentHashMap<>();
+
   protected AbstractBulkExecutor(CqlSession session) {
-    this(session, true, DEFAULT_MAX_IN_FLIGHT_REQUESTS, DEFAULT_MAX_REQUESTS_PER_SECOND, null);
+    this(
+        session,
+        true,
+        DEFAULT_MAX_IN_FLIGHT_REQUESTS,
+        -1,
+        DEFAULT_MAX_REQUESTS_PER_SECOND,
+        null,
+        null);
   }
 
   protected AbstractBulkExecutor(AbstractBulkExecutorBuilder<?> builder) {
@@ -51,27 +76,165 @@ public abstract class AbstractBulkExecutor implements BulkExecutor, AutoCloseabl
         builder.session,
         builder.failFast,
         builder.maxInFlightRequests,
+        builder.maxInFlightRequestsPerReplicaSet,
         builder.maxRequestsPerSecond,
-        builder.listener);
+        builder.listener,
+        builder.minInFlightRequests <= 0
+            ? null
+            : new AdaptiveConcurrencyLimiter(
+                builder.minInFlightRequests,
+                builder.maxInFlightRequests <= 0
+                    ? DEFAULT_MAX_IN_FLIGHT_REQUESTS
+                    : builder.maxInFlightRequests,
+                builder.latencyTolerance,
+                builder.backoffRatio));
   }
 
   private AbstractBulkExecutor(
       @NonNull CqlSession session,
       boolean failFast,
       int maxInFlightRequests,
+      int maxInFlightRequestsPerReplicaSet,
       int maxRequestsPerSecond,
-      @Nullable ExecutionListener listener) {
+      @Nullable ExecutionListener listener,
+      @Nullable AdaptiveConcurrencyLimiter concurrencyLimiter) {
     Objects.requireNonNull(session, "session cannot be null");
     this.session = session;
     this.failFast = failFast;
-    this.maxConcurrentRequests =
-        maxInFlightRequests <= 0 ? null : new Semaphore(maxInFlightRequests);
+    this.maxInFlightRequestsPerReplicaSet =
+        maxInFlightRequestsPerReplicaSet <= 0 ? -1 : maxInFlightRequestsPerReplicaSet;
     this.rateLimiter = maxRequestsPerSecond <= 0 ? null : RateLimiter.create(maxRequestsPerSecond);
-    this.listener = listener;
+    if (concurrencyLimiter == null) {
+      this.maxConcurrentRequests =
+          maxInFlightRequests <= 0 ? null : new AsyncSemaphore(maxInFlightRequests);
+      this.listener = listener;
+    } else {
+      this.maxConcurrentRequests = concurrencyLimiter.getPermits();
+      this.listener =
+          listener == null
+              ? concurrencyLimiter
+              : new CompositeExecutionListener(concurrencyLimiter, listener);
+    }
+  }
+
+  /**
+   * Returns the semaphore limiting the in-flight requests of the given statement.
+   *
+   * <p>If a maximum number of in-flight requests per replica set was set, and the replicas of the
+   * statement can be determined from its routing information, the returned semaphore first acquires
+   * a permit for the statement's replica set, then a global permit; this way, requests waiting on a
+   * slow replica set do not hold global permits that could be used by requests to healthy replicas.
+   * Otherwise, the global semaphore is returned.
+   *
+   * @param statement the statement to execute.
+   * @return the semaphore to use for the statement, or {@code null} if in-flight requests are not
+   *     limited.
+   */
+  @Nullable
+  protected Semaphore maxConcurrentRequests(@NonNull Statement<?> statement) {
+    if (maxInFlightRequestsPerReplicaSet > 0) {
+      Set<Node> replicas = getReplicas(statement);
+      if (replicas != null && !replicas.isEmpty()) {
+        AsyncSemaphore local =
+            maxConcurrentRequestsPerReplicaSet.computeIfAbsent(
+                replicas, r -> new AsyncSemaphore(maxInFlightRequestsPerReplicaSet));
+        return new LayeredSemaphore(local, maxConcurrentRequests);
+      }
+    }
+    return maxConcurrentRequests;
+  }
+
+  @Nullable
+  private Set<Node> getReplicas(@NonNull Statement<?> statement) {
+    TokenMap tokenMap = session.getMetadata().getTokenMap().orElse(null);
+    if (tokenMap == null) {
+      return null;
+    }
+    CqlIdentifier keyspace = statement.getRoutingKeyspace();
+    if (keyspace == null) {
+      keyspace = statement.getKeyspace();
+    }
+    if (keyspace == null) {
+      keyspace = session.getKeyspace().orElse(null);
+    }
+    if (keyspace == null) {
+      return null;
+    }
+    Token token = statement.getRoutingToken();
+    if (token != null) {
+      return tokenMap.getReplicas(keyspace, token);
+    }
+    ByteBuffer key = statement.getRoutingKey();
+    if (key != null) {
+      return tokenMap.getReplicas(keyspace, key);
+    }
+    return null;
   }
 
   @Override
   public void close() {
     // no-op
   }
+
+  /**
+   * A semaphore that acquires a permit from a local semaphore, then from a global one. Only the
+   * single-permit methods used by result subscriptions are layered.
+   */
+  private static final class LayeredSemaphore extends AsyncSemaphore {
+
+    private final AsyncSemaphore local;
+    private final @Nullable Semaphore global;
+
+    private LayeredSemaphore(@NonNull AsyncSemaphore local, @Nullable Semaphore global) {
+      super(0);
+      this.local = local;
+      this.global = global;
+    }
+
+    @NonNull
+    @Override
+    public CompletionStage<Void> acquireAsync() {
+      CompletionStage<Void> acquired = local.acquireAsync();
+      if (global instanceof AsyncSemaphore) {
+        return acquired.thenCompose(v -> ((AsyncSemaphore) global).acquireAsync());
+      } else if (global != null) {
+        return acquired.thenRun(global::acquireUninterruptibly);
+      }
+      return acquired;
+    }
+
+    @Override
+    public void acquireUninterruptibly() {
+      local.acquireUninterruptibly();
+      if (global != null) {
+        global.acquireUninterruptibly();
+      }
+    }
+
+    @Override
+    public boolean tryAcquire() {
+      if (local.tryAcquire()) {
+        if (global == null || global.tryAcquire()) {
+          return true;
+        }
+        local.release();
+      }
+      return false;
+    }
+
+    @Override
+    public void release() {
+      if (global != null) {
+        global.release();
+      }
+      local.release();
+    }
+
+    @Override
+    public int availablePermits() {
+      return global == null
+          ? local.availablePermits()
+          : Math.min(local.availablePermits(), global.availablePermits());
+    }
+  }
 }
@@ -30,6 +30,14 @@ public abstract class AbstractBulkExecutorBuilder<T extends BulkExecutor>
 
   protected int maxRequestsPerSecond = AbstractBulkExecutor.DEFAULT_MAX_REQUESTS_PER_SECOND;
 
+  protected int maxInFlightRequestsPerReplicaSet = -1;
+
+  protected int minInFlightRequests = -1;
+
+  protected double latencyTolerance;
+
+  protected double backoffRatio;
+
   protected ExecutionListener listener;
 
   protected AbstractBulkExecutorBuilder(CqlSession session) {
@@ -50,6 +58,24 @@ public abstract class AbstractBulkExecutorBuilder<T extends BulkExecutor>
     return this;
   }
 
+  @Override
+  @SuppressWarnings("UnusedReturnValue")
+  public AbstractBulkExecutorBuilder<T> withMaxInFlightRequestsPerReplicaSet(
+      int maxInFlightRequestsPerReplicaSet) {
+    this.maxInFlightRequestsPerReplicaSet = maxInFlightRequestsPerReplicaSet;
+    return this;
+  }
+
+  @Override
+  @SuppressWarnings("UnusedReturnValue")
+  public AbstractBulkExecutorBuilder<T> withAdaptiveConcurrency(
+      int minInFlightRequests, double latencyTolerance, double backoffRatio) {
+    this.minInFlightRequests = minInFlightRequests;
+    this.latencyTolerance = latencyTolerance;
+    this.backoffRatio = backoffRatio;
+    return this;
+  }
+
   @Override
   @SuppressWarnings("UnusedReturnValue")
   public AbstractBulkExecutorBuilder<T> withMaxRequestsPerSecond(int maxRequestsPerSecond) {
@@ -0,0 +1,92 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.executor.api;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link Semaphore} that can also hand out permits asynchronously, without blocking the calling
+ * thread.
+ *
+ * <p>Permits requested with {@link #acquireAsync()} are granted in FIFO order; when no permit is
+ * available, the returned future is completed by the thread that releases the next permit.
+ */
+public class AsyncSemaphore extends Semaphore {
+
+  private static final CompletableFuture<Void> ACQUIRED = CompletableFuture.completedFuture(null);
+
+  private final Queue<CompletableFuture<Void>> waiters = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Used to serialize access to {@link #drain()}, and to keep track of missed attempts to enter it.
+   * This also avoids deep recursions when completing a waiter triggers another release.
+   */
+  private final AtomicInteger draining = new AtomicInteger(0);
+
+  public AsyncSemaphore(int permits) {
+    super(permits);
+  }
+
+  /**
+   * Acquires a permit asynchronously.
+   *
+   * @return a future that completes when the permit is acquired; it is already completed if a
+   *     permit was readily available.
+   */
+  @NonNull
+  public CompletionStage<Void> acquireAsync() {
+    if (waiters.isEmpty() && tryAcquire()) {
+      return ACQUIRED;
+    }
+    CompletableFuture<Void> waiter = new CompletableFuture<>();
+    waiters.offer(waiter);
+    // a permit could have been released after our attempt, but before we enqueued our waiter
+    drain();
+    return waiter;
+  }
+
+  @Override
+  public void release() {
+    super.release();
+    drain();
+  }
+
+  @Override
+  public void release(int permits) {
+    super.release(permits);
+    drain();
+  }
+
+  private void drain() {
+    if (draining.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      // only the draining thread polls the queue, so it cannot become empty in the meantime
+      while (!waiters.isEmpty() && tryAcquire()) {
+        waiters.poll().complete(null);
+      }
+      missed = draining.addAndGet(-missed);
+    } while (missed != 0);
+  }
+}
@@ -54,8 +54,9 @@ public interface BulkExecutorBuilder<T extends BulkExecutor> {
   /**
    * Sets the maximum number of in-flight requests. In other words, sets the maximum number of
    * concurrent uncompleted requests waiting for a response from the server. If that limit is
-   * reached, the executor will block until the number of in-flight requests drops below the
-   * threshold. <em>This feature should not be used in a fully non-blocking application</em>.
+   * reached, new requests are delayed until the number of in-flight requests drops below the
+   * threshold; they are then sent by the thread that completed the previous request, so that no
+   * thread is blocked while waiting.
    *
    * <p>This acts as a safeguard against workflows that generate more requests than they can handle.
    * The default is {@link AbstractBulkExecutor#DEFAULT_MAX_IN_FLIGHT_REQUESTS}. Setting this option
@@ -67,6 +68,49 @@ public interface BulkExecutorBuilder<T extends BulkExecutor> {
   @SuppressWarnings("UnusedReturnValue")
   BulkExecutorBuilder<T> withMaxInFlightRequests(int maxInFlightRequests);
 
+  /**
+   * Sets the maximum number of in-flight requests per replica set, on top of the global maximum set
+   * with {@link #withMaxInFlightRequests(int)}. If that limit is reached for a given replica set,
+   * new requests to that replica set are delayed, without blocking, until the number of in-flight
+   * requests to that replica set drops below the threshold.
+   *
+   * <p>This prevents a slow replica from taking up all the global permits, and thus from stalling
+   * requests to healthy replicas. It only applies to statements whose replicas can be determined
+   * from their routing information (keyspace and routing key or token); other statements are only
+   * subject to the global maximum. By default, this feature is disabled. Setting this option to any
+   * negative value or zero will disable it.
+   *
+   * @param maxInFlightRequestsPerReplicaSet the maximum number of in-flight requests per replica
+   *     set.
+   * @return this builder (for method chaining).
+   */
+  @SuppressWarnings("UnusedReturnValue")
+  BulkExecutorBuilder<T> withMaxInFlightRequestsPerReplicaSet(int maxInFlightRequestsPerReplicaSet);
+
+  /**
+   * Switches on adaptive concurrency: instead of being fixed, the maximum number of in-flight
+   * requests is continuously adjusted based on observed latencies and errors, between the given
+   * lower bound and the maximum set with {@link #withMaxInFlightRequests(int)} (or {@link
+   * AbstractBulkExecutor#DEFAULT_MAX_IN_FLIGHT_REQUESTS} if that maximum is disabled).
+   *
+   * <p>The limit is increased as long as responses arrive with stable latencies, and is decreased
+   * when requests time out, when the server reports being overloaded, or when the recent average
+   * latency exceeds the long-term average latency by more than the given tolerance. By default,
+   * adaptive concurrency is disabled.
+   *
+   * @param minInFlightRequests the lower bound for the number of in-flight requests, also the
+   *     initial limit.
+   * @param latencyTolerance the ratio between recent and long-term average latencies above which
+   *     the cluster is considered congested; must be greater than 1.
+   * @param backoffRatio the factor by which the limit is multiplied when the cluster is congested;
+   *     must be strictly between 0 and 1.
+   * @return this builder (for method chaining).
+   * @see com.datastax.oss.dsbulk.executor.api.listener.AdaptiveConcurrencyLimiter
+   */
+  @SuppressWarnings("UnusedReturnValue")
+  BulkExecutorBuilder<T> withAdaptiveConcurrency(
+      int minInFlightRequests, double latencyTolerance, double backoffRatio);
+
   /**
    * Sets the maximum number of concurrent requests per second. If that limit is reached, the
    * executor will block until the number of requests per second drops below the threshold. <em>This
@@ -0,0 +1,208 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.executor.api.listener;
+
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
+import com.datastax.oss.driver.api.core.connection.BusyConnectionException;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.servererrors.OverloadedException;
+import com.datastax.oss.driver.api.core.servererrors.ReadTimeoutException;
+import com.datastax.oss.driver.api.core.servererrors.WriteTimeoutException;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import com.datastax.oss.dsbulk.executor.api.AsyncSemaphore;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * An {@link ExecutionListener} that continuously adjusts the maximum number of in-flight requests
+ * based on observed latencies and errors, using an AIMD (additive increase, multiplicative
+ * decrease) algorithm.
+ *
+ * <p>The current limit is enforced by the semaphore returned by {@link #getPermits()}, which is
+ * meant to be shared by all the requests of a bulk executor.
+ *
+ * <p>The limit starts at its lower bound, and doubles at each round-trip ("slow start") until
+ * congestion is detected for the first time; it then grows by one permit per round-trip. Congestion
+ * is detected when a request fails with a timeout or an overload error, or when the short-term
+ * average latency exceeds the long-term average latency by more than the configured tolerance. In
+ * response, the limit is multiplied by the configured backoff ratio, at most once per round-trip.
+ */
+public class AdaptiveConcurrencyLimiter implements ExecutionListener {
+
+  /** Smoothing factor for the short-term latency average, roughly the last 20 requests. */
+  private static final double SHORT_TERM_ALPHA = 0.05;
+
+  /** Smoothing factor for the long-term latency average, roughly the last 1000 requests. */
+  private static final double LONG_TERM_ALPHA = 0.001;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double latencyTolerance;
+  private final double backoffRatio;
+  private final AdjustableSemaphore permits;
+
+  // the fields below are guarded by this
+
+  private double limit;
+  private boolean slowStart = true;
+  private double shortTermLatency = Double.NaN;
+  private double longTermLatency = Double.NaN;
+  private long lastDecreaseNanos;
+
+  /**
+   * Creates a new limiter.
+   *
+   * @param minLimit the lower bound for the number of in-flight requests, also the initial limit.
+   * @param maxLimit the upper bound for the number of in-flight requests.
+   * @param latencyTolerance the ratio between short-term and long-term average latencies above
+   *     which congestion is detected; must be greater than 1.
+   * @param backoffRatio the factor by which the limit is multiplied when congestion is detected;
+   *     must be strictly between 0 and 1.
+   */
+  public AdaptiveConcurrencyLimiter(
+      int minLimit, int maxLimit, double latencyTolerance, double backoffRatio) {
+    if (minLimit < 1) {
+      throw new IllegalArgumentException("minLimit must be strictly positive, got: " + minLimit);
+    }
+    if (maxLimit < minLimit) {
+      throw new IllegalArgumentException(
+          String.format(
+              "maxLimit must be greater than or equal to minLimit (%d), got: %d",
+              minLimit, maxLimit));
+    }
+    if (latencyTolerance <= 1) {
+      throw new IllegalArgumentException(
+          "latencyTolerance must be greater than 1, got: " + latencyTolerance);
+    }
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException(
+          "backoffRatio must be strictly between 0 and 1, got: " + backoffRatio);
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.latencyTolerance = latencyTolerance;
+    this.backoffRatio = backoffRatio;
+    this.limit = minLimit;
+    this.permits = new AdjustableSemaphore(minLimit);
+    this.lastDecreaseNanos = System.nanoTime();
+  }
+
+  /** @return the semaphore enforcing the current limit. */
+  @NonNull
+  public AsyncSemaphore getPermits() {
+    return permits;
+  }
+
+  /** @return the current maximum number of in-flight requests. */
+  public synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  @Override
+  public void onWriteRequestSuccessful(Statement<?> statement, ExecutionContext context) {
+    onRequestSuccessful(context.elapsedTimeNanos(), System.nanoTime());
+  }
+
+  @Override
+  public void onReadRequestSuccessful(Statement<?> statement, ExecutionContext context) {
+    onRequestSuccessful(context.elapsedTimeNanos(), System.nanoTime());
+  }
+
+  @Override
+  public void onWriteRequestFailed(
+      Statement<?> statement, Throwable error, ExecutionContext context) {
+    onRequestFailed(error, context.elapsedTimeNanos(), System.nanoTime());
+  }
+
+  @Override
+  public void onReadRequestFailed(
+      Statement<?> statement, Throwable error, ExecutionContext context) {
+    onRequestFailed(error, context.elapsedTimeNanos(), System.nanoTime());
+  }
+
+  @VisibleForTesting
+  synchronized void onRequestSuccessful(long latencyNanos, long nowNanos) {
+    if (Double.isNaN(longTermLatency)) {
+      shortTermLatency = latencyNanos;
+      longTermLatency = latencyNanos;
+    } else {
+      shortTermLatency += SHORT_TERM_ALPHA * (latencyNanos - shortTermLatency);
+      longTermLatency += LONG_TERM_ALPHA * (latencyNanos - longTermLatency);
+    }
+    if (shortTermLatency > longTermLatency * latencyTolerance) {
+      decrease(latencyNanos, nowNanos);
+    } else if (slowStart) {
+      // one more permit per response: the limit doubles at each round-trip
+      setLimit(limit + 1);
+    } else {
+      // one more permit per round-trip
+      setLimit(limit + 1 / limit);
+    }
+  }
+
+  @VisibleForTesting
+  synchronized void onRequestFailed(Throwable error, long latencyNanos, long nowNanos) {
+    if (isCongestionError(error)) {
+      decrease(latencyNanos, nowNanos);
+    }
+  }
+
+  private void decrease(long latencyNanos, long nowNanos) {
+    // Only react to requests started after the last decrease: requests that were already in
+    // flight at that time witnessed the same congestion episode.
+    if (nowNanos - latencyNanos - lastDecreaseNanos > 0) {
+      slowStart = false;
+      lastDecreaseNanos = nowNanos;
+      setLimit(limit * backoffRatio);
+    }
+  }
+
+  private void setLimit(double newLimit) {
+    newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    int delta = (int) newLimit - (int) limit;
+    limit = newLimit;
+    if (delta > 0) {
+      permits.release(delta);
+    } else if (delta < 0) {
+      permits.reducePermits(-delta);
+    }
+  }
+
+  private static boolean isCongestionError(Throwable error) {
+    while (error != null) {
+      if (error instanceof WriteTimeoutException
+          || error instanceof ReadTimeoutException
+          || error instanceof OverloadedException
+          || error instanceof DriverTimeoutException
+          || error instanceof BusyConnectionException) {
+        return true;
+      }
+      error = error.getCause();
+    }
+    return false;
+  }
+
+  private static final class AdjustableSemaphore extends AsyncSemaphore {
+
+    private AdjustableSemaphore(int permits) {
+      super(permits);
+    }
+
+    @Override
+    protected void reducePermits(int reduction) {
+      super.reducePermits(reduction);
+    }
+  }
+}
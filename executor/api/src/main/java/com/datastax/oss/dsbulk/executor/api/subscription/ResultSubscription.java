@@ -21,6 +21,7 @@ import com.datastax.oss.driver.api.core.cql.BatchStatement;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.Statement;
 import com.datastax.oss.driver.shaded.guava.common.util.concurrent.RateLimiter;
+import com.datastax.oss.dsbulk.executor.api.AsyncSemaphore;
 import com.datastax.oss.dsbulk.executor.api.exception.BulkExecutionException;
 import com.datastax.oss.dsbulk.executor.api.listener.DefaultExecutionContext;
 import com.datastax.oss.dsbulk.executor.api.listener.ExecutionContext;
@@ -63,6 +64,8 @@ public abstract class ResultSubscription<R extends Result, P extends AsyncPaging
 
   private static final int MAX_ENQUEUED_PAGES = 4;
 
+  static final CompletableFuture<Void> ACQUIRED = CompletableFuture.completedFuture(null);
+
   /*
   The following are specific to the present query execution.
    */
@@ -335,11 +338,36 @@ public abstract class ResultSubscription<R extends Result, P extends AsyncPaging
    * on the thread that completes the pair of futures [nextPage, fullyConsumed] and enqueues. This
    * can be a driver IO thread or a subscriber thread; in both cases, cannot run concurrently due to
    * the fact that one can only fetch the next page when the current one is arrived and enqueued.
+   *
+   * <p>The request itself is sent once a permit is acquired, see {@link #onBeforeRequestStarted()};
+   * if no permit is readily available, it is sent later by the thread that releases the permit, and
+   * the current thread is not blocked.
    */
   private void fetchNextPage(Page current) {
+    CompletionStage<Void> permit = onBeforeRequestStarted();
+    CompletableFuture<Void> future = permit.toCompletableFuture();
+    if (future.isDone()) {
+      // fast path: permit readily available
+      sendRequest(current);
+    } else {
+      permit
+          .thenRun(() -> sendRequest(current))
+          .exceptionally(
+              t -> {
+                doOnError(t instanceof CompletionException ? t.getCause() : t);
+                return null;
+              });
+    }
+  }
+
+  private void sendRequest(Page current) {
+    if (cancelled) {
+      // the subscription was cancelled while we were waiting for a permit
+      releasePermit();
+      return;
+    }
     // A local execution context to record metrics for this specific request-response cycle.
     DefaultExecutionContext local = new DefaultExecutionContext();
-    onBeforeRequestStarted();
     local.start();
     onRequestStarted(local);
     current
@@ -348,9 +376,7 @@ public abstract class ResultSubscription<R extends Result, P extends AsyncPaging
         // update maxConcurrentRequests.
         .whenComplete(
             (rs, t) -> {
-              if (maxConcurrentRequests != null) {
-                maxConcurrentRequests.release();
-              }
+              releasePermit();
               local.stop();
               if (t == null) {
                 onRequestSuccessful(rs, local);
@@ -388,10 +414,28 @@ public abstract class ResultSubscription<R extends Result, P extends AsyncPaging
             });
   }
 
-  void onBeforeRequestStarted() {
+  /**
+   * Acquires a permit to send the next request.
+   *
+   * <p>If the in-flight requests are limited by an {@link AsyncSemaphore}, the permit is acquired
+   * asynchronously; otherwise, this method may block until a permit is available.
+   *
+   * @return a future that completes when the request can be sent.
+   */
+  CompletionStage<Void> onBeforeRequestStarted() {
+    if (maxConcurrentRequests instanceof AsyncSemaphore) {
+      return ((AsyncSemaphore) maxConcurrentRequests).acquireAsync();
+    }
     if (maxConcurrentRequests != null) {
       maxConcurrentRequests.acquireUninterruptibly();
     }
+    return ACQUIRED;
+  }
+
+  private void releasePermit() {
+    if (maxConcurrentRequests != null) {
+      maxConcurrentRequests.release();
+    }
   }
 
   /*
@@ -27,6 +27,7 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Semaphore;
 import org.reactivestreams.Subscriber;
 
@@ -55,11 +56,11 @@ public class WriteResultSubscription extends ResultSubscription<WriteResult, Asy
   }
 
   @Override
-  void onBeforeRequestStarted() {
+  CompletionStage<Void> onBeforeRequestStarted() {
     if (rateLimiter != null) {
       rateLimiter.acquire(batchSize);
     }
-    super.onBeforeRequestStarted();
+    return super.onBeforeRequestStarted();
   }
 
   @Override
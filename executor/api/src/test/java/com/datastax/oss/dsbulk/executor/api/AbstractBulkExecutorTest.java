@@ -0,0 +1,122 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.executor.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AbstractBulkExecutorTest {
+
+  private static final CqlIdentifier KS = CqlIdentifier.fromInternal("ks");
+
+  private final CqlSession session = mock(CqlSession.class);
+
+  private final Token token1 = mock(Token.class);
+  private final Token token2 = mock(Token.class);
+  private final Token token3 = mock(Token.class);
+
+  @BeforeEach
+  void setUp() {
+    Metadata metadata = mock(Metadata.class);
+    TokenMap tokenMap = mock(TokenMap.class);
+    Node node1 = mock(Node.class);
+    Node node2 = mock(Node.class);
+    when(session.getMetadata()).thenReturn(metadata);
+    when(metadata.getTokenMap()).thenReturn(Optional.of(tokenMap));
+    when(tokenMap.getReplicas(eq(KS), any(Token.class))).thenReturn(ImmutableSet.of());
+    when(tokenMap.getReplicas(KS, token1)).thenReturn(ImmutableSet.of(node1));
+    when(tokenMap.getReplicas(KS, token2)).thenReturn(ImmutableSet.of(node1));
+    when(tokenMap.getReplicas(KS, token3)).thenReturn(ImmutableSet.of(node2));
+  }
+
+  @Test
+  void should_limit_in_flight_requests_per_replica_set() {
+    AbstractBulkExecutor executor = newExecutor(3, 2);
+    Semaphore global = executor.maxConcurrentRequests;
+    Semaphore permits1 = executor.maxConcurrentRequests(newStatement(token1));
+    Semaphore permits2 = executor.maxConcurrentRequests(newStatement(token2));
+    Semaphore permits3 = executor.maxConcurrentRequests(newStatement(token3));
+    assertThat(permits1.tryAcquire()).isTrue();
+    assertThat(permits2.tryAcquire()).isTrue();
+    // replica set of node1 is full, but the global limit is not reached
+    assertThat(permits2.tryAcquire()).isFalse();
+    assertThat(global.availablePermits()).isOne();
+    assertThat(permits3.tryAcquire()).isTrue();
+    assertThat(global.availablePermits()).isZero();
+    permits1.release();
+    assertThat(global.availablePermits()).isOne();
+    assertThat(permits2.availablePermits()).isOne();
+    assertThat(permits2.tryAcquire()).isTrue();
+  }
+
+  @Test
+  void should_use_global_limit_when_replicas_unknown() {
+    AbstractBulkExecutor executor = newExecutor(3, 2);
+    // no routing information
+    assertThat(executor.maxConcurrentRequests(SimpleStatement.newInstance("irrelevant")))
+        .isSameAs(executor.maxConcurrentRequests);
+    // no replicas
+    assertThat(executor.maxConcurrentRequests(newStatement(mock(Token.class))))
+        .isSameAs(executor.maxConcurrentRequests);
+  }
+
+  @Test
+  void should_use_global_limit_when_per_replica_set_limit_disabled() {
+    AbstractBulkExecutor executor = newExecutor(3, -1);
+    assertThat(executor.maxConcurrentRequests(newStatement(token1)))
+        .isSameAs(executor.maxConcurrentRequests);
+  }
+
+  private AbstractBulkExecutor newExecutor(
+      int maxInFlightRequests, int maxInFlightRequestsPerReplicaSet) {
+    AbstractBulkExecutorBuilder<?> builder =
+        new AbstractBulkExecutorBuilder<BulkExecutor>(session) {
+          @Override
+          public BulkExecutor build() {
+            throw new UnsupportedOperationException();
+          }
+        };
+    builder
+        .withMaxInFlightRequests(maxInFlightRequests)
+        .withMaxInFlightRequestsPerReplicaSet(maxInFlightRequestsPerReplicaSet);
+    return mock(
+        AbstractBulkExecutor.class,
+        withSettings().useConstructor(builder).defaultAnswer(CALLS_REAL_METHODS));
+  }
+
+  private static Statement<?> newStatement(Token token) {
+    return SimpleStatement.newInstance("irrelevant").setKeyspace(KS).setRoutingToken(token);
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.executor.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class AsyncSemaphoreTest {
+
+  @Test
+  void should_acquire_permits_asynchronously_in_fifo_order() {
+    AsyncSemaphore semaphore = new AsyncSemaphore(1);
+    CompletableFuture<Void> first = semaphore.acquireAsync().toCompletableFuture();
+    CompletableFuture<Void> second = semaphore.acquireAsync().toCompletableFuture();
+    CompletableFuture<Void> third = semaphore.acquireAsync().toCompletableFuture();
+    assertThat(first).isDone();
+    assertThat(second).isNotDone();
+    assertThat(third).isNotDone();
+    // blocking acquisitions cannot barge in either
+    assertThat(semaphore.tryAcquire()).isFalse();
+    semaphore.release();
+    assertThat(second).isDone();
+    assertThat(third).isNotDone();
+    semaphore.release();
+    assertThat(third).isDone();
+    assertThat(semaphore.availablePermits()).isZero();
+    semaphore.release();
+    assertThat(semaphore.availablePermits()).isOne();
+  }
+
+  @Test
+  void should_grant_many_permits_when_releasing_many() {
+    AsyncSemaphore semaphore = new AsyncSemaphore(0);
+    List<CompletableFuture<Void>> waiters = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      waiters.add(semaphore.acquireAsync().toCompletableFuture());
+    }
+    semaphore.release(2);
+    assertThat(waiters.get(0)).isDone();
+    assertThat(waiters.get(1)).isDone();
+    assertThat(waiters.get(2)).isNotDone();
+  }
+
+  @Test
+  void should_not_recurse_when_waiter_releases_permit() {
+    AsyncSemaphore semaphore = new AsyncSemaphore(0);
+    AtomicInteger completed = new AtomicInteger();
+    for (int i = 0; i < 100_000; i++) {
+      semaphore
+          .acquireAsync()
+          .thenRun(
+              () -> {
+                completed.incrementAndGet();
+                semaphore.release();
+              });
+    }
+    semaphore.release();
+    assertThat(completed).hasValue(100_000);
+    assertThat(semaphore.availablePermits()).isOne();
+  }
+
+  @Test
+  void should_not_lose_permits_under_contention() throws Exception {
+    AsyncSemaphore semaphore = new AsyncSemaphore(4);
+    AtomicInteger completed = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<CompletableFuture<Void>> all = new ArrayList<>();
+      for (int i = 0; i < 10_000; i++) {
+        all.add(
+            semaphore
+                .acquireAsync()
+                .thenRunAsync(
+                    () -> {
+                      completed.incrementAndGet();
+                      semaphore.release();
+                    },
+                    executor)
+                .toCompletableFuture());
+      }
+      CompletableFuture.allOf(all.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(completed).hasValue(10_000);
+    assertThat(semaphore.availablePermits()).isEqualTo(4);
+  }
+}
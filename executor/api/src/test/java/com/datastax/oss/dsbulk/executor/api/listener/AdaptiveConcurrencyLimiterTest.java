@@ -0,0 +1,115 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.executor.api.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(1);
+
+  // far enough in the future so that all requests are considered started after the limiter
+  // creation
+  private long now = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  void should_double_limit_at_each_round_trip_until_congestion() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 100, 2, 0.5);
+    assertThat(limiter.getLimit()).isEqualTo(2);
+    assertThat(limiter.getPermits().availablePermits()).isEqualTo(2);
+    succeed(limiter, 2);
+    assertThat(limiter.getLimit()).isEqualTo(4);
+    succeed(limiter, 4);
+    assertThat(limiter.getLimit()).isEqualTo(8);
+    assertThat(limiter.getPermits().availablePermits()).isEqualTo(8);
+  }
+
+  @Test
+  void should_decrease_limit_on_timeouts_and_then_increase_linearly() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 100, 2, 0.5);
+    succeed(limiter, 8);
+    assertThat(limiter.getLimit()).isEqualTo(10);
+    limiter.onRequestFailed(
+        new CompletionException(new DriverTimeoutException("timeout")), LATENCY, now);
+    assertThat(limiter.getLimit()).isEqualTo(5);
+    assertThat(limiter.getPermits().availablePermits()).isEqualTo(5);
+    // a request in flight during the previous decrease does not trigger a new one
+    limiter.onRequestFailed(new DriverTimeoutException("timeout"), LATENCY, now + 1);
+    assertThat(limiter.getLimit()).isEqualTo(5);
+    // no more slow start: roughly one permit per round-trip
+    succeed(limiter, 6);
+    assertThat(limiter.getLimit()).isEqualTo(6);
+  }
+
+  @Test
+  void should_decrease_limit_when_latency_increases() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 100, 2, 0.5);
+    succeed(limiter, 18);
+    assertThat(limiter.getLimit()).isEqualTo(20);
+    for (int i = 0; i < 30; i++) {
+      now += LATENCY * 10;
+      limiter.onRequestSuccessful(LATENCY * 10, now);
+    }
+    assertThat(limiter.getLimit()).isLessThan(20);
+  }
+
+  @Test
+  void should_ignore_other_errors() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 100, 2, 0.5);
+    limiter.onRequestFailed(new IllegalArgumentException("syntax error"), LATENCY, now);
+    assertThat(limiter.getLimit()).isEqualTo(2);
+  }
+
+  @Test
+  void should_respect_bounds() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 5, 2, 0.1);
+    succeed(limiter, 10);
+    assertThat(limiter.getLimit()).isEqualTo(5);
+    assertThat(limiter.getPermits().availablePermits()).isEqualTo(5);
+    limiter.onRequestFailed(new DriverTimeoutException("timeout"), LATENCY, now);
+    assertThat(limiter.getLimit()).isEqualTo(2);
+    assertThat(limiter.getPermits().availablePermits()).isEqualTo(2);
+  }
+
+  @Test
+  void should_reject_invalid_parameters() {
+    assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(0, 100, 2, 0.5))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("minLimit must be strictly positive, got: 0");
+    assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(2, 1, 2, 0.5))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxLimit must be greater than or equal to minLimit (2), got: 1");
+    assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(2, 100, 1, 0.5))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("latencyTolerance must be greater than 1, got: 1.0");
+    assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(2, 100, 2, 1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("backoffRatio must be strictly between 0 and 1, got: 1.0");
+  }
+
+  private void succeed(AdaptiveConcurrencyLimiter limiter, int times) {
+    for (int i = 0; i < times; i++) {
+      now += LATENCY;
+      limiter.onRequestSuccessful(LATENCY, now);
+    }
+  }
+}
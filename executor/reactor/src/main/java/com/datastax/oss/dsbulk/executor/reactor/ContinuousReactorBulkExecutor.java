@@ -69,6 +69,11 @@ public class ContinuousReactorBulkExecutor extends DefaultReactorBulkExecutor
     Objects.requireNonNull(statement);
     return Flux.from(
         new ContinuousReadResultPublisher(
-            statement, cqlSession, failFast, listener, maxConcurrentRequests, rateLimiter));
+            statement,
+            cqlSession,
+            failFast,
+            listener,
+            maxConcurrentRequests(statement),
+            rateLimiter));
   }
 }
@@ -123,7 +123,7 @@ public class DefaultReactorBulkExecutor extends AbstractBulkExecutor
     Objects.requireNonNull(statement);
     return Mono.from(
         new WriteResultPublisher(
-            statement, session, failFast, listener, maxConcurrentRequests, rateLimiter));
+            statement, session, failFast, listener, maxConcurrentRequests(statement), rateLimiter));
   }
 
   @Override
@@ -201,7 +201,7 @@ public class DefaultReactorBulkExecutor extends AbstractBulkExecutor
     Objects.requireNonNull(statement);
     return Flux.from(
         new ReadResultPublisher(
-            statement, session, failFast, listener, maxConcurrentRequests, rateLimiter));
+            statement, session, failFast, listener, maxConcurrentRequests(statement), rateLimiter));
   }
 
   @Override
@@ -75,6 +75,24 @@ public final class IOUtils {
         new InputStreamReader(newBufferedInputStream(url), charset), BUFFER_SIZE);
   }
 
+  /**
+   * Returns a reader for the given region of a local file. The region is read through memory-mapped
+   * buffers, which avoids copying its contents through the kernel's I/O buffers.
+   *
+   * @param file the file to read; must be a regular file on the default file system.
+   * @param position the position, in bytes, at which the region starts.
+   * @param length the length, in bytes, of the region.
+   * @param charset the charset to use to decode bytes.
+   * @return a reader for the region.
+   * @throws IOException if the file cannot be opened.
+   */
+  public static BufferedReader newMappedReader(
+      Path file, long position, long length, Charset charset) throws IOException {
+    return new BufferedReader(
+        new InputStreamReader(new MappedFileInputStream(file, position, length), charset),
+        BUFFER_SIZE);
+  }
+
   public static BufferedWriter newBufferedWriter(URL url, Charset charset) throws IOException {
     return new BufferedWriter(
         new OutputStreamWriter(newBufferedOutputStream(url), charset), BUFFER_SIZE);
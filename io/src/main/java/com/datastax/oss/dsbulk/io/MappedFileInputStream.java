@@ -0,0 +1,103 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An {@link InputStream} that reads a region of a local file through memory-mapped windows.
+ *
+ * <p>Windows are mapped lazily and sequentially, so that regions larger than what a single {@link
+ * MappedByteBuffer} can hold are supported.
+ */
+class MappedFileInputStream extends InputStream {
+
+  private static final long WINDOW_SIZE = 256 * 1024 * 1024;
+
+  private final FileChannel channel;
+  private final long end;
+
+  private long position;
+  private MappedByteBuffer window;
+
+  MappedFileInputStream(Path file, long position, long length) throws IOException {
+    this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    this.position = position;
+    this.end = position + length;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!ensureWindow()) {
+      return -1;
+    }
+    return window.get() & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!ensureWindow()) {
+      return -1;
+    }
+    int read = Math.min(len, window.remaining());
+    window.get(b, off, read);
+    return read;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long skipped = 0;
+    while (skipped < n && ensureWindow()) {
+      int step = (int) Math.min(n - skipped, window.remaining());
+      window.position(window.position() + step);
+      skipped += step;
+    }
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return window == null ? 0 : window.remaining();
+  }
+
+  @Override
+  public void close() throws IOException {
+    window = null;
+    channel.close();
+  }
+
+  private boolean ensureWindow() throws IOException {
+    if (window != null && window.hasRemaining()) {
+      return true;
+    }
+    if (position >= end) {
+      return false;
+    }
+    long size = Math.min(WINDOW_SIZE, end - position);
+    window = channel.map(MapMode.READ_ONLY, position, size);
+    position += size;
+    return true;
+  }
+}
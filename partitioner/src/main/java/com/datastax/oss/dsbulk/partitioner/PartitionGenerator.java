@@ -19,11 +19,22 @@ import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.metadata.EndPoint;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 public class PartitionGenerator {
@@ -46,18 +57,112 @@ public class PartitionGenerator {
    */
   @NonNull
   public List<BulkTokenRange> partition(int splitCount) {
+    return partition(splitCount, null);
+  }
+
+  /**
+   * Partitions the entire ring into approximately {@code splitCount} splits, each containing
+   * approximately the same amount of data, according to the given size estimates.
+   *
+   * <p>Data is assumed to be uniformly distributed inside each primary token range; ranges for
+   * which no estimate is available are assumed to have the average data density of the ring. If
+   * {@code estimates} is null or empty, this method is equivalent to {@link #partition(int)}.
+   *
+   * @param splitCount The desired number of splits.
+   * @param estimates The size estimates to use, or null to split by token count only.
+   */
+  @NonNull
+  public List<BulkTokenRange> partition(int splitCount, @Nullable SizeEstimates estimates) {
     List<BulkTokenRange> tokenRanges = describeRing(splitCount);
     int endpointCount = (int) tokenRanges.stream().map(BulkTokenRange::replicas).distinct().count();
     int maxGroupSize = tokenRanges.size() / endpointCount;
+    ToDoubleFunction<BulkTokenRange> weigher = weigher(tokenRanges, estimates);
     TokenRangeSplitter splitter = tokenFactory.splitter();
-    List<BulkTokenRange> splits = splitter.split(tokenRanges, splitCount);
+    List<BulkTokenRange> splits = splitter.split(tokenRanges, splitCount, weigher);
     checkRing(splits);
     TokenRangeClusterer clusterer = tokenFactory.clusterer();
-    List<BulkTokenRange> groups = clusterer.group(splits, splitCount, maxGroupSize);
+    List<BulkTokenRange> groups = clusterer.group(splits, splitCount, maxGroupSize, weigher);
     checkRing(groups);
     return groups;
   }
 
+  /**
+   * Reorders the given ranges so that consecutive ranges are owned by different replica sets,
+   * whenever possible.
+   *
+   * <p>Ranges are grouped by replica set, then picked from each group in proportion to its size:
+   * the next range always comes from the group that has emitted the smallest fraction of its ranges
+   * so far. Both the order of groups and the order of ranges inside each group are randomized, so
+   * that concurrent operations do not all start reading from the same replicas. When the returned
+   * ranges are read with a concurrency of N, reads are thus spread across replica sets in
+   * proportion to the number of ranges they own, from the first N reads to the last ones, instead
+   * of hot-spotting a few nodes, e.g. at the end of the operation when only the largest groups have
+   * ranges left.
+   *
+   * @param ranges The ranges to reorder, typically as returned by {@link #partition(int)}.
+   * @return A new list containing the same ranges, interleaved by replica set.
+   */
+  @NonNull
+  public static List<BulkTokenRange> interleaveByReplicas(@NonNull List<BulkTokenRange> ranges) {
+    return interleaveByReplicas(ranges, ThreadLocalRandom.current());
+  }
+
+  @NonNull
+  static List<BulkTokenRange> interleaveByReplicas(
+      @NonNull List<BulkTokenRange> ranges, @NonNull Random random) {
+    Map<Set<EndPoint>, List<BulkTokenRange>> rangesByReplicas = new LinkedHashMap<>();
+    for (BulkTokenRange range : ranges) {
+      rangesByReplicas.computeIfAbsent(range.replicas(), r -> new ArrayList<>()).add(range);
+    }
+    List<ReplicaGroup> groups = new ArrayList<>(rangesByReplicas.size());
+    for (List<BulkTokenRange> group : rangesByReplicas.values()) {
+      Collections.shuffle(group, random);
+      groups.add(new ReplicaGroup(group));
+    }
+    Collections.shuffle(groups, random);
+    PriorityQueue<ReplicaGroup> queue = new PriorityQueue<>(Math.max(1, groups.size()));
+    for (int i = 0; i < groups.size(); i++) {
+      ReplicaGroup group = groups.get(i);
+      group.order = i;
+      queue.add(group);
+    }
+    List<BulkTokenRange> interleaved = new ArrayList<>(ranges.size());
+    while (!queue.isEmpty()) {
+      ReplicaGroup group = queue.poll();
+      interleaved.add(group.ranges.get(group.emitted++));
+      if (group.emitted < group.ranges.size()) {
+        queue.add(group);
+      }
+    }
+    return interleaved;
+  }
+
+  /** A group of ranges owned by the same replica set, being interleaved with other groups. */
+  private static final class ReplicaGroup implements Comparable<ReplicaGroup> {
+
+    private final List<BulkTokenRange> ranges;
+    private int emitted;
+    private int order;
+
+    private ReplicaGroup(List<BulkTokenRange> ranges) {
+      this.ranges = ranges;
+    }
+
+    /**
+     * The position of this group's next range, as a fraction of the group: ranges of a group are
+     * thus evenly spaced out in the interleaved list.
+     */
+    private double progress() {
+      return (emitted + 0.5) / ranges.size();
+    }
+
+    @Override
+    public int compareTo(@NonNull ReplicaGroup that) {
+      int c = Double.compare(this.progress(), that.progress());
+      return c != 0 ? c : Integer.compare(this.order, that.order);
+    }
+  }
+
   private List<BulkTokenRange> describeRing(int splitCount) {
     List<BulkTokenRange> ranges =
         tokenMap.getTokenRanges().stream().map(this::toBulkRange).collect(Collectors.toList());
@@ -70,6 +175,53 @@ public class PartitionGenerator {
     }
   }
 
+  /**
+   * Returns a function computing the fraction of the table's data contained in any range that is
+   * fully contained in one of the given ring ranges.
+   */
+  private static ToDoubleFunction<BulkTokenRange> weigher(
+      List<BulkTokenRange> ringRanges, @Nullable SizeEstimates estimates) {
+    if (estimates == null || estimates.isEmpty() || ringRanges.size() == 1) {
+      return BulkTokenRange::fraction;
+    }
+    Map<TokenRange, Long> bytesByRange = estimates.getBytesByRange();
+    double matchedBytes = 0;
+    double matchedFraction = 0;
+    for (BulkTokenRange range : ringRanges) {
+      Long bytes = bytesByRange.get(range);
+      if (bytes != null) {
+        matchedBytes += bytes;
+        matchedFraction += range.fraction();
+      }
+    }
+    if (matchedBytes == 0) {
+      return BulkTokenRange::fraction;
+    }
+    double averageDensity = matchedBytes / matchedFraction;
+    double[] weights = new double[ringRanges.size()];
+    double totalBytes = 0;
+    for (int i = 0; i < weights.length; i++) {
+      BulkTokenRange range = ringRanges.get(i);
+      Long bytes = bytesByRange.get(range);
+      weights[i] = bytes == null ? range.fraction() * averageDensity : bytes;
+      totalBytes += weights[i];
+    }
+    // ring ranges indexed by their end token, to find the ring range containing a given range
+    NavigableMap<Token, Double> densityByEnd = new TreeMap<>();
+    for (int i = 0; i < weights.length; i++) {
+      BulkTokenRange range = ringRanges.get(i);
+      densityByEnd.put(range.getEnd(), weights[i] / totalBytes / range.fraction());
+    }
+    return range -> {
+      Map.Entry<Token, Double> entry = densityByEnd.ceilingEntry(range.getEnd());
+      if (entry == null) {
+        // the range is contained in the ring range that wraps around the ring
+        entry = densityByEnd.firstEntry();
+      }
+      return entry.getValue() * range.fraction();
+    };
+  }
+
   private BulkTokenRange toBulkRange(TokenRange range) {
     Set<EndPoint> replicas =
         tokenMap.getReplicas(keyspace, range).stream()
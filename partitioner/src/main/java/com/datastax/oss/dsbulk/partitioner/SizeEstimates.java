@@ -0,0 +1,102 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.partitioner;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.NodeState;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.schema.RelationMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The estimated data size of a table, per token range, as reported by each node in the {@code
+ * system.size_estimates} table.
+ */
+public final class SizeEstimates {
+
+  private static final String QUERY =
+      "SELECT range_start, range_end, partitions_count, mean_partition_size "
+          + "FROM system.size_estimates WHERE keyspace_name = ? AND table_name = ?";
+
+  private final Map<TokenRange, Long> bytesByRange;
+
+  public SizeEstimates(@NonNull Map<TokenRange, Long> bytesByRange) {
+    this.bytesByRange = Collections.unmodifiableMap(new HashMap<>(bytesByRange));
+  }
+
+  /**
+   * Reads the size estimates of the given table from all the nodes that are currently up.
+   *
+   * <p>Size estimates are node-local, and each node only reports the ranges it owns; when several
+   * replicas report an estimate for the same range, the greatest one is retained.
+   *
+   * @param session the session to use.
+   * @param table the table (or materialized view) to read estimates for.
+   * @return the size estimates; may be empty if the nodes did not compute estimates yet.
+   * @throws IllegalStateException if token metadata is not present.
+   */
+  @NonNull
+  public static SizeEstimates read(@NonNull CqlSession session, @NonNull RelationMetadata table) {
+    TokenMap tokenMap =
+        session
+            .getMetadata()
+            .getTokenMap()
+            .orElseThrow(() -> new IllegalStateException("Token metadata not present"));
+    SimpleStatement statement =
+        SimpleStatement.newInstance(
+            QUERY, table.getKeyspace().asInternal(), table.getName().asInternal());
+    Map<TokenRange, Long> bytesByRange = new HashMap<>();
+    for (Node node : session.getMetadata().getNodes().values()) {
+      if (node.getState() != NodeState.UP) {
+        continue;
+      }
+      for (Row row : session.execute(statement.setNode(node))) {
+        TokenRange range =
+            tokenMap.newTokenRange(
+                tokenMap.parse(row.getString("range_start")),
+                tokenMap.parse(row.getString("range_end")));
+        long partitions = row.getLong("partitions_count");
+        long meanSize = row.getLong("mean_partition_size");
+        long bytes = meanSize > 0 ? partitions * meanSize : partitions;
+        bytesByRange.merge(range, bytes, Math::max);
+      }
+    }
+    return new SizeEstimates(bytesByRange);
+  }
+
+  /** @return the estimated data size in bytes, per token range. */
+  @NonNull
+  public Map<TokenRange, Long> getBytesByRange() {
+    return bytesByRange;
+  }
+
+  /** @return true if no estimates are available; false otherwise. */
+  public boolean isEmpty() {
+    return bytesByRange.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "SizeEstimates" + bytesByRange;
+  }
+}
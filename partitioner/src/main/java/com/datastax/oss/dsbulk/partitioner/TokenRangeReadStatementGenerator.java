@@ -26,8 +26,11 @@ import com.datastax.oss.driver.api.core.metadata.schema.RelationMetadata;
 import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.internal.core.metadata.token.DefaultTokenMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -36,6 +39,7 @@ public class TokenRangeReadStatementGenerator {
 
   private final RelationMetadata table;
   private final TokenMap tokenMap;
+  private final SizeEstimates sizeEstimates;
 
   /**
    * @param table The table (or materialized view) to scan.
@@ -43,7 +47,21 @@ public class TokenRangeReadStatementGenerator {
    */
   public TokenRangeReadStatementGenerator(
       @NonNull RelationMetadata table, @NonNull Metadata metadata) {
+    this(table, metadata, null);
+  }
+
+  /**
+   * @param table The table (or materialized view) to scan.
+   * @param metadata The cluster metadata to use.
+   * @param sizeEstimates The table size estimates to use to split the ring into ranges of
+   *     approximately equal data size, or null to split the ring into ranges of equal token count.
+   */
+  public TokenRangeReadStatementGenerator(
+      @NonNull RelationMetadata table,
+      @NonNull Metadata metadata,
+      @Nullable SizeEstimates sizeEstimates) {
     this.table = table;
+    this.sizeEstimates = sizeEstimates;
     tokenMap =
         metadata
             .getTokenMap()
@@ -87,6 +105,10 @@ public class TokenRangeReadStatementGenerator {
    * in the ring and how contiguous token ranges are distributed across the ring. In particular with
    * vnodes, the total number of statements can be much higher than {@code splitCount}.
    *
+   * <p>The returned statements are {@linkplain PartitionGenerator#interleaveByReplicas(List)
+   * interleaved by replica set}, so that executing them in order spreads the load evenly across
+   * replicas.
+   *
    * @param splitCount The minimum desired number of statements to generate (on a best-effort
    *     basis).
    * @param statementFactory The factory to use to generate statements for each split.
@@ -100,9 +122,9 @@ public class TokenRangeReadStatementGenerator {
             ((DefaultTokenMap) tokenMap).getTokenFactory().getPartitionerName());
     PartitionGenerator generator =
         new PartitionGenerator(table.getKeyspace(), tokenMap, tokenFactory);
-    List<BulkTokenRange> partitions = generator.partition(splitCount);
-    List<Statement<?>> statements = new ArrayList<>();
-    for (TokenRange range : partitions) {
+    List<BulkTokenRange> partitions = generator.partition(splitCount, sizeEstimates);
+    Map<BulkTokenRange, Statement<?>> statementsByRange = new IdentityHashMap<>();
+    for (BulkTokenRange range : partitions) {
       Statement<?> stmt = statementFactory.apply(range);
       if (stmt.getKeyspace() != null) {
         if (!stmt.getKeyspace().equals(table.getKeyspace())) {
@@ -115,7 +137,11 @@ public class TokenRangeReadStatementGenerator {
         stmt = stmt.setRoutingKeyspace(table.getKeyspace());
       }
       stmt = stmt.setRoutingToken(range.getEnd());
-      statements.add(stmt);
+      statementsByRange.put(range, stmt);
+    }
+    List<Statement<?>> statements = new ArrayList<>(partitions.size());
+    for (BulkTokenRange range : PartitionGenerator.interleaveByReplicas(partitions)) {
+      statements.add(statementsByRange.get(range));
     }
     return statements;
   }
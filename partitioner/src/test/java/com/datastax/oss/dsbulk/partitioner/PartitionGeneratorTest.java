@@ -26,14 +26,20 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.metadata.EndPoint;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metadata.TokenMap;
 import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
 import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.internal.core.metadata.DefaultEndPoint;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
 import com.datastax.oss.dsbulk.partitioner.murmur3.Murmur3BulkTokenFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -281,6 +287,102 @@ class PartitionGeneratorTest {
         .isEqualTo(1d, offset(.000000001));
   }
 
+  @Test
+  void should_split_single_dc_by_size_estimates() {
+
+    given(tokenMap.getTokenRanges()).willReturn(singleDCRanges);
+
+    PartitionGenerator generator =
+        new PartitionGenerator(keyspace.getName(), tokenMap, tokenFactory);
+    // range S1 holds 16 times more data than ranges S2 and S3
+    SizeEstimates estimates =
+        new SizeEstimates(ImmutableMap.of(rangeS1, 16_000L, rangeS2, 1_000L, rangeS3, 1_000L));
+    List<BulkTokenRange> splits = generator.partition(9, estimates);
+
+    assertThat(splits.size()).isEqualTo(10);
+
+    // range S1 -> 8 splits
+    for (int i = 0; i < 8; i++) {
+      assertThat(splits.get(i))
+          .hasReplicas(host1)
+          .hasFraction(0.3333333333333333d / 8, offset(.000000001d));
+    }
+    // ranges S2 and S3 -> 1 split each
+    assertThat(splits.get(8))
+        .startsWith(-3074457345618258603L)
+        .endsWith(3074457345618258602L)
+        .hasReplicas(host2);
+    assertThat(splits.get(9))
+        .startsWith(3074457345618258602L)
+        .endsWith(-9223372036854775808L)
+        .hasReplicas(host3);
+
+    assertThat(splits.stream().map(BulkTokenRange::fraction).reduce(0d, Double::sum))
+        .isEqualTo(1d, offset(.000000001));
+  }
+
+  @Test
+  void should_assume_average_density_when_size_estimates_missing() {
+
+    given(tokenMap.getTokenRanges()).willReturn(singleDCRanges);
+
+    PartitionGenerator generator =
+        new PartitionGenerator(keyspace.getName(), tokenMap, tokenFactory);
+    SizeEstimates estimates = new SizeEstimates(ImmutableMap.of(rangeS1, 1_000L));
+    List<BulkTokenRange> splits = generator.partition(9, estimates);
+
+    assertThat(splits).containsExactlyElementsOf(generator.partition(9));
+  }
+
+  @Test
+  void should_interleave_splits_by_replica_set() {
+
+    given(tokenMap.getTokenRanges()).willReturn(singleDCRanges);
+
+    PartitionGenerator generator =
+        new PartitionGenerator(keyspace.getName(), tokenMap, tokenFactory);
+    List<BulkTokenRange> splits = generator.partition(9);
+    List<BulkTokenRange> interleaved =
+        PartitionGenerator.interleaveByReplicas(splits, new Random(42));
+
+    assertThat(interleaved).hasSize(9).containsExactlyInAnyOrderElementsOf(splits);
+    // each window of 3 consecutive splits must hit the 3 distinct replica sets
+    for (int i = 0; i < 9; i += 3) {
+      assertThat(
+              interleaved.subList(i, i + 3).stream()
+                  .map(BulkTokenRange::replicas)
+                  .collect(Collectors.toSet()))
+          .hasSize(3);
+    }
+  }
+
+  @Test
+  void should_interleave_splits_in_proportion_to_replica_set_sizes() {
+    Set<EndPoint> replicas1 = singleton(new DefaultEndPoint(createUnresolved("192.168.1.1", 9042)));
+    Set<EndPoint> replicas2 = singleton(new DefaultEndPoint(createUnresolved("192.168.1.2", 9042)));
+    Set<EndPoint> replicas3 = singleton(new DefaultEndPoint(createUnresolved("192.168.1.3", 9042)));
+    List<BulkTokenRange> splits = new ArrayList<>();
+    for (int i = 0; i < 9; i++) {
+      // replica set 1 owns 6 splits, replica set 2 owns 2 splits and replica set 3 owns 1 split
+      Set<EndPoint> replicas = i < 6 ? replicas1 : i < 8 ? replicas2 : replicas3;
+      splits.add(tokenFactory.range(newToken(i * 10), newToken(i * 10 + 10), replicas));
+    }
+    List<BulkTokenRange> interleaved =
+        PartitionGenerator.interleaveByReplicas(splits, new Random(42));
+
+    assertThat(interleaved).hasSize(9).containsExactlyInAnyOrderElementsOf(splits);
+    // in every prefix of the interleaved splits, each replica set owns its fair share of splits,
+    // give or take one, instead of the largest replica set owning all the last ones
+    for (int k = 1; k <= 9; k++) {
+      List<BulkTokenRange> prefix = interleaved.subList(0, k);
+      for (Set<EndPoint> replicas : Arrays.asList(replicas1, replicas2, replicas3)) {
+        long owned = splits.stream().filter(split -> split.replicas().equals(replicas)).count();
+        long emitted = prefix.stream().filter(split -> split.replicas().equals(replicas)).count();
+        assertThat((double) emitted).isCloseTo(k * owned / 9d, offset(1d));
+      }
+    }
+  }
+
   private TokenRange range(long start, long end) {
     return newTokenRange(newToken(start), newToken(end));
   }
@@ -0,0 +1,35 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.sampler;
+
+/**
+ * A statement that knows its own data size, as it would be computed by {@link
+ * DataSizes#getDataSize(com.datastax.oss.driver.api.core.cql.Statement,
+ * com.datastax.oss.driver.api.core.ProtocolVersion,
+ * com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry) DataSizes.getDataSize}.
+ *
+ * <p>Statements implementing this interface are not measured again by {@link DataSizes}, unless
+ * their data size is unknown.
+ */
+public interface DataSizeAware {
+
+  /**
+   * Returns the data size of this statement, or -1 if it is unknown.
+   *
+   * @return the data size of this statement, or -1 if it is unknown.
+   */
+  long getDataSize();
+}
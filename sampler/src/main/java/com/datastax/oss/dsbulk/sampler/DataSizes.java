@@ -51,6 +51,9 @@ public class DataSizes {
    * the mutation size server-side, whereas the latter attempts to guess the size of the encoded
    * statement, protocol-wise. These can be very different, especially for batch statements.
    *
+   * <p>If the statement is {@link DataSizeAware} and its data size is known, that size is returned
+   * without inspecting the statement's values.
+   *
    * @param stmt The statement to inspect; cannot be {@code null}.
    * @param version The protocol version to use; cannot be {@code null}.
    * @param registry The codec registry to use; cannot be {@code null}.
@@ -60,6 +63,12 @@ public class DataSizes {
       @NonNull Statement<?> stmt,
       @NonNull ProtocolVersion version,
       @NonNull CodecRegistry registry) {
+    if (stmt instanceof DataSizeAware) {
+      long dataSize = ((DataSizeAware) stmt).getDataSize();
+      if (dataSize >= 0) {
+        return dataSize;
+      }
+    }
     long dataSize = 0;
     if (stmt instanceof BoundStatement) {
       BoundStatement bs = (BoundStatement) stmt;
@@ -142,6 +142,32 @@ class DataSizesTest {
     verify(stmt3, never()).getCustomPayload();
   }
 
+  @Test
+  void should_not_measure_size_of_data_size_aware_statement() {
+    BoundStatement bs =
+        Mockito.mock(
+            BoundStatement.class, Mockito.withSettings().extraInterfaces(DataSizeAware.class));
+    when(((DataSizeAware) bs).getDataSize()).thenReturn(42L);
+    assertThat(DataSizes.getDataSize(bs, DseProtocolVersion.DSE_V2, DefaultCodecRegistry.DEFAULT))
+        .isEqualTo(42);
+    verify(bs, never()).getPreparedStatement();
+    verify(bs, never()).getBytesUnsafe(0);
+  }
+
+  @Test
+  void should_measure_size_of_data_size_aware_statement_when_size_unknown() {
+    PreparedStatement ps = mockPreparedStatement();
+    BoundStatement bs =
+        Mockito.mock(
+            BoundStatement.class, Mockito.withSettings().extraInterfaces(DataSizeAware.class));
+    when(((DataSizeAware) bs).getDataSize()).thenReturn(-1L);
+    when(bs.getPreparedStatement()).thenReturn(ps);
+    when(bs.getBytesUnsafe(0)).thenReturn(Bytes.fromHexString("0xCAFEBABE"));
+    when(bs.getBytesUnsafe(1)).thenReturn(Bytes.fromHexString("0xCAFE"));
+    assertThat(DataSizes.getDataSize(bs, DseProtocolVersion.DSE_V2, DefaultCodecRegistry.DEFAULT))
+        .isEqualTo(6);
+  }
+
   @Test
   void should_measure_size_of_row() {
     Row row = Mockito.mock(Row.class);
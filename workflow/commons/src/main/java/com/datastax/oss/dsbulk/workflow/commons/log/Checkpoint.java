@@ -0,0 +1,206 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.workflow.commons.log;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongPredicate;
+
+/**
+ * An immutable snapshot of the positions processed so far by an operation, per resource.
+ *
+ * <p>Checkpoints are stored in the operation directory, one line per resource: the resource URI
+ * followed by the processed ranges, separated by spaces, e.g. {@code file:/data/foo.csv 1-1000
+ * 1002-2000}. Since URIs cannot contain unescaped whitespace, this format is unambiguous.
+ */
+public final class Checkpoint {
+
+  public static final String CHECKPOINT_FILE = "checkpoint.txt";
+
+  public static final String POSITIONS_FILE = "positions.txt";
+
+  // sorted by URI for readability of the checkpoint file
+  private final Map<URI, List<Range>> positions;
+
+  /**
+   * Creates a new checkpoint.
+   *
+   * @param positions the processed positions per resource; the ranges of each resource must be
+   *     disjoint and sorted, as returned by {@link PositionsTracker#getPositions()}.
+   */
+  public Checkpoint(@NonNull Map<URI, List<Range>> positions) {
+    this.positions = Collections.unmodifiableMap(new TreeMap<>(positions));
+  }
+
+  /**
+   * Reads a checkpoint from the given file.
+   *
+   * @param file the checkpoint file to read.
+   * @return the checkpoint.
+   * @throws IOException if the file cannot be read.
+   * @throws IllegalArgumentException if the file is not a valid checkpoint file.
+   */
+  @NonNull
+  public static Checkpoint read(@NonNull Path file) throws IOException {
+    Map<URI, List<Range>> positions = new TreeMap<>();
+    try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+      String line;
+      int lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        line = line.trim();
+        if (line.isEmpty()) {
+          continue;
+        }
+        try {
+          String[] tokens = line.split("\\s+");
+          List<Range> ranges = new ArrayList<>(tokens.length - 1);
+          for (int i = 1; i < tokens.length; i++) {
+            int dash = tokens[i].indexOf('-', 1);
+            ranges.add(
+                new Range(
+                    Long.parseLong(tokens[i].substring(0, dash)),
+                    Long.parseLong(tokens[i].substring(dash + 1))));
+          }
+          positions.put(new URI(tokens[0]), ranges);
+        } catch (Exception e) {
+          throw new IllegalArgumentException(
+              String.format("Invalid checkpoint file %s, line %d: %s", file, lineNumber, line), e);
+        }
+      }
+    }
+    return new Checkpoint(positions);
+  }
+
+  /**
+   * Reads a checkpoint from the given positions file, as written by {@link LogManager} at the end
+   * of load operations. Positions files only contain, for each resource, the last position up to
+   * which all records were processed, e.g. {@code file:/data/foo.csv:1000}; all positions up to
+   * that one are considered processed. Resources without such a position are ignored.
+   *
+   * @param file the positions file to read.
+   * @return the checkpoint.
+   * @throws IOException if the file cannot be read.
+   * @throws IllegalArgumentException if the file is not a valid positions file.
+   */
+  @NonNull
+  public static Checkpoint readPositionsFile(@NonNull Path file) throws IOException {
+    Map<URI, List<Range>> positions = new TreeMap<>();
+    try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+      String line;
+      int lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        line = line.trim();
+        int colon = line.lastIndexOf(':');
+        if (line.isEmpty() || colon == line.length() - 1) {
+          continue;
+        }
+        try {
+          long upper = Long.parseLong(line.substring(colon + 1));
+          positions.put(
+              new URI(line.substring(0, colon)), Collections.singletonList(new Range(1L, upper)));
+        } catch (Exception e) {
+          throw new IllegalArgumentException(
+              String.format("Invalid positions file %s, line %d: %s", file, lineNumber, line), e);
+        }
+      }
+    }
+    return new Checkpoint(positions);
+  }
+
+  /**
+   * Writes this checkpoint to the given file, replacing it atomically if it already exists, so that
+   * an interrupted write never leaves a corrupted checkpoint file behind.
+   *
+   * @param file the checkpoint file to write.
+   * @throws IOException if the file cannot be written.
+   */
+  public void write(@NonNull Path file) throws IOException {
+    Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+    try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(tmp, UTF_8))) {
+      positions.forEach(
+          (resource, ranges) -> {
+            writer.print(resource);
+            for (Range range : ranges) {
+              writer.print(' ');
+              writer.print(range.getLower());
+              writer.print('-');
+              writer.print(range.getUpper());
+            }
+            writer.println();
+          });
+    }
+    Files.move(tmp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+  }
+
+  /** @return the processed positions, as lists of disjoint, sorted ranges, per resource. */
+  @NonNull
+  public Map<URI, List<Range>> getPositions() {
+    return positions;
+  }
+
+  /**
+   * Returns a predicate telling whether the record at a given position of the given resource was
+   * processed, or {@code null} if no record of that resource was processed.
+   *
+   * @param resource the resource.
+   * @return a predicate telling whether a given position was processed, or {@code null}.
+   */
+  @Nullable
+  public LongPredicate getProcessedPositions(@NonNull URI resource) {
+    List<Range> ranges = positions.get(resource);
+    if (ranges == null || ranges.isEmpty()) {
+      return null;
+    }
+    long[] lowers = new long[ranges.size()];
+    long[] uppers = new long[ranges.size()];
+    for (int i = 0; i < lowers.length; i++) {
+      lowers[i] = ranges.get(i).getLower();
+      uppers[i] = ranges.get(i).getUpper();
+    }
+    return position -> {
+      int i = Arrays.binarySearch(lowers, position);
+      if (i >= 0) {
+        return true;
+      }
+      // insertion point minus one is the range starting right before position, if any
+      i = -i - 2;
+      return i >= 0 && position <= uppers[i];
+    };
+  }
+
+  @Override
+  public String toString() {
+    return "Checkpoint" + positions;
+  }
+}
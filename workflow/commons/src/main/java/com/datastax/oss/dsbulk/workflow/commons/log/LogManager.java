@@ -34,11 +34,14 @@ import com.datastax.oss.driver.api.core.cql.BatchStatement;
 import com.datastax.oss.driver.api.core.cql.BatchableStatement;
 import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
 import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.api.core.servererrors.InvalidQueryException;
 import com.datastax.oss.driver.api.core.servererrors.QueryExecutionException;
 import com.datastax.oss.driver.api.core.servererrors.ServerError;
 import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
 import com.datastax.oss.driver.shaded.guava.common.base.Joiner;
+import com.datastax.oss.driver.shaded.guava.common.util.concurrent.ThreadFactoryBuilder;
 import com.datastax.oss.dsbulk.connectors.api.ErrorRecord;
 import com.datastax.oss.dsbulk.connectors.api.Record;
 import com.datastax.oss.dsbulk.executor.api.result.ReadResult;
@@ -59,20 +62,31 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -80,6 +94,8 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.UnicastProcessor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 public class LogManager implements AutoCloseable {
 
@@ -96,7 +112,15 @@ public class LogManager implements AutoCloseable {
   private static final String LOAD_BAD_FILE = "load.bad";
   private static final String CAS_BAD_FILE = "paxos.bad";
 
-  private static final String POSITIONS_FILE = "positions.txt";
+  // Error and bad files are written asynchronously, and only flushed when their buffer is full,
+  // periodically, and when the operation ends, to avoid one flush per rejected record.
+  private static final int LOG_FILE_BUFFER_SIZE = 64 * 1024;
+  private static final long LOG_FILE_FLUSH_INTERVAL_MILLIS = 1000;
+
+  // Items waiting to be written by the log writer thread are bounded: producers block when this
+  // many items are pending, instead of accumulating them in memory.
+  private static final int LOG_WRITER_MAX_PENDING_ITEMS = 1024;
+  private static final int LOG_WRITER_PREFETCH = 256;
 
   private final CqlSession session;
   private final Path operationDirectory;
@@ -106,6 +130,8 @@ public class LogManager implements AutoCloseable {
   private final StatementFormatter statementFormatter;
   private final StatementFormatVerbosity statementFormatVerbosity;
   private final RowFormatter rowFormatter;
+  private final Duration checkpointInterval;
+  @Nullable private final Checkpoint resumedCheckpoint;
 
   private final AtomicInteger errors = new AtomicInteger(0);
   private final LongAdder totalItems = new LongAdder();
@@ -115,7 +141,13 @@ public class LogManager implements AutoCloseable {
 
   private final LoadingCache<Path, PrintWriter> openFiles =
       Caffeine.newBuilder()
-          .build(path -> new PrintWriter(Files.newBufferedWriter(path, UTF_8, CREATE_NEW, WRITE)));
+          .build(
+              path ->
+                  new PrintWriter(
+                      new BufferedWriter(
+                          new OutputStreamWriter(
+                              Files.newOutputStream(path, CREATE_NEW, WRITE), UTF_8),
+                          LOG_FILE_BUFFER_SIZE)));
 
   private CodecRegistry codecRegistry;
   private ProtocolVersion protocolVersion;
@@ -124,14 +156,20 @@ public class LogManager implements AutoCloseable {
 
   private PositionsTracker positionsTracker;
   private PrintWriter positionsPrinter;
+  private ScheduledExecutorService checkpointScheduler;
+  private PrintWriter tokenRangeCheckpointPrinter;
+  private TokenRangeCheckpoint carriedOverTokenRanges;
+
+  private Scheduler logWriterScheduler;
+  private Thread logFilesFlusher;
+  private final List<LogWriterSink<?>> logWriterSinks = new CopyOnWriteArrayList<>();
 
-  private FluxSink<ErrorRecord> failedRecordSink;
-  private FluxSink<ErrorRecord> unmappableRecordSink;
-  private FluxSink<UnmappableStatement> unmappableStatementSink;
-  private FluxSink<WriteResult> failedWriteSink;
-  private FluxSink<WriteResult> failedCASWriteSink;
-  private FluxSink<ReadResult> failedReadSink;
-  private FluxSink<Record> positionsSink;
+  private LogWriterSink<ErrorRecord> failedRecordSink;
+  private LogWriterSink<ErrorRecord> unmappableRecordSink;
+  private LogWriterSink<UnmappableStatement> unmappableStatementSink;
+  private LogWriterSink<WriteResult> failedWriteSink;
+  private LogWriterSink<WriteResult> failedCASWriteSink;
+  private LogWriterSink<ReadResult> failedReadSink;
 
   private UnicastProcessor<Void> uncaughtExceptionProcessor;
   private FluxSink<Void> uncaughtExceptionSink;
@@ -147,6 +185,30 @@ public class LogManager implements AutoCloseable {
       StatementFormatter statementFormatter,
       StatementFormatVerbosity statementFormatVerbosity,
       RowFormatter rowFormatter) {
+    this(
+        session,
+        operationDirectory,
+        errorThreshold,
+        queryWarningsThreshold,
+        trackPositions,
+        statementFormatter,
+        statementFormatVerbosity,
+        rowFormatter,
+        Duration.ZERO,
+        null);
+  }
+
+  public LogManager(
+      CqlSession session,
+      Path operationDirectory,
+      ErrorThreshold errorThreshold,
+      ErrorThreshold queryWarningsThreshold,
+      boolean trackPositions,
+      StatementFormatter statementFormatter,
+      StatementFormatVerbosity statementFormatVerbosity,
+      RowFormatter rowFormatter,
+      Duration checkpointInterval,
+      @Nullable Checkpoint resumedCheckpoint) {
     this.session = session;
     this.operationDirectory = operationDirectory;
     this.errorThreshold = errorThreshold;
@@ -155,6 +217,8 @@ public class LogManager implements AutoCloseable {
     this.statementFormatter = statementFormatter;
     this.statementFormatVerbosity = statementFormatVerbosity;
     this.rowFormatter = rowFormatter;
+    this.checkpointInterval = checkpointInterval;
+    this.resumedCheckpoint = resumedCheckpoint;
   }
 
   public void init() {
@@ -164,13 +228,46 @@ public class LogManager implements AutoCloseable {
     stackTracePrinter.setOptionList(LogSettings.STACK_TRACE_PRINTER_OPTIONS);
     stackTracePrinter.start();
     positionsTracker = new PositionsTracker();
+    if (trackPositions) {
+      if (resumedCheckpoint != null) {
+        resumedCheckpoint
+            .getPositions()
+            .forEach(
+                (resource, ranges) ->
+                    ranges.forEach(
+                        range ->
+                            positionsTracker.update(resource, range.getLower(), range.getUpper())));
+      }
+      if (isCheckpointEnabled()) {
+        checkpointScheduler =
+            new ScheduledThreadPoolExecutor(
+                1,
+                new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("checkpoint-%d")
+                    .setPriority(Thread.MIN_PRIORITY)
+                    .build());
+        long millis = checkpointInterval.toMillis();
+        checkpointScheduler.scheduleWithFixedDelay(
+            this::writePeriodicCheckpoint, millis, millis, TimeUnit.MILLISECONDS);
+      }
+    }
+    logWriterScheduler = Schedulers.newSingle("log-writer", true);
+    logWriterScheduler.schedulePeriodically(
+        this::flushOpenFiles,
+        LOG_FILE_FLUSH_INTERVAL_MILLIS,
+        LOG_FILE_FLUSH_INTERVAL_MILLIS,
+        TimeUnit.MILLISECONDS);
+    // If the JVM exits before close() is called, flush whatever was written so far to the error
+    // and bad files; items still waiting for the log writer thread are lost.
+    logFilesFlusher = new Thread(this::flushOpenFiles, "log-files-flusher");
+    Runtime.getRuntime().addShutdownHook(logFilesFlusher);
     failedRecordSink = newFailedRecordSink();
     unmappableRecordSink = newUnmappableRecordSink();
     unmappableStatementSink = newUnmappableStatementSink();
     failedWriteSink = newFailedWriteResultSink();
     failedCASWriteSink = newFailedCASWriteSink();
     failedReadSink = newFailedReadResultSink();
-    positionsSink = newPositionsSink();
     uncaughtExceptionProcessor = UnicastProcessor.create();
     uncaughtExceptionSink = uncaughtExceptionProcessor.sink();
     invalidMappingWarningDone = new AtomicBoolean(false);
@@ -200,7 +297,18 @@ public class LogManager implements AutoCloseable {
     failedCASWriteSink.complete();
     failedReadSink.complete();
     uncaughtExceptionSink.complete();
+    // Wait until all pending errors have been written
+    try {
+      for (LogWriterSink<?> sink : logWriterSinks) {
+        sink.awaitTermination();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
     stackTracePrinter.stop();
+    if (checkpointScheduler != null) {
+      checkpointScheduler.shutdownNow();
+    }
     // Forcibly close all open files on the thread that invokes close()
     // Using a cache removal listener is not an option because cache listeners
     // are invoked on the common ForkJoinPool, which uses daemon threads.
@@ -212,20 +320,176 @@ public class LogManager implements AutoCloseable {
               pw.flush();
               pw.close();
             });
-    positionsSink.complete();
+    // Only stop the log writer thread once all files are closed: interrupting a thread that is
+    // writing to a file channel closes the channel.
+    logWriterScheduler.dispose();
+    try {
+      Runtime.getRuntime().removeShutdownHook(logFilesFlusher);
+    } catch (IllegalStateException e) {
+      // the JVM is shutting down already
+    }
+    if (!trackPositions && isCheckpointEnabled()) {
+      closeTokenRangeCheckpoint();
+    }
     if (trackPositions && !positionsTracker.isEmpty()) {
       positionsPrinter =
           new PrintWriter(
               Files.newBufferedWriter(
-                  operationDirectory.resolve(POSITIONS_FILE), UTF_8, CREATE_NEW, WRITE));
+                  operationDirectory.resolve(Checkpoint.POSITIONS_FILE), UTF_8, CREATE_NEW, WRITE));
       // sort positions by URI
       new TreeMap<>(positionsTracker.getPositions())
           .forEach((resource, ranges) -> appendToPositionsFile(resource, ranges, positionsPrinter));
       positionsPrinter.flush();
       positionsPrinter.close();
+      if (isCheckpointEnabled()) {
+        writeCheckpoint();
+      }
+    }
+  }
+
+  /**
+   * Carries over the given token ranges, completed by a resumed operation and not read again, to
+   * the checkpoint of this operation, so that it can in turn be resumed.
+   *
+   * <p>Used only in unload and count workflows; must be called before the operation starts.
+   *
+   * @param ranges the token ranges to carry over.
+   */
+  public void carryOverTokenRanges(@NonNull TokenRangeCheckpoint ranges) {
+    carriedOverTokenRanges = ranges;
+  }
+
+  /**
+   * Handler for token range checkpoints.
+   *
+   * <p>Used only in count workflows, once per token range read; since count workflows produce no
+   * records, a range can be checkpointed as soon as it was read.
+   *
+   * <p>Counts the successful results of the given token range and, if the range was read entirely
+   * without errors, appends it to the checkpoint file when it completes.
+   *
+   * @param range the token range being read, or {@code null} if the results do not come from a
+   *     token range query, in which case the returned handler does nothing.
+   * @return A handler for token range checkpoints.
+   */
+  @NonNull
+  public Function<Flux<ReadResult>, Flux<ReadResult>> newTokenRangeCheckpointHandler(
+      @Nullable TokenRange range) {
+    return newTokenRangeCheckpointHandler(range, result -> 1L);
+  }
+
+  /**
+   * Handler for token range checkpoints, counting rows in each successful result with the given
+   * function.
+   *
+   * <p>Used only in count workflows counting rows server-side, where each result holds the number
+   * of rows counted by the server.
+   *
+   * @param range the token range being read, or {@code null} if the results do not come from a
+   *     token range query, in which case the returned handler does nothing.
+   * @param rowCounter the function returning the number of rows in a successful result.
+   * @return A handler for token range checkpoints.
+   */
+  @NonNull
+  public Function<Flux<ReadResult>, Flux<ReadResult>> newTokenRangeCheckpointHandler(
+      @Nullable TokenRange range, @NonNull ToLongFunction<ReadResult> rowCounter) {
+    if (range == null || trackPositions || !isCheckpointEnabled()) {
+      return Function.identity();
+    }
+    return upstream ->
+        Flux.defer(
+            () -> {
+              LongAdder rows = new LongAdder();
+              AtomicBoolean failed = new AtomicBoolean(false);
+              return upstream
+                  .doOnNext(
+                      result -> {
+                        if (result.isSuccess()) {
+                          rows.add(rowCounter.applyAsLong(result));
+                        } else {
+                          failed.set(true);
+                        }
+                      })
+                  .doOnComplete(
+                      () -> {
+                        if (!failed.get()) {
+                          appendToTokenRangeCheckpoint(range, rows.sum());
+                        }
+                      });
+            });
+  }
+
+  /**
+   * Appends the given token range, read entirely without errors, to the checkpoint file.
+   *
+   * <p>Used only in unload workflows, which must only checkpoint a range once its records were
+   * written and flushed, and thus cannot use {@link #newTokenRangeCheckpointHandler(TokenRange)}.
+   *
+   * @param range the token range that was read.
+   * @param rows the number of rows read in the range.
+   */
+  public void checkpointTokenRange(@NonNull TokenRange range, long rows) {
+    if (!trackPositions && isCheckpointEnabled()) {
+      appendToTokenRangeCheckpoint(range, rows);
+    }
+  }
+
+  private synchronized void appendToTokenRangeCheckpoint(@Nullable TokenRange range, long rows) {
+    TokenMap tokenMap = session.getMetadata().getTokenMap().orElseThrow(IllegalStateException::new);
+    if (tokenRangeCheckpointPrinter == null) {
+      try {
+        tokenRangeCheckpointPrinter =
+            new PrintWriter(
+                Files.newBufferedWriter(
+                    operationDirectory.resolve(Checkpoint.CHECKPOINT_FILE),
+                    UTF_8,
+                    CREATE_NEW,
+                    WRITE));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      if (carriedOverTokenRanges != null) {
+        carriedOverTokenRanges
+            .getRowsByRange()
+            .forEach(
+                (resumedRange, resumedRows) ->
+                    TokenRangeCheckpoint.append(
+                        tokenRangeCheckpointPrinter, tokenMap, resumedRange, resumedRows));
+      }
+    }
+    if (range != null) {
+      TokenRangeCheckpoint.append(tokenRangeCheckpointPrinter, tokenMap, range, rows);
+    }
+  }
+
+  private synchronized void closeTokenRangeCheckpoint() {
+    if (tokenRangeCheckpointPrinter == null && carriedOverTokenRanges != null) {
+      appendToTokenRangeCheckpoint(null, 0);
+    }
+    if (tokenRangeCheckpointPrinter != null) {
+      tokenRangeCheckpointPrinter.close();
     }
   }
 
+  private boolean isCheckpointEnabled() {
+    return !checkpointInterval.isZero() && !checkpointInterval.isNegative();
+  }
+
+  private void writePeriodicCheckpoint() {
+    try {
+      if (!positionsTracker.isEmpty()) {
+        writeCheckpoint();
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Could not write checkpoint file", e);
+    }
+  }
+
+  private synchronized void writeCheckpoint() throws IOException {
+    new Checkpoint(positionsTracker.getPositions())
+        .write(operationDirectory.resolve(Checkpoint.CHECKPOINT_FILE));
+  }
+
   public void reportLastLocations() {
     PathMatcher badFileMatcher = FileSystems.getDefault().getPathMatcher("glob:*.bad");
     Set<Path> files = openFiles.asMap().keySet();
@@ -246,7 +510,7 @@ public class LogManager implements AutoCloseable {
           "Errors are detailed in the following file(s): {}", Joiner.on(", ").join(debugFiles));
     }
     if (positionsTracker != null) {
-      LOGGER.info("Last processed positions can be found in {}", POSITIONS_FILE);
+      LOGGER.info("Last processed positions can be found in {}", Checkpoint.POSITIONS_FILE);
     }
   }
 
@@ -461,24 +725,43 @@ public class LogManager implements AutoCloseable {
    *
    * <p>Used only by the load workflow.
    *
-   * <p>Extracts the result's {@link Record} and updates the positions.
+   * <p>Extracts the result's {@link Record}s and updates the positions; the position tracker is
+   * updated directly on the calling thread.
    *
    * @return A handler for result positions.
    */
   public Function<Flux<WriteResult>, Flux<Void>> newResultPositionsHandler() {
     return upstream ->
-        upstream
-            .map(Result::getStatement)
-            .transform(newStatementToRecordMapper())
-            .doOnNext(record -> positionsSink.next(record))
-            .then()
-            .flux();
+        upstream.doOnNext(result -> updatePositions(result.getStatement())).then().flux();
+  }
+
+  private void updatePositions(Statement<?> statement) {
+    if (statement instanceof BatchStatement) {
+      for (BatchableStatement<?> child : (BatchStatement) statement) {
+        updatePositions(child);
+      }
+    } else {
+      updatePosition((Record) ((BulkStatement<?>) statement).getSource());
+    }
+  }
+
+  private void updatePosition(Record record) {
+    positionsTracker.update(record.getResource(), record.getPosition());
   }
 
   public <T> Function<Flux<T>, Flux<T>> newTotalItemsCounter() {
     return upstream -> upstream.doOnNext(r -> totalItems.increment());
   }
 
+  /**
+   * Same as {@link #newTotalItemsCounter()}, but each item accounts for the number of items
+   * computed by the given function, e.g. the number of rows counted by a server-side count query.
+   */
+  public <T> Function<Flux<T>, Flux<T>> newTotalItemsCounter(
+      @NonNull ToLongFunction<? super T> itemCount) {
+    return upstream -> upstream.doOnNext(r -> totalItems.add(itemCount.applyAsLong(r)));
+  }
+
   /**
    * Maps statements into records.
    *
@@ -518,17 +801,16 @@ public class LogManager implements AutoCloseable {
    * @return A processor for failed records.
    */
   @NonNull
-  private FluxSink<ErrorRecord> newFailedRecordSink() {
-    UnicastProcessor<ErrorRecord> processor = UnicastProcessor.create();
-    Flux<ErrorRecord> flux = processor.doOnNext(this::appendFailedRecordToDebugFile);
-    if (trackPositions) {
-      flux.doOnNext(record -> appendToBadFile(record, CONNECTOR_BAD_FILE))
-          .doOnNext(record -> positionsSink.next(record))
-          .subscribe();
-    } else {
-      flux.subscribe();
-    }
-    return processor.sink();
+  private LogWriterSink<ErrorRecord> newFailedRecordSink() {
+    return newLogWriterSink(
+        upstream -> {
+          Flux<ErrorRecord> flux = upstream.doOnNext(this::appendFailedRecordToDebugFile);
+          if (trackPositions) {
+            return flux.doOnNext(record -> appendToBadFile(record, CONNECTOR_BAD_FILE))
+                .doOnNext(this::updatePosition);
+          }
+          return flux;
+        });
   }
 
   /**
@@ -541,10 +823,9 @@ public class LogManager implements AutoCloseable {
    * @return A processor for unmappable records.
    */
   @NonNull
-  private FluxSink<ErrorRecord> newUnmappableRecordSink() {
-    UnicastProcessor<ErrorRecord> processor = UnicastProcessor.create();
-    processor.doOnNext(this::appendUnmappableReadResultToDebugFile).subscribe();
-    return processor.sink();
+  private LogWriterSink<ErrorRecord> newUnmappableRecordSink() {
+    return newLogWriterSink(
+        upstream -> upstream.doOnNext(this::appendUnmappableReadResultToDebugFile));
   }
 
   /**
@@ -558,16 +839,15 @@ public class LogManager implements AutoCloseable {
    * @return A processor for unmappable statements.
    */
   @NonNull
-  private FluxSink<UnmappableStatement> newUnmappableStatementSink() {
-    UnicastProcessor<UnmappableStatement> processor = UnicastProcessor.create();
-    processor
-        .doOnNext(this::maybeWarnInvalidMapping)
-        .doOnNext(this::appendUnmappableStatementToDebugFile)
-        .transform(newStatementToRecordMapper())
-        .doOnNext(record -> appendToBadFile(record, MAPPING_BAD_FILE))
-        .doOnNext(record -> positionsSink.next(record))
-        .subscribe();
-    return processor.sink();
+  private LogWriterSink<UnmappableStatement> newUnmappableStatementSink() {
+    return newLogWriterSink(
+        upstream ->
+            upstream
+                .doOnNext(this::maybeWarnInvalidMapping)
+                .doOnNext(this::appendUnmappableStatementToDebugFile)
+                .transform(newStatementToRecordMapper())
+                .doOnNext(record -> appendToBadFile(record, MAPPING_BAD_FILE))
+                .doOnNext(this::updatePosition));
   }
 
   /**
@@ -582,16 +862,15 @@ public class LogManager implements AutoCloseable {
    * @return A processor for failed write results.
    */
   @NonNull
-  private FluxSink<WriteResult> newFailedWriteResultSink() {
-    UnicastProcessor<WriteResult> processor = UnicastProcessor.create();
-    processor
-        .doOnNext(this::appendFailedWriteResultToDebugFile)
-        .map(Result::getStatement)
-        .transform(newStatementToRecordMapper())
-        .doOnNext(record -> appendToBadFile(record, LOAD_BAD_FILE))
-        .doOnNext(record -> positionsSink.next(record))
-        .subscribe();
-    return processor.sink();
+  private LogWriterSink<WriteResult> newFailedWriteResultSink() {
+    return newLogWriterSink(
+        upstream ->
+            upstream
+                .doOnNext(this::appendFailedWriteResultToDebugFile)
+                .map(Result::getStatement)
+                .transform(newStatementToRecordMapper())
+                .doOnNext(record -> appendToBadFile(record, LOAD_BAD_FILE))
+                .doOnNext(this::updatePosition));
   }
 
   /**
@@ -606,16 +885,15 @@ public class LogManager implements AutoCloseable {
    * @return A processor for failed CAS write results.
    */
   @NonNull
-  private FluxSink<WriteResult> newFailedCASWriteSink() {
-    UnicastProcessor<WriteResult> processor = UnicastProcessor.create();
-    processor
-        .doOnNext(this::appendFailedCASWriteResultToDebugFile)
-        .map(Result::getStatement)
-        .transform(newStatementToRecordMapper())
-        .doOnNext(record -> appendToBadFile(record, CAS_BAD_FILE))
-        .doOnNext(record -> positionsSink.next(record))
-        .subscribe();
-    return processor.sink();
+  private LogWriterSink<WriteResult> newFailedCASWriteSink() {
+    return newLogWriterSink(
+        upstream ->
+            upstream
+                .doOnNext(this::appendFailedCASWriteResultToDebugFile)
+                .map(Result::getStatement)
+                .transform(newStatementToRecordMapper())
+                .doOnNext(record -> appendToBadFile(record, CAS_BAD_FILE))
+                .doOnNext(this::updatePosition));
   }
 
   /**
@@ -628,30 +906,19 @@ public class LogManager implements AutoCloseable {
    * @return A processor for failed read results.
    */
   @NonNull
-  private FluxSink<ReadResult> newFailedReadResultSink() {
-    UnicastProcessor<ReadResult> processor = UnicastProcessor.create();
-    processor.doOnNext(this::appendFailedReadResultToDebugFile).subscribe();
-    return processor.sink();
+  private LogWriterSink<ReadResult> newFailedReadResultSink() {
+    return newLogWriterSink(upstream -> upstream.doOnNext(this::appendFailedReadResultToDebugFile));
   }
 
-  /**
-   * A processor for record positions.
-   *
-   * <p>Used only in the load workflow.
-   *
-   * <p>Updates the position tracker for every record received.
-   *
-   * @return A processor for record positions.
-   */
   @NonNull
-  private FluxSink<Record> newPositionsSink() {
-    UnicastProcessor<Record> processor = UnicastProcessor.create();
-    processor
-        // do not need to be published on the dedicated log scheduler, the computation is fairly
-        // cheap
-        .doOnNext(record -> positionsTracker.update(record.getResource(), record.getPosition()))
-        .subscribe();
-    return processor.sink();
+  private <T> LogWriterSink<T> newLogWriterSink(@NonNull Function<Flux<T>, Flux<?>> writer) {
+    LogWriterSink<T> sink = new LogWriterSink<>(writer);
+    logWriterSinks.add(sink);
+    return sink;
+  }
+
+  private void flushOpenFiles() {
+    openFiles.asMap().values().forEach(PrintWriter::flush);
   }
 
   // Bad file management
@@ -662,7 +929,6 @@ public class LogManager implements AutoCloseable {
     assert writer != null;
     Object source = record.getSource();
     LogManagerUtils.printAndMaybeAddNewLine(source.toString(), writer);
-    writer.flush();
   }
 
   // Executor errors (read/write failures)
@@ -768,7 +1034,12 @@ public class LogManager implements AutoCloseable {
       URI resource, List<Range> positions, PrintWriter positionsPrinter) {
     positionsPrinter.print(resource);
     positionsPrinter.print(':');
-    positions.stream().findFirst().ifPresent(pos -> positionsPrinter.print(pos.getUpper()));
+    // only positions up to which all records were processed can be written: if the first range
+    // does not start at 1, the records before it were not processed, and no position is written.
+    positions.stream()
+        .findFirst()
+        .filter(pos -> pos.getLower() == 1L)
+        .ifPresent(pos -> positionsPrinter.print(pos.getUpper()));
     positionsPrinter.println();
   }
 
@@ -843,7 +1114,54 @@ public class LogManager implements AutoCloseable {
     private void printStackTrace(Throwable t, PrintWriter writer) {
       // throwableProxyToString already appends a line break at the end
       writer.print(throwableProxyToString(new ThrowableProxy(t)));
-      writer.flush();
+    }
+  }
+
+  /**
+   * A sink for items to write to error and bad files on the log writer thread.
+   *
+   * <p>At most {@link LogManager#LOG_WRITER_MAX_PENDING_ITEMS} items can be waiting for the log
+   * writer thread; beyond that, producers block until the log writer thread catches up.
+   */
+  private final class LogWriterSink<T> {
+
+    private final Semaphore permits = new Semaphore(LOG_WRITER_MAX_PENDING_ITEMS);
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final FluxSink<T> sink;
+
+    private volatile boolean done;
+
+    private LogWriterSink(Function<Flux<T>, Flux<?>> writer) {
+      UnicastProcessor<T> processor = UnicastProcessor.create();
+      sink = processor.sink();
+      writer
+          .apply(
+              processor
+                  .publishOn(logWriterScheduler, LOG_WRITER_PREFETCH)
+                  .doOnNext(item -> permits.release()))
+          .doFinally(
+              signal -> {
+                done = true;
+                // unblock producers waiting for a permit, items they emit are dropped
+                permits.release(Integer.MAX_VALUE - LOG_WRITER_MAX_PENDING_ITEMS);
+                terminated.countDown();
+              })
+          .subscribe();
+    }
+
+    void next(T item) {
+      if (!done) {
+        permits.acquireUninterruptibly();
+        sink.next(item);
+      }
+    }
+
+    void complete() {
+      sink.complete();
+    }
+
+    void awaitTermination() throws InterruptedException {
+      terminated.await();
     }
   }
 }
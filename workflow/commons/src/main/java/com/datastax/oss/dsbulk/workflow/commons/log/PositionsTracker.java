@@ -15,20 +15,41 @@
  */
 package com.datastax.oss.dsbulk.workflow.commons.log;
 
-import edu.umd.cs.findbugs.annotations.NonNull;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Tracks the positions of processed records, per resource.
+ *
+ * <p>This class is thread-safe. The positions of each resource are kept as a sorted map of
+ * disjoint, coalesced ranges, guarded by a short synchronized section; since records are mostly
+ * processed in order, most updates only extend the last updated range. Positions updated by
+ * different threads are coalesced as soon as they are tracked, so the number of ranges held in
+ * memory stays proportional to the number of gaps, not to the number of records.
+ */
 public class PositionsTracker {
 
-  private final Map<URI, List<Range>> positions = new HashMap<>();
+  private final ConcurrentMap<URI, Ranges> positions = new ConcurrentHashMap<>();
 
+  /**
+   * Returns the positions tracked so far, as lists of disjoint, sorted ranges, per resource.
+   *
+   * <p>The returned map is a snapshot; it is not updated afterwards.
+   *
+   * @return the positions tracked so far.
+   */
   public Map<URI, List<Range>> getPositions() {
-    return positions;
+    Map<URI, List<Range>> snapshot = new HashMap<>();
+    positions.forEach((resource, ranges) -> snapshot.put(resource, ranges.copy()));
+    return snapshot;
   }
 
   public boolean isEmpty() {
@@ -37,48 +58,115 @@ public class PositionsTracker {
 
   public void update(URI resource, long position) {
     if (position > 0) {
-      positions.compute(
-          resource,
-          (res, positions) -> {
-            if (positions == null) {
-              positions = new ArrayList<>(100);
-              positions.add(new Range(position));
-              return positions;
-            } else {
-              return addPosition(positions, position);
-            }
-          });
+      Ranges ranges = positions.get(resource);
+      if (ranges == null) {
+        ranges = positions.computeIfAbsent(resource, res -> new Ranges());
+      }
+      ranges.add(position);
     }
   }
 
-  @NonNull
-  private static List<Range> addPosition(@NonNull List<Range> positions, long position) {
-    ListIterator<Range> iterator = positions.listIterator();
-    while (iterator.hasNext()) {
-      Range range = iterator.next();
-      if (range.contains(position)) {
-        return positions;
-      } else if (range.getUpper() + 1L == position) {
-        range.setUpper(position);
-        if (iterator.hasNext()) {
-          Range next = iterator.next();
-          if (range.getUpper() == next.getLower() - 1L) {
-            iterator.remove();
-            range = iterator.previous();
-            range.setUpper(next.getUpper());
-          }
+  /**
+   * Marks all the positions in the given range as processed at once; typically used to restore
+   * positions from a {@link Checkpoint}.
+   */
+  public void update(URI resource, long lower, long upper) {
+    if (upper >= lower && upper > 0) {
+      Ranges ranges = positions.computeIfAbsent(resource, res -> new Ranges());
+      ranges.add(Math.max(1L, lower), upper);
+    }
+  }
+
+  /** @return the number of ranges currently held in memory for the given resource. */
+  @VisibleForTesting
+  int size(URI resource) {
+    Ranges ranges = positions.get(resource);
+    return ranges == null ? 0 : ranges.size();
+  }
+
+  /** The positions of a resource. */
+  private static final class Ranges {
+
+    // ranges keyed by their lower bound
+    private final TreeMap<Long, Range> ranges = new TreeMap<>();
+
+    // the last range updated; records are mostly processed in order
+    private Range last;
+
+    private synchronized void add(long position) {
+      Range last = this.last;
+      if (last != null) {
+        if (last.contains(position)) {
+          return;
+        }
+        if (last.getUpper() + 1L == position) {
+          last.setUpper(position);
+          mergeWithNext(last);
+          return;
+        }
+      }
+      Entry<Long, Range> floor = ranges.floorEntry(position);
+      if (floor != null) {
+        Range range = floor.getValue();
+        if (range.contains(position)) {
+          this.last = range;
+          return;
         }
-        return positions;
-      } else if (range.getLower() - 1L == position) {
-        range.setLower(position);
-        return positions;
-      } else if (position < range.getLower()) {
-        iterator.previous();
-        iterator.add(new Range(position));
-        return positions;
+        if (range.getUpper() + 1L == position) {
+          range.setUpper(position);
+          mergeWithNext(range);
+          this.last = range;
+          return;
+        }
+      }
+      Range next = ranges.get(position + 1L);
+      if (next != null) {
+        ranges.remove(position + 1L);
+        next.setLower(position);
+        ranges.put(position, next);
+        this.last = next;
+        return;
+      }
+      Range range = new Range(position);
+      ranges.put(position, range);
+      this.last = range;
+    }
+
+    private synchronized void add(long lower, long upper) {
+      Entry<Long, Range> floor = ranges.floorEntry(lower);
+      if (floor != null && floor.getValue().getUpper() + 1L >= lower) {
+        ranges.remove(floor.getKey());
+        lower = floor.getValue().getLower();
+        upper = Math.max(upper, floor.getValue().getUpper());
+      }
+      Entry<Long, Range> next;
+      while ((next = ranges.ceilingEntry(lower)) != null && next.getKey() <= upper + 1L) {
+        ranges.remove(next.getKey());
+        upper = Math.max(upper, next.getValue().getUpper());
+      }
+      Range range = new Range(lower, upper);
+      ranges.put(lower, range);
+      this.last = range;
+    }
+
+    private void mergeWithNext(Range range) {
+      Range next = ranges.get(range.getUpper() + 1L);
+      if (next != null) {
+        ranges.remove(next.getLower());
+        range.setUpper(next.getUpper());
       }
     }
-    iterator.add(new Range(position));
-    return positions;
+
+    private synchronized List<Range> copy() {
+      List<Range> copy = new ArrayList<>(ranges.size());
+      for (Range range : ranges.values()) {
+        copy.add(new Range(range.getLower(), range.getUpper()));
+      }
+      return copy;
+    }
+
+    private synchronized int size() {
+      return ranges.size();
+    }
   }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.workflow.commons.log;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The token ranges completely read by an unload or count operation, with the number of rows read in
+ * each of them.
+ *
+ * <p>Token range checkpoints are stored in the operation directory, one line per range: the range
+ * start and end tokens, followed by the number of rows, separated by spaces, e.g. {@code
+ * -9223372036854775808 -4611686018427387904 12345}. Lines are appended as ranges complete; if the
+ * operation crashes while appending a line, that line is left without a line terminator, and is
+ * ignored when the file is read.
+ */
+public final class TokenRangeCheckpoint {
+
+  private final Map<TokenRange, Long> rowsByRange;
+
+  public TokenRangeCheckpoint(@NonNull Map<TokenRange, Long> rowsByRange) {
+    this.rowsByRange = Collections.unmodifiableMap(new LinkedHashMap<>(rowsByRange));
+  }
+
+  /**
+   * Reads a token range checkpoint from the given file. A last line without line terminator is
+   * considered incomplete, and is ignored.
+   *
+   * @param file the checkpoint file to read.
+   * @param tokenMap the token map to use to parse tokens.
+   * @return the checkpoint.
+   * @throws IOException if the file cannot be read.
+   * @throws IllegalArgumentException if the file is not a valid token range checkpoint file.
+   */
+  @NonNull
+  public static TokenRangeCheckpoint read(@NonNull Path file, @NonNull TokenMap tokenMap)
+      throws IOException {
+    Map<TokenRange, Long> rowsByRange = new LinkedHashMap<>();
+    String[] lines = new String(Files.readAllBytes(file), UTF_8).split("\\r?\\n", -1);
+    // the last element is either empty, or an incomplete line: skip it
+    for (int i = 0; i < lines.length - 1; i++) {
+      int lineNumber = i + 1;
+      String line = lines[i].trim();
+      if (line.isEmpty()) {
+        continue;
+      }
+      try {
+        String[] tokens = line.split("\\s+");
+        if (tokens.length != 3) {
+          throw new IllegalArgumentException("expecting start token, end token and row count");
+        }
+        TokenRange range =
+            tokenMap.newTokenRange(tokenMap.parse(tokens[0]), tokenMap.parse(tokens[1]));
+        rowsByRange.put(range, Long.parseLong(tokens[2]));
+      } catch (Exception e) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Invalid token range checkpoint file %s, line %d: %s", file, lineNumber, line),
+            e);
+      }
+    }
+    return new TokenRangeCheckpoint(rowsByRange);
+  }
+
+  /**
+   * Appends a completed range to the given checkpoint writer, then flushes it.
+   *
+   * @param writer the checkpoint writer.
+   * @param tokenMap the token map to use to format tokens.
+   * @param range the completed range.
+   * @param rows the number of rows read in the range.
+   */
+  public static void append(
+      @NonNull PrintWriter writer,
+      @NonNull TokenMap tokenMap,
+      @NonNull TokenRange range,
+      long rows) {
+    writer.print(tokenMap.format(range.getStart()));
+    writer.print(' ');
+    writer.print(tokenMap.format(range.getEnd()));
+    writer.print(' ');
+    writer.print(rows);
+    writer.println();
+    writer.flush();
+  }
+
+  /** @return the completed ranges, with their number of rows, in completion order. */
+  @NonNull
+  public Map<TokenRange, Long> getRowsByRange() {
+    return rowsByRange;
+  }
+
+  /** @return true if the given range was completely read; false otherwise. */
+  public boolean isCompleted(@NonNull TokenRange range) {
+    return rowsByRange.containsKey(range);
+  }
+
+  /**
+   * Returns a new checkpoint containing only the completed ranges that are also contained in the
+   * given ranges.
+   *
+   * @param ranges the ranges to retain.
+   * @return a new checkpoint.
+   */
+  @NonNull
+  public TokenRangeCheckpoint retainAll(@NonNull Collection<TokenRange> ranges) {
+    Map<TokenRange, Long> retained = new LinkedHashMap<>(rowsByRange);
+    retained.keySet().retainAll(ranges);
+    return new TokenRangeCheckpoint(retained);
+  }
+
+  /** @return the total number of rows read in all the completed ranges. */
+  public long getTotalRows() {
+    return rowsByRange.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  @Override
+  public String toString() {
+    return "TokenRangeCheckpoint" + rowsByRange;
+  }
+}
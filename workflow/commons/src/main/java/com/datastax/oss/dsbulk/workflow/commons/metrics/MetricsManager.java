@@ -50,6 +50,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
 import org.slf4j.Logger;
@@ -465,6 +466,14 @@ public class MetricsManager implements AutoCloseable {
     return upstream -> upstream.doOnNext(item -> totalItems.inc());
   }
 
+  /**
+   * Same as {@link #newTotalItemsMonitor()}, but each item accounts for the number of items
+   * computed by the given function, e.g. the number of rows counted by a server-side count query.
+   */
+  public <T> Function<Flux<T>, Flux<T>> newTotalItemsMonitor(ToLongFunction<? super T> itemCount) {
+    return upstream -> upstream.doOnNext(item -> totalItems.inc(itemCount.applyAsLong(item)));
+  }
+
   public <T> Function<Flux<T>, Flux<T>> newFailedItemsMonitor() {
     return upstream ->
         upstream.doOnNext(
@@ -30,6 +30,7 @@ import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.api.core.type.DataType;
 import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3Token;
 import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import com.datastax.oss.dsbulk.codecs.api.ConvertingCodecFactory;
 import com.datastax.oss.dsbulk.executor.api.result.ReadResult;
@@ -64,6 +65,8 @@ public class DefaultReadResultCounter implements ReadResultCounter {
   private final Set<EndPoint> allAddresses;
   private final Token[] ring;
   private final ReplicaSet[] replicaSets;
+  // the values of the ring tokens, if the partitioner is Murmur3; null otherwise
+  private final long[] murmur3Ring;
 
   private final CopyOnWriteArrayList<DefaultCountingUnit> units = new CopyOnWriteArrayList<>();
 
@@ -72,6 +75,9 @@ public class DefaultReadResultCounter implements ReadResultCounter {
   private final boolean countRanges;
   private final boolean countPartitions;
   private final boolean multiCount;
+  private final boolean serverSide;
+
+  private long resumedRows;
 
   @VisibleForTesting long totalRows;
   @VisibleForTesting Map<TokenRange, Long> totalsByRange;
@@ -85,6 +91,24 @@ public class DefaultReadResultCounter implements ReadResultCounter {
       int numPartitions,
       ProtocolVersion protocolVersion,
       ConvertingCodecFactory codecFactory) {
+    this(keyspace, metadata, modes, numPartitions, protocolVersion, codecFactory, false);
+  }
+
+  /**
+   * Creates a new counter.
+   *
+   * @param serverSide whether rows are counted server-side; if true, each result is expected to
+   *     contain one single column with the number of rows counted by the server, as returned by a
+   *     {@code SELECT count(*)} query; only global totals can be computed in this case.
+   */
+  public DefaultReadResultCounter(
+      CqlIdentifier keyspace,
+      Metadata metadata,
+      EnumSet<StatisticsMode> modes,
+      int numPartitions,
+      ProtocolVersion protocolVersion,
+      ConvertingCodecFactory codecFactory,
+      boolean serverSide) {
     this.tokenMap =
         metadata
             .getTokenMap()
@@ -97,6 +121,10 @@ public class DefaultReadResultCounter implements ReadResultCounter {
     countRanges = modes.contains(StatisticsMode.ranges);
     countPartitions = modes.contains(StatisticsMode.partitions);
     multiCount = modes.size() > 1;
+    this.serverSide = serverSide;
+    if (serverSide && (countNodes || countRanges || countPartitions)) {
+      throw new IllegalArgumentException("Only global totals can be counted server-side");
+    }
     if (countNodes || countRanges) {
       // Store required metadata in two data structures that will speed up lookups by token:
       // 1) 'ring' stores the range start tokens of all ranges, contents are identical to
@@ -112,12 +140,19 @@ public class DefaultReadResultCounter implements ReadResultCounter {
       int i = 0;
       Map<Token, TokenRange> rangesByEndingToken =
           ranges.stream().collect(toMap(TokenRange::getEnd, identity()));
-      for (TokenRange r1 : ranges) {
+      // sort ranges by start token, as required by binary searches
+      for (TokenRange r1 : new TreeSet<>(ranges)) {
         ring[i] = r1.getStart();
         TokenRange r2 = rangesByEndingToken.get(r1.getStart());
         replicaSets[i] = new ReplicaSet(r2, tokenMap.getReplicas(keyspace, r2));
         i++;
       }
+      if (Arrays.stream(ring).allMatch(Murmur3Token.class::isInstance)) {
+        // Murmur3 tokens can be searched and read from results without allocating Token objects
+        murmur3Ring = Arrays.stream(ring).mapToLong(t -> ((Murmur3Token) t).getValue()).toArray();
+      } else {
+        murmur3Ring = null;
+      }
       // 'allTokenRanges' and 'allAddresses' are sorted structures that will only serve when
       // printing final totals.
       if (countRanges) {
@@ -134,6 +169,7 @@ public class DefaultReadResultCounter implements ReadResultCounter {
     } else {
       ring = null;
       replicaSets = null;
+      murmur3Ring = null;
       allTokenRanges = null;
       allAddresses = null;
     }
@@ -146,6 +182,14 @@ public class DefaultReadResultCounter implements ReadResultCounter {
     return unit;
   }
 
+  @Override
+  public void addResumedRows(long rows) {
+    if (countNodes || countRanges || countPartitions) {
+      throw new IllegalStateException("Only global totals can be resumed");
+    }
+    resumedRows += rows;
+  }
+
   @Override
   public void close() {
     consolidateUnitCounts();
@@ -153,7 +197,7 @@ public class DefaultReadResultCounter implements ReadResultCounter {
 
   @VisibleForTesting
   void consolidateUnitCounts() {
-    totalRows = 0;
+    totalRows = resumedRows;
     totalsByRange = new HashMap<>();
     totalsByNode = new HashMap<>();
     totalsByPartitionKey = new ArrayList<>();
@@ -238,37 +282,54 @@ public class DefaultReadResultCounter implements ReadResultCounter {
     long currentPkCount = 0;
     PartitionKey currentPk;
 
+    // The partition key components of the current row; reused across rows, and only copied into
+    // a new PartitionKey when the partition changes.
+    private ByteBuffer[] scratch;
+    // The column definitions of the last row, and the partition key types computed from them.
+    private ColumnDefinitions definitions;
+    private DataType[] types;
+
     @Override
     public void update(ReadResult result) {
       Row row = result.getRow().orElseThrow(IllegalStateException::new);
-      // First compute the partition key and the token for this row.
-      Token token = null;
-      PartitionKey pk = null;
+      if (serverSide) {
+        // The result set is expected to contain the number of rows counted by the server
+        total += row.getLong(0);
+        return;
+      }
+      // First compute the partition key and the replica set for this row.
+      ReplicaSet replicaSet = null;
       if (countPartitions) {
         // When counting partitions, the result set is expected to contain
         // the row's partition key, in proper order
-        int size = row.getColumnDefinitions().size();
-        ByteBuffer[] bbs = new ByteBuffer[size];
-        for (int i = 0; i < size; i++) {
-          bbs[i] = row.getBytesUnsafe(i);
+        ColumnDefinitions definitions = row.getColumnDefinitions();
+        if (definitions != this.definitions) {
+          this.definitions = definitions;
+          types = new DataType[definitions.size()];
+          for (int i = 0; i < types.length; i++) {
+            types[i] = definitions.get(i).getType();
+          }
+          scratch = new ByteBuffer[types.length];
+        }
+        for (int i = 0; i < scratch.length; i++) {
+          scratch[i] = row.getBytesUnsafe(i);
         }
         if (countRanges || countNodes) {
           // compute the token client-side from the partition keys
-          token = tokenMap.newToken(bbs);
+          replicaSet = getReplicaSet(tokenMap.newToken(scratch));
         }
-        pk = new PartitionKey(row.getColumnDefinitions(), bbs);
       } else if (countRanges || countNodes) {
         // When counting hosts or ranges, without counting partitions,
         // the result set is expected to contain one single column containing
         // the partition key's token
-        token = row.getToken(0);
+        replicaSet =
+            murmur3Ring == null ? getReplicaSet(row.getToken(0)) : getReplicaSet(row.getLong(0));
       }
       // Then increment required counters.
       // Note: we need to always increment the global counter because it's used to compute
       // percentages for other stats.
       total++;
-      if (countRanges || countNodes) {
-        ReplicaSet replicaSet = getReplicaSet(token);
+      if (replicaSet != null) {
         if (countRanges) {
           totalsByRange.merge(replicaSet.range, 1L, SUM);
         }
@@ -279,16 +340,16 @@ public class DefaultReadResultCounter implements ReadResultCounter {
         }
       }
       if (countPartitions) {
-        if (currentPk == null) {
-          currentPk = pk;
-        }
         // Note: the counting algorithm relies on the fact that any given
         // partition will be entirely counted by the same unit,
         // and that partitions will be returned in order, i.e.,
         // all rows belonging to the same partition will appear in sequence.
-        if (!currentPk.equals(pk)) {
+        if (currentPk == null) {
+          currentPk = new PartitionKey(types, scratch.clone());
+          currentPkCount = 1;
+        } else if (!currentPk.hasComponents(scratch)) {
           rotatePk();
-          currentPk = pk;
+          currentPk = new PartitionKey(types, scratch.clone());
           currentPkCount = 1;
         } else {
           currentPkCount++;
@@ -308,16 +369,29 @@ public class DefaultReadResultCounter implements ReadResultCounter {
      * or nodes.
      */
     private ReplicaSet getReplicaSet(Token token) {
+      if (murmur3Ring != null) {
+        return getReplicaSet(((Murmur3Token) token).getValue());
+      }
       assert ring != null;
       assert replicaSets != null;
-      int i = Arrays.binarySearch(ring, token);
+      return replicaSets[ringIndex(Arrays.binarySearch(ring, token))];
+    }
+
+    /** Same as {@link #getReplicaSet(Token)}, for Murmur3 token values. */
+    private ReplicaSet getReplicaSet(long token) {
+      assert murmur3Ring != null;
+      assert replicaSets != null;
+      return replicaSets[ringIndex(Arrays.binarySearch(murmur3Ring, token))];
+    }
+
+    private int ringIndex(int i) {
       if (i < 0) {
         i = -i - 1;
-        if (i >= ring.length) {
+        if (i >= replicaSets.length) {
           i = 0;
         }
       }
-      return replicaSets[i];
+      return i;
     }
 
     /**
@@ -354,13 +428,18 @@ public class DefaultReadResultCounter implements ReadResultCounter {
     final DataType[] types;
     final int hashCode;
 
-    PartitionKey(ColumnDefinitions definitions, ByteBuffer... components) {
+    PartitionKey(DataType[] types, ByteBuffer... components) {
       this.components = components;
+      this.types = types;
       hashCode = Arrays.hashCode(components);
-      types = new DataType[components.length];
-      for (int i = 0; i < components.length; i++) {
-        types[i] = definitions.get(i).getType();
-      }
+    }
+
+    /**
+     * @return true if this key has the given components; equivalent to equals(), without
+     *     allocating.
+     */
+    boolean hasComponents(ByteBuffer[] components) {
+      return Arrays.equals(this.components, components);
     }
 
     @Override
@@ -35,7 +35,11 @@ import com.datastax.oss.dsbulk.mapping.Mapping;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,8 +49,23 @@ public class DefaultReadResultMapper implements ReadResultMapper {
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultReadResultMapper.class);
   private static final URI UNKNOWN_ROW_RESOURCE = URI.create("cql://unknown");
 
+  // results without execution info only fail when their resource is actually needed
+  private static final Supplier<URI> NO_EXECUTION_INFO =
+      () -> {
+        throw new IllegalStateException("Read result has no execution info");
+      };
+
+  /** The maximum number of extraction plans to cache. */
+  private static final int MAX_CACHED_PLANS = 64;
+
   private final Mapping mapping;
   private final RecordMetadata recordMetadata;
+  private final ConcurrentMap<ColumnDefinitions, ExtractionPlan> plans = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<Node, ConcurrentMap<CqlIdentifier, ConcurrentMap<CqlIdentifier, URI>>>
+      resources = new ConcurrentHashMap<>();
+
+  private volatile ExtractionPlan lastPlan;
 
   public DefaultReadResultMapper(Mapping mapping, RecordMetadata recordMetadata) {
     this.mapping = mapping;
@@ -57,11 +76,18 @@ public class DefaultReadResultMapper implements ReadResultMapper {
   @Override
   public Record map(@NonNull ReadResult result) {
     Row row = result.getRow().orElseThrow(IllegalStateException::new);
-    Supplier<URI> resource =
-        () ->
-            getRowResource(row, result.getExecutionInfo().orElseThrow(IllegalStateException::new));
+    ExecutionInfo executionInfo = result.getExecutionInfo().orElse(null);
+    URI resource = executionInfo == null ? null : getRowResource(row, executionInfo);
     try {
-      DefaultRecord record = new DefaultRecord(result, resource, -1);
+      DefaultRecord record =
+          resource == null
+              ? new DefaultRecord(result, NO_EXECUTION_INFO, -1)
+              : new DefaultRecord(result, resource, -1);
+      ExtractionPlan plan = getExtractionPlan(row.getColumnDefinitions());
+      if (plan != null) {
+        plan.extract(row, record);
+        return record;
+      }
       for (ColumnDefinition def : row.getColumnDefinitions()) {
         CQLWord variable = CQLWord.fromInternal(def.getName().asInternal());
         CqlIdentifier name = variable.asIdentifier();
@@ -85,7 +111,113 @@ public class DefaultReadResultMapper implements ReadResultMapper {
       }
       return record;
     } catch (Exception e) {
-      return new DefaultErrorRecord(result, resource, -1, e);
+      return resource == null
+          ? new DefaultErrorRecord(result, NO_EXECUTION_INFO, -1, e)
+          : new DefaultErrorRecord(result, resource, -1, e);
+    }
+  }
+
+  /**
+   * Returns the extraction plan for the given column definitions, computing it if necessary;
+   * returns null if no plan could be computed, in which case the row must be mapped column by
+   * column, so that errors are reported exactly as if no plan existed.
+   *
+   * <p>Column definitions are compared by identity: rows of the same result set share the same
+   * definitions instance, so the last plan used is almost always the right one.
+   */
+  private ExtractionPlan getExtractionPlan(ColumnDefinitions definitions) {
+    ExtractionPlan plan = lastPlan;
+    if (plan != null && plan.definitions == definitions) {
+      return plan;
+    }
+    plan = plans.get(definitions);
+    if (plan == null) {
+      plan = createExtractionPlan(definitions);
+      if (plan == null) {
+        return null;
+      }
+      if (plans.size() < MAX_CACHED_PLANS) {
+        plans.putIfAbsent(definitions, plan);
+      }
+    }
+    lastPlan = plan;
+    return plan;
+  }
+
+  private ExtractionPlan createExtractionPlan(ColumnDefinitions definitions) {
+    try {
+      List<ColumnExtraction> extractions = new ArrayList<>();
+      for (int i = 0; i < definitions.size(); i++) {
+        ColumnDefinition def = definitions.get(i);
+        CQLWord variable = CQLWord.fromInternal(def.getName().asInternal());
+        DataType cqlType = def.getType();
+        for (Field field : mapping.variableToFields(variable)) {
+          GenericType<?> fieldType = recordMetadata.getFieldType(field, cqlType);
+          TypeCodec<?> codec = mapping.codec(variable, cqlType, fieldType);
+          extractions.add(
+              new ColumnExtraction(i, variable.asIdentifier(), cqlType, field, fieldType, codec));
+        }
+      }
+      return new ExtractionPlan(definitions, extractions.toArray(new ColumnExtraction[0]));
+    } catch (Exception e) {
+      // let the row be mapped column by column, which will report the error
+      return null;
+    }
+  }
+
+  /**
+   * An immutable list of column extractions, valid for all rows having the same column definitions.
+   * Columns are decoded by position, with codecs resolved beforehand.
+   */
+  private static final class ExtractionPlan {
+
+    private final ColumnDefinitions definitions;
+    private final ColumnExtraction[] extractions;
+
+    private ExtractionPlan(ColumnDefinitions definitions, ColumnExtraction[] extractions) {
+      this.definitions = definitions;
+      this.extractions = extractions;
+    }
+
+    private void extract(Row row, DefaultRecord record) {
+      for (ColumnExtraction extraction : extractions) {
+        Object value;
+        try {
+          value = row.get(extraction.index, extraction.codec);
+        } catch (Exception e) {
+          String msg =
+              String.format(
+                  "Could not deserialize column %s of type %s as %s",
+                  extraction.name.asCql(true), extraction.cqlType, extraction.fieldType);
+          throw new IllegalArgumentException(msg, e);
+        }
+        record.setFieldValue(extraction.field, value);
+      }
+    }
+  }
+
+  private static final class ColumnExtraction {
+
+    private final int index;
+    private final CqlIdentifier name;
+    private final DataType cqlType;
+    private final Field field;
+    private final GenericType<?> fieldType;
+    private final TypeCodec<?> codec;
+
+    private ColumnExtraction(
+        int index,
+        CqlIdentifier name,
+        DataType cqlType,
+        Field field,
+        GenericType<?> fieldType,
+        TypeCodec<?> codec) {
+      this.index = index;
+      this.name = name;
+      this.cqlType = cqlType;
+      this.field = field;
+      this.fieldType = fieldType;
+      this.codec = codec;
     }
   }
 
@@ -93,7 +225,8 @@ public class DefaultReadResultMapper implements ReadResultMapper {
    * Returns the resource {@link URI} of a row in a read result.
    *
    * <p>It is unfortunately almost impossible to uniquely identify a row; this method returns the
-   * same resource for two rows obtained from the same coordinator.
+   * same resource for two rows obtained from the same coordinator. Resources are thus cached by
+   * coordinator, keyspace and table, and the common path does not allocate.
    *
    * <p>URIs returned by this method are of the following form:
    *
@@ -105,30 +238,53 @@ public class DefaultReadResultMapper implements ReadResultMapper {
    * @param executionInfo The execution info of the result
    * @return The read result row resource URI.
    */
-  private static URI getRowResource(Row row, ExecutionInfo executionInfo) {
+  private URI getRowResource(Row row, ExecutionInfo executionInfo) {
     try {
       Node coordinator = executionInfo.getCoordinator();
       // always present for executed queries
       assert coordinator != null;
-      InetSocketAddress host = (InetSocketAddress) coordinator.getEndPoint().resolve();
       ColumnDefinitions resultVariables = row.getColumnDefinitions();
       // this might break if the statement has no result variables (unlikely)
       // or if the first variable is not associated to a keyspace and table (also unlikely)
-      String keyspace = resultVariables.get(0).getKeyspace().asInternal();
-      String table = resultVariables.get(0).getTable().asInternal();
-      String sb =
-          "cql://"
-              + host.getAddress().getHostAddress()
-              + ':'
-              + host.getPort()
-              + '/'
-              + keyspace
-              + '/'
-              + table;
-      return URI.create(sb);
+      ColumnDefinition first = resultVariables.get(0);
+      CqlIdentifier keyspace = first.getKeyspace();
+      CqlIdentifier table = first.getTable();
+      ConcurrentMap<CqlIdentifier, ConcurrentMap<CqlIdentifier, URI>> byKeyspace =
+          resources.get(coordinator);
+      if (byKeyspace == null) {
+        byKeyspace = resources.computeIfAbsent(coordinator, n -> new ConcurrentHashMap<>());
+      }
+      ConcurrentMap<CqlIdentifier, URI> byTable = byKeyspace.get(keyspace);
+      if (byTable == null) {
+        byTable = byKeyspace.computeIfAbsent(keyspace, k -> new ConcurrentHashMap<>());
+      }
+      URI resource = byTable.get(table);
+      if (resource == null) {
+        resource = createRowResource(coordinator, keyspace, table);
+        URI existing = byTable.putIfAbsent(table, resource);
+        if (existing != null) {
+          resource = existing;
+        }
+      }
+      return resource;
     } catch (Exception e) {
       LOGGER.error("Cannot create URI for row", e);
       return UNKNOWN_ROW_RESOURCE;
     }
   }
+
+  private static URI createRowResource(
+      Node coordinator, CqlIdentifier keyspace, CqlIdentifier table) {
+    InetSocketAddress host = (InetSocketAddress) coordinator.getEndPoint().resolve();
+    String sb =
+        "cql://"
+            + host.getAddress().getHostAddress()
+            + ':'
+            + host.getPort()
+            + '/'
+            + keyspace.asInternal()
+            + '/'
+            + table.asInternal();
+    return URI.create(sb);
+  }
 }
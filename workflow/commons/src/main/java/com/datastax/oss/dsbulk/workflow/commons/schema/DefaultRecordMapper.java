@@ -33,6 +33,9 @@ import com.datastax.oss.driver.api.core.type.reflect.GenericType;
 import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import com.datastax.oss.driver.shaded.guava.common.primitives.Ints;
+import com.datastax.oss.dsbulk.connectors.api.ArrayBackedRecord;
+import com.datastax.oss.dsbulk.connectors.api.ArrayBackedRecord.Schema;
 import com.datastax.oss.dsbulk.connectors.api.Field;
 import com.datastax.oss.dsbulk.connectors.api.Record;
 import com.datastax.oss.dsbulk.connectors.api.RecordMetadata;
@@ -49,11 +52,21 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 public class DefaultRecordMapper implements RecordMapper {
 
+  /**
+   * The maximum number of binding plans to cache, per cache; beyond this limit, plans are computed
+   * for each record. Connectors usually create a new schema per file, so both caches must be
+   * bounded.
+   */
+  private static final int MAX_CACHED_PLANS = 1024;
+
   private final PreparedStatement insertStatement;
   private final ImmutableSet<CQLWord> partitionKeyVariables;
   private final ImmutableSet<CQLWord> clusteringColumnVariables;
@@ -65,6 +78,11 @@ public class DefaultRecordMapper implements RecordMapper {
   private final boolean allowMissingFields;
   private final Function<PreparedStatement, BoundStatementBuilder> boundStatementBuilderFactory;
   private final ImmutableMap<CQLWord, List<Integer>> variablesToIndices;
+  // an empty plan means that no plan could be computed for that shape; see getBindingPlan
+  private final ConcurrentMap<Schema, Optional<BindingPlan>> plansBySchema =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<Set<Field>, Optional<BindingPlan>> plansByFields =
+      new ConcurrentHashMap<>();
 
   public DefaultRecordMapper(
       PreparedStatement insertStatement,
@@ -118,25 +136,12 @@ public class DefaultRecordMapper implements RecordMapper {
   @Override
   public BatchableStatement<?> map(@NonNull Record record) {
     try {
-      if (!allowMissingFields) {
-        ensureAllFieldsPresent(record.fields());
-      }
       BoundStatementBuilder builder = boundStatementBuilderFactory.apply(insertStatement);
-      ColumnDefinitions variableDefinitions = insertStatement.getVariableDefinitions();
-      for (Field field : record.fields()) {
-        Set<CQLWord> variables = mapping.fieldToVariables(field);
-        if (!variables.isEmpty()) {
-          for (CQLWord variable : variables) {
-            CqlIdentifier name = variable.asIdentifier();
-            DataType cqlType = variableDefinitions.get(name).getType();
-            GenericType<?> fieldType = recordMetadata.getFieldType(field, cqlType);
-            Object raw = record.getFieldValue(field);
-            builder = bindColumn(builder, variable, raw, cqlType, fieldType);
-          }
-        } else if (!allowExtraFields) {
-          // the field wasn't mapped to any known variable
-          throw InvalidMappingException.extraneousField(field);
-        }
+      BindingPlan plan = getBindingPlan(record);
+      if (plan == null) {
+        builder = bindFields(record, builder);
+      } else {
+        builder = plan.bind(record, builder);
       }
       ensurePrimaryKeySet(builder);
       if (protocolVersion.getCode() < DefaultProtocolVersion.V4.getCode()) {
@@ -144,12 +149,55 @@ public class DefaultRecordMapper implements RecordMapper {
       }
       record.clear();
       BoundStatement bs = builder.build();
-      return new BulkBoundStatement<>(record, bs);
+      return new BulkBoundStatement<>(record, bs, getDataSize(bs));
     } catch (Exception e) {
       return new UnmappableStatement(record, e);
     }
   }
 
+  /**
+   * Computes the statement's data size once, so that it does not need to be computed again by the
+   * batcher, the metrics listener or the sampler; see {@link
+   * com.datastax.oss.dsbulk.sampler.DataSizes DataSizes}.
+   */
+  private static long getDataSize(BoundStatement bs) {
+    long dataSize = 0;
+    for (int i = 0; i < bs.size(); i++) {
+      ByteBuffer bb = bs.getBytesUnsafe(i);
+      if (bb != null) {
+        dataSize += bb.remaining();
+      }
+    }
+    return dataSize;
+  }
+
+  /**
+   * Binds the record's fields by resolving, for each field, its variables, types and codecs. Only
+   * used when no binding plan could be computed for the record; see {@link BindingPlan}.
+   */
+  private BoundStatementBuilder bindFields(Record record, BoundStatementBuilder builder) {
+    if (!allowMissingFields) {
+      ensureAllFieldsPresent(record.fields());
+    }
+    ColumnDefinitions variableDefinitions = insertStatement.getVariableDefinitions();
+    for (Field field : record.fields()) {
+      Set<CQLWord> variables = mapping.fieldToVariables(field);
+      if (!variables.isEmpty()) {
+        for (CQLWord variable : variables) {
+          CqlIdentifier name = variable.asIdentifier();
+          DataType cqlType = variableDefinitions.get(name).getType();
+          GenericType<?> fieldType = recordMetadata.getFieldType(field, cqlType);
+          Object raw = record.getFieldValue(field);
+          builder = bindColumn(builder, variable, raw, cqlType, fieldType);
+        }
+      } else if (!allowExtraFields) {
+        // the field wasn't mapped to any known variable
+        throw InvalidMappingException.extraneousField(field);
+      }
+    }
+    return builder;
+  }
+
   private <T> BoundStatementBuilder bindColumn(
       BoundStatementBuilder builder,
       CQLWord variable,
@@ -158,28 +206,194 @@ public class DefaultRecordMapper implements RecordMapper {
       GenericType<? extends T> javaType) {
     TypeCodec<T> codec = mapping.codec(variable, cqlType, javaType);
     ByteBuffer bb = codec.encode(raw, builder.protocolVersion());
+    return bindValue(
+        builder,
+        variable,
+        bb,
+        cqlType,
+        partitionKeyVariables.contains(variable),
+        clusteringColumnVariables.contains(variable),
+        Ints.toArray(variablesToIndices.get(variable)));
+  }
+
+  private BoundStatementBuilder bindValue(
+      BoundStatementBuilder builder,
+      CQLWord variable,
+      ByteBuffer bb,
+      DataType cqlType,
+      boolean partitionKey,
+      boolean clusteringColumn,
+      int[] indices) {
     boolean isNull = isNull(bb, cqlType);
     if (isNull || isEmpty(bb)) {
-      if (partitionKeyVariables.contains(variable)) {
+      if (partitionKey) {
         throw isNull
             ? InvalidMappingException.nullPrimaryKey(variable)
             : InvalidMappingException.emptyPrimaryKey(variable);
       }
     }
     if (isNull) {
-      if (clusteringColumnVariables.contains(variable)) {
+      if (clusteringColumn) {
         throw InvalidMappingException.nullPrimaryKey(variable);
       }
       if (nullToUnset) {
         return builder;
       }
     }
-    for (int index : variablesToIndices.get(variable)) {
+    for (int index : indices) {
       builder = builder.setBytesUnsafe(index, bb);
     }
     return builder;
   }
 
+  /**
+   * Returns the binding plan for the given record's shape, computing it if necessary; returns null
+   * if no plan could be computed, in which case the record must be bound field by field, so that
+   * errors are reported exactly as if no plan existed. Failures are cached as well, so that the
+   * plan is not computed again for each record of the same shape.
+   */
+  @Nullable
+  private BindingPlan getBindingPlan(Record record) {
+    if (record instanceof ArrayBackedRecord) {
+      Schema schema = ((ArrayBackedRecord) record).getSchema();
+      Optional<BindingPlan> plan = plansBySchema.get(schema);
+      if (plan == null) {
+        plan = Optional.ofNullable(createBindingPlan(record.fields(), schema));
+        if (plansBySchema.size() < MAX_CACHED_PLANS) {
+          plansBySchema.putIfAbsent(schema, plan);
+        }
+      }
+      return plan.orElse(null);
+    }
+    Set<Field> fields = record.fields();
+    Optional<BindingPlan> plan = plansByFields.get(fields);
+    if (plan == null) {
+      plan = Optional.ofNullable(createBindingPlan(fields, null));
+      if (plansByFields.size() < MAX_CACHED_PLANS) {
+        plansByFields.putIfAbsent(ImmutableSet.copyOf(fields), plan);
+      }
+    }
+    return plan.orElse(null);
+  }
+
+  @Nullable
+  private BindingPlan createBindingPlan(Set<Field> fields, @Nullable Schema schema) {
+    try {
+      if (!allowMissingFields) {
+        ensureAllFieldsPresent(fields);
+      }
+      ColumnDefinitions variableDefinitions = insertStatement.getVariableDefinitions();
+      List<FieldBinding> bindings = new ArrayList<>();
+      for (Field field : fields) {
+        int valueIndex = schema == null ? -1 : schema.indexOf(field);
+        Set<CQLWord> variables = mapping.fieldToVariables(field);
+        if (!variables.isEmpty()) {
+          for (CQLWord variable : variables) {
+            CqlIdentifier name = variable.asIdentifier();
+            DataType cqlType = variableDefinitions.get(name).getType();
+            GenericType<?> fieldType = recordMetadata.getFieldType(field, cqlType);
+            TypeCodec<?> codec = mapping.codec(variable, cqlType, fieldType);
+            List<Integer> indices = variablesToIndices.get(variable);
+            if (indices == null) {
+              return null;
+            }
+            bindings.add(
+                new FieldBinding(
+                    field,
+                    valueIndex,
+                    variable,
+                    cqlType,
+                    codec,
+                    partitionKeyVariables.contains(variable),
+                    clusteringColumnVariables.contains(variable),
+                    Ints.toArray(indices)));
+          }
+        } else if (!allowExtraFields) {
+          bindings.add(new FieldBinding(field));
+        }
+      }
+      return new BindingPlan(bindings.toArray(new FieldBinding[0]));
+    } catch (RuntimeException e) {
+      // let the record be bound field by field, which will report the error
+      return null;
+    }
+  }
+
+  /**
+   * An immutable list of field bindings, valid for all records having the same set of fields.
+   * Executing a plan yields the same result as binding the record field by field, but without
+   * resolving variables, types and codecs for each record.
+   */
+  private final class BindingPlan {
+
+    private final FieldBinding[] bindings;
+
+    private BindingPlan(FieldBinding[] bindings) {
+      this.bindings = bindings;
+    }
+
+    private BoundStatementBuilder bind(Record record, BoundStatementBuilder builder) {
+      for (FieldBinding binding : bindings) {
+        if (binding.variable == null) {
+          // the field wasn't mapped to any known variable
+          throw InvalidMappingException.extraneousField(binding.field);
+        }
+        Object raw =
+            binding.valueIndex == -1
+                ? record.getFieldValue(binding.field)
+                : ((ArrayBackedRecord) record).getFieldValue(binding.valueIndex);
+        ByteBuffer bb = binding.codec.encode(raw, builder.protocolVersion());
+        builder =
+            bindValue(
+                builder,
+                binding.variable,
+                bb,
+                binding.cqlType,
+                binding.partitionKey,
+                binding.clusteringColumn,
+                binding.indices);
+      }
+      return builder;
+    }
+  }
+
+  private static final class FieldBinding {
+
+    private final Field field;
+    private final int valueIndex;
+    private final CQLWord variable;
+    private final DataType cqlType;
+    private final TypeCodec<Object> codec;
+    private final boolean partitionKey;
+    private final boolean clusteringColumn;
+    private final int[] indices;
+
+    /** Creates a binding for an extraneous field. */
+    private FieldBinding(Field field) {
+      this(field, -1, null, null, null, false, false, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private FieldBinding(
+        Field field,
+        int valueIndex,
+        CQLWord variable,
+        DataType cqlType,
+        TypeCodec<?> codec,
+        boolean partitionKey,
+        boolean clusteringColumn,
+        int[] indices) {
+      this.field = field;
+      this.valueIndex = valueIndex;
+      this.variable = variable;
+      this.cqlType = cqlType;
+      this.codec = (TypeCodec<Object>) codec;
+      this.partitionKey = partitionKey;
+      this.clusteringColumn = clusteringColumn;
+      this.indices = indices;
+    }
+  }
+
   private boolean isNull(ByteBuffer bb, DataType cqlType) {
     if (bb == null) {
       return true;
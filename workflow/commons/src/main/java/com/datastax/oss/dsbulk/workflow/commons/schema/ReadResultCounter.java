@@ -22,6 +22,14 @@ public interface ReadResultCounter extends AutoCloseable {
 
   CountingUnit newCountingUnit();
 
+  /**
+   * Adds rows counted by a previous operation that is being resumed. Only global totals can be
+   * resumed.
+   *
+   * @param rows the number of rows counted by the previous operation.
+   */
+  void addResumedRows(long rows);
+
   void reportTotals() throws IOException;
 
   interface CountingUnit extends AutoCloseable {
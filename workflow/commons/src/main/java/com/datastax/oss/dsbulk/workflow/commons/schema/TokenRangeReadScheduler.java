@@ -0,0 +1,297 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.workflow.commons.schema;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import com.datastax.oss.dsbulk.executor.api.result.ReadResult;
+import com.datastax.oss.dsbulk.partitioner.BulkTokenFactory;
+import com.datastax.oss.dsbulk.partitioner.BulkTokenRange;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+/**
+ * Schedules token range reads with work stealing.
+ *
+ * <p>Token range statements are first read in order. Once no statement is left to read, each idle
+ * reader steals the second half of the remaining portion of the largest range still being read: the
+ * range being read is cut at the middle of the tokens it has not read yet, its reader stops when it
+ * reaches that point, and the idle reader reads the rest with a new statement. This way, ranges
+ * that take much longer than others to read, e.g. because they contain wide partitions or are
+ * served by slow replicas, do not leave the end of the operation single-threaded.
+ *
+ * <p>Range scans return rows in token order; the token of each row is computed from its partition
+ * key, which must thus be selected.
+ *
+ * <p>Since split ranges are not known in advance, completed ranges are checkpointed only once all
+ * their parts were read. A part is considered read when the publisher returned by the reader for it
+ * completes, so that readers can delay checkpoints until the part's results are fully processed,
+ * e.g. until the records read were written.
+ */
+public class TokenRangeReadScheduler {
+
+  private final Function<TokenRange, Statement<?>> statementFactory;
+  private final Function<Row, Token> tokenExtractor;
+  private final BulkTokenFactory tokenFactory;
+  private final ObjLongConsumer<TokenRange> checkpointer;
+
+  private final Deque<RangePart> pending = new ArrayDeque<>();
+  private final Set<RangePart> running = new LinkedHashSet<>();
+
+  /**
+   * @param statements the statements to read, in order.
+   * @param tokenRangeExtractor the function returning the token range of each statement.
+   * @param statementFactory the function creating a statement to read a given token range.
+   * @param tokenExtractor the function computing the token of each row.
+   * @param tokenFactory the token factory for the cluster's partitioner.
+   * @param checkpointer the callback to invoke with the total number of rows read, when a range was
+   *     read entirely without errors.
+   * @throws IllegalArgumentException if a statement is not restricted to a token range.
+   */
+  public TokenRangeReadScheduler(
+      @NonNull List<Statement<?>> statements,
+      @NonNull Function<Statement<?>, TokenRange> tokenRangeExtractor,
+      @NonNull Function<TokenRange, Statement<?>> statementFactory,
+      @NonNull Function<Row, Token> tokenExtractor,
+      @NonNull BulkTokenFactory tokenFactory,
+      @NonNull ObjLongConsumer<TokenRange> checkpointer) {
+    this.statementFactory = statementFactory;
+    this.tokenExtractor = tokenExtractor;
+    this.tokenFactory = tokenFactory;
+    this.checkpointer = checkpointer;
+    for (Statement<?> statement : statements) {
+      TokenRange range = tokenRangeExtractor.apply(statement);
+      if (range == null) {
+        throw new IllegalArgumentException("Statement is not restricted to a token range");
+      }
+      pending.add(new RangePart(statement, range.getStart(), range.getEnd(), new Progress(range)));
+    }
+  }
+
+  /**
+   * Reads all the ranges with the given concurrency.
+   *
+   * @param reader the function reading a statement; it is given a tracker that must be applied to
+   *     the statement results, and that completes them early if the range was split. The range part
+   *     being read is considered complete when the returned publisher completes.
+   * @param concurrency the maximum number of ranges to read concurrently.
+   * @param prefetch the number of elements to prefetch from each reader.
+   * @return the merged results of all readers.
+   */
+  @NonNull
+  public <T> Flux<T> flatMap(
+      @NonNull
+          BiFunction<
+                  Statement<?>,
+                  Function<Flux<ReadResult>, Flux<ReadResult>>,
+                  ? extends Publisher<T>>
+              reader,
+      int concurrency,
+      int prefetch) {
+    return Flux.range(0, concurrency)
+        .flatMap(
+            i ->
+                Flux.defer(
+                    () -> {
+                      AtomicBoolean exhausted = new AtomicBoolean(false);
+                      return Flux.<T>defer(
+                              () -> {
+                                RangePart part = next();
+                                if (part == null) {
+                                  exhausted.set(true);
+                                  return Flux.empty();
+                                }
+                                return Flux.from(reader.apply(part.statement, part::track))
+                                    .doOnComplete(part::complete);
+                              })
+                          .repeat(() -> !exhausted.get());
+                    }),
+            concurrency,
+            prefetch);
+  }
+
+  /**
+   * @return the next range part to read: either a pending range, or the remainder of the largest
+   *     range being read; or null if there is nothing left to read or steal.
+   */
+  @Nullable
+  @VisibleForTesting
+  synchronized RangePart next() {
+    RangePart part = pending.poll();
+    if (part == null) {
+      part = steal();
+    }
+    if (part != null) {
+      running.add(part);
+    }
+    return part;
+  }
+
+  @Nullable
+  private RangePart steal() {
+    RangePart victim = null;
+    double largest = 0;
+    for (RangePart candidate : running) {
+      double remaining = candidate.remaining();
+      if (remaining > largest) {
+        victim = candidate;
+        largest = remaining;
+      }
+    }
+    return victim == null ? null : victim.split();
+  }
+
+  private synchronized void finished(RangePart part) {
+    running.remove(part);
+  }
+
+  @VisibleForTesting
+  final class RangePart {
+
+    private final Statement<?> statement;
+    private final Token start;
+    private final Token originalEnd;
+    private final Progress progress;
+
+    // all guarded by this
+    private Token end;
+    private Token lastSeen;
+    private boolean done;
+
+    private RangePart(Statement<?> statement, Token start, Token end, Progress progress) {
+      this.statement = statement;
+      this.start = start;
+      this.originalEnd = end;
+      this.end = end;
+      this.progress = progress;
+    }
+
+    @NonNull
+    Statement<?> getStatement() {
+      return statement;
+    }
+
+    private Flux<ReadResult> track(Flux<ReadResult> results) {
+      return results.takeWhile(this::accept).doFinally(signal -> finished(this));
+    }
+
+    /** @return false if the result belongs to a part that was stolen; true otherwise. */
+    @VisibleForTesting
+    synchronized boolean accept(ReadResult result) {
+      if (result.isSuccess()) {
+        Token token = tokenExtractor.apply(result.getRow().orElseThrow(IllegalStateException::new));
+        // the original end may be the minimum token, meaning the end of the ring, and cannot be
+        // compared; split points always can.
+        if (!end.equals(originalEnd) && token.compareTo(end) > 0) {
+          return false;
+        }
+        lastSeen = token;
+        progress.rows.increment();
+      } else {
+        progress.failed.set(true);
+      }
+      return true;
+    }
+
+    @VisibleForTesting
+    void complete() {
+      synchronized (this) {
+        done = true;
+      }
+      progress.partCompleted();
+    }
+
+    /** @return the ring fraction that remains to be read, or zero if it cannot be split. */
+    private synchronized double remaining() {
+      BulkTokenRange remainder = remainder();
+      return remainder == null ? 0 : remainder.fraction();
+    }
+
+    @Nullable
+    private BulkTokenRange remainder() {
+      Token from = lastSeen == null ? start : lastSeen;
+      if (done || from.equals(end)) {
+        return null;
+      }
+      BulkTokenRange remainder = tokenFactory.range(from, end, Collections.emptySet());
+      return remainder.isWrappedAround() ? null : remainder;
+    }
+
+    /**
+     * Cuts this part at the middle of its remainder.
+     *
+     * @return a new part to read the second half of the remainder, or null if it cannot be split.
+     */
+    @Nullable
+    private synchronized RangePart split() {
+      BulkTokenRange remainder = remainder();
+      if (remainder == null) {
+        return null;
+      }
+      List<BulkTokenRange> halves = tokenFactory.splitter().split(remainder, 2);
+      if (halves.size() < 2) {
+        return null;
+      }
+      Token middle = halves.get(0).getEnd();
+      Token stolenEnd = end;
+      end = middle;
+      progress.parts.incrementAndGet();
+      TokenRange stolen = tokenFactory.range(middle, stolenEnd, Collections.emptySet());
+      return new RangePart(statementFactory.apply(stolen), middle, stolenEnd, progress);
+    }
+
+    @Override
+    public String toString() {
+      return "RangePart(" + start + ", " + originalEnd + "]";
+    }
+  }
+
+  /** The progress of an original range, shared by all its parts. */
+  private final class Progress {
+
+    private final TokenRange range;
+    private final AtomicInteger parts = new AtomicInteger(1);
+    private final LongAdder rows = new LongAdder();
+    private final AtomicBoolean failed = new AtomicBoolean(false);
+
+    private Progress(TokenRange range) {
+      this.range = range;
+    }
+
+    private void partCompleted() {
+      if (parts.decrementAndGet() == 0 && !failed.get()) {
+        checkpointer.accept(range, rows.sum());
+      }
+    }
+  }
+}
@@ -16,22 +16,31 @@
 package com.datastax.oss.dsbulk.workflow.commons.settings;
 
 import com.datastax.oss.dsbulk.config.ConfigUtils;
+import com.datastax.oss.dsbulk.workflow.commons.utils.SchedulerUtils;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigException;
 import java.util.Optional;
 import java.util.OptionalInt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class EngineSettings {
 
   private static final String DRY_RUN = "dryRun";
   private static final String EXECUTION_ID = "executionId";
   private static final String MAX_CONCURRENT_QUERIES = "maxConcurrentQueries";
+  private static final String VIRTUAL_THREADS = "virtualThreads";
+  private static final String WORK_STEALING = "workStealing";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EngineSettings.class);
 
   private final Config config;
 
   private boolean dryRun;
   private String executionId;
   private int maxConcurrentQueries;
+  private boolean virtualThreads;
+  private boolean workStealing;
 
   EngineSettings(Config config) {
     this.config = config;
@@ -45,9 +54,17 @@ public class EngineSettings {
           config.getString(MAX_CONCURRENT_QUERIES).equalsIgnoreCase("AUTO")
               ? -1
               : ConfigUtils.getThreads(config, MAX_CONCURRENT_QUERIES);
+      virtualThreads = config.getBoolean(VIRTUAL_THREADS);
+      workStealing = config.getBoolean(WORK_STEALING);
     } catch (ConfigException e) {
       throw ConfigUtils.convertConfigException(e, "dsbulk.engine");
     }
+    if (virtualThreads && !SchedulerUtils.areVirtualThreadsAvailable()) {
+      LOGGER.warn(
+          "Virtual threads are not available in this JVM (Java 21 or higher required); "
+              + "using platform threads instead.");
+      virtualThreads = false;
+    }
   }
 
   public boolean isDryRun() {
@@ -58,6 +75,16 @@ public class EngineSettings {
     return Optional.ofNullable(executionId);
   }
 
+  /** @return true if workflow schedulers should be backed by virtual threads, false otherwise. */
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /** @return true if straggling token ranges should be split at runtime, false otherwise. */
+  public boolean isWorkStealing() {
+    return workStealing;
+  }
+
   public OptionalInt getMaxConcurrentQueries() {
     return maxConcurrentQueries == -1 ? OptionalInt.empty() : OptionalInt.of(maxConcurrentQueries);
   }
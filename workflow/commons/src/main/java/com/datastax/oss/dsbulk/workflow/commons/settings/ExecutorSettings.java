@@ -45,7 +45,12 @@ public class ExecutorSettings {
 
   private int maxPerSecond;
   private int maxInFlight;
+  private int maxInFlightPerReplicaSet;
   private boolean continuousPagingEnabled;
+  private boolean adaptiveConcurrencyEnabled;
+  private int minInFlight;
+  private double latencyTolerance;
+  private double backoffRatio;
 
   ExecutorSettings(Config config) {
     this.config = config;
@@ -55,9 +60,42 @@ public class ExecutorSettings {
     try {
       maxPerSecond = config.getInt("maxPerSecond");
       maxInFlight = config.getInt("maxInFlight");
+      maxInFlightPerReplicaSet = config.getInt("maxInFlightPerReplicaSet");
     } catch (ConfigException e) {
       throw ConfigUtils.convertConfigException(e, "dsbulk.executor");
     }
+    try {
+      Config adaptiveConfig = config.getConfig("adaptive");
+      adaptiveConcurrencyEnabled = adaptiveConfig.getBoolean("enabled");
+      if (adaptiveConcurrencyEnabled) {
+        minInFlight = adaptiveConfig.getInt("minInFlight");
+        latencyTolerance = adaptiveConfig.getDouble("latencyTolerance");
+        backoffRatio = adaptiveConfig.getDouble("backoffRatio");
+        if (minInFlight < 1) {
+          throw new IllegalArgumentException(
+              "Invalid value for dsbulk.executor.adaptive.minInFlight, expecting a strictly positive integer, got: "
+                  + minInFlight);
+        }
+        if (maxInFlight > 0 && maxInFlight < minInFlight) {
+          throw new IllegalArgumentException(
+              String.format(
+                  "Invalid value for dsbulk.executor.adaptive.minInFlight, expecting a value lesser than or equal to dsbulk.executor.maxInFlight (%d), got: %d",
+                  maxInFlight, minInFlight));
+        }
+        if (latencyTolerance <= 1) {
+          throw new IllegalArgumentException(
+              "Invalid value for dsbulk.executor.adaptive.latencyTolerance, expecting a number greater than 1, got: "
+                  + latencyTolerance);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+          throw new IllegalArgumentException(
+              "Invalid value for dsbulk.executor.adaptive.backoffRatio, expecting a number strictly between 0 and 1, got: "
+                  + backoffRatio);
+        }
+      }
+    } catch (ConfigException e) {
+      throw ConfigUtils.convertConfigException(e, "dsbulk.executor.adaptive");
+    }
     Config continuousPagingConfig = config.getConfig("continuousPaging");
     try {
       continuousPagingEnabled = continuousPagingConfig.getBoolean("enabled");
@@ -104,8 +142,12 @@ public class ExecutorSettings {
     builder
         .withExecutionListener(executionListener)
         .withMaxInFlightRequests(maxInFlight)
+        .withMaxInFlightRequestsPerReplicaSet(maxInFlightPerReplicaSet)
         .withMaxRequestsPerSecond(maxPerSecond)
         .failSafe();
+    if (adaptiveConcurrencyEnabled) {
+      builder.withAdaptiveConcurrency(minInFlight, latencyTolerance, backoffRatio);
+    }
     return builder.build();
   }
 
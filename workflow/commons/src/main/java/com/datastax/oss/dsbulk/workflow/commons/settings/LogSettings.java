@@ -24,6 +24,7 @@ import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.FileAppender;
 import ch.qos.logback.core.filter.Filter;
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
 import com.datastax.oss.driver.api.core.session.Session;
 import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import com.datastax.oss.driver.shaded.guava.common.base.Joiner;
@@ -37,18 +38,23 @@ import com.datastax.oss.dsbulk.workflow.api.log.OperationDirectory;
 import com.datastax.oss.dsbulk.workflow.api.log.OperationDirectoryResolver;
 import com.datastax.oss.dsbulk.workflow.api.utils.WorkflowUtils;
 import com.datastax.oss.dsbulk.workflow.commons.format.statement.BulkBoundStatementPrinter;
+import com.datastax.oss.dsbulk.workflow.commons.log.Checkpoint;
 import com.datastax.oss.dsbulk.workflow.commons.log.LogManager;
+import com.datastax.oss.dsbulk.workflow.commons.log.TokenRangeCheckpoint;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigException;
 import com.typesafe.config.ConfigRenderOptions;
 import com.typesafe.config.ConfigValue;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import org.slf4j.Logger;
@@ -112,6 +118,7 @@ public class LogSettings {
   // Path Constants
   private static final String STMT = "stmt";
   private static final String ROW = "row";
+  private static final String CHECKPOINT = "checkpoint";
   private static final String MAX_QUERY_STRING_LENGTH = STMT + '.' + "maxQueryStringLength";
   private static final String MAX_BOUND_VALUE_LENGTH = STMT + '.' + "maxBoundValueLength";
   private static final String MAX_BOUND_VALUES = STMT + '.' + "maxBoundValues";
@@ -122,6 +129,8 @@ public class LogSettings {
   private static final String MAX_ERRORS = "maxErrors";
   private static final String MAX_QUERY_WARNINGS = "maxQueryWarnings";
   private static final String VERBOSITY = "verbosity";
+  private static final String CHECKPOINT_INTERVAL = CHECKPOINT + '.' + "interval";
+  private static final String CHECKPOINT_RESUME_FROM = CHECKPOINT + '.' + "resumeFrom";
 
   private final Config config;
   private final String executionId;
@@ -137,6 +146,10 @@ public class LogSettings {
   @VisibleForTesting ErrorThreshold errorThreshold;
   @VisibleForTesting ErrorThreshold queryWarningsThreshold;
   private Verbosity verbosity;
+  private Duration checkpointInterval;
+  private Path resumedOperationDirectory;
+  private Checkpoint resumedCheckpoint;
+  private TokenRangeCheckpoint resumedTokenRangeCheckpoint;
 
   public LogSettings(Config config, String executionId) {
     this.config = config;
@@ -191,6 +204,18 @@ public class LogSettings {
         setNormal();
       }
       this.verbosity = Verbosity.values()[verbosity];
+      checkpointInterval = config.getDuration(CHECKPOINT_INTERVAL);
+      String resumeFrom = config.getString(CHECKPOINT_RESUME_FROM);
+      if (!resumeFrom.isEmpty()) {
+        resumedOperationDirectory =
+            ConfigUtils.getPath(config, "directory").resolve(resumeFrom).normalize();
+        if (!Files.isDirectory(resumedOperationDirectory)) {
+          throw new IllegalArgumentException(
+              String.format(
+                  "Invalid value for log.%s: operation directory %s does not exist",
+                  CHECKPOINT_RESUME_FROM, resumedOperationDirectory));
+        }
+      }
     } catch (ConfigException e) {
       throw ConfigUtils.convertConfigException(e, "dsbulk.log");
     }
@@ -226,7 +251,7 @@ public class LogSettings {
     }
   }
 
-  public LogManager newLogManager(CqlSession session, boolean trackPositions) {
+  public LogManager newLogManager(CqlSession session, boolean trackPositions) throws IOException {
     StatementFormatter statementFormatter =
         StatementFormatter.builder()
             .withMaxQueryStringLength(maxQueryStringLength)
@@ -244,13 +269,65 @@ public class LogSettings {
         trackPositions,
         statementFormatter,
         level,
-        rowFormatter);
+        rowFormatter,
+        checkpointInterval,
+        trackPositions ? getResumedCheckpoint().orElse(null) : null);
   }
 
   public Verbosity getVerbosity() {
     return verbosity;
   }
 
+  /**
+   * Returns the checkpoint of the previous load operation to resume, if {@code
+   * log.checkpoint.resumeFrom} was set. If that operation did not write any checkpoint file, its
+   * positions file is used instead.
+   */
+  public Optional<Checkpoint> getResumedCheckpoint() throws IOException {
+    if (resumedOperationDirectory != null && resumedCheckpoint == null) {
+      Path checkpointFile = resumedOperationDirectory.resolve(Checkpoint.CHECKPOINT_FILE);
+      if (Files.isReadable(checkpointFile)) {
+        resumedCheckpoint = Checkpoint.read(checkpointFile);
+      } else {
+        checkpointFile = resumedOperationDirectory.resolve(Checkpoint.POSITIONS_FILE);
+        if (!Files.isReadable(checkpointFile)) {
+          throw new IllegalArgumentException(
+              String.format(
+                  "Invalid value for log.%s: could not find any readable checkpoint or positions file in %s",
+                  CHECKPOINT_RESUME_FROM, resumedOperationDirectory));
+        }
+        resumedCheckpoint = Checkpoint.readPositionsFile(checkpointFile);
+      }
+      LOGGER.info("Resuming operation from {}", checkpointFile);
+    }
+    return Optional.ofNullable(resumedCheckpoint);
+  }
+
+  /**
+   * Returns the token range checkpoint of the previous unload or count operation to resume, if
+   * {@code log.checkpoint.resumeFrom} was set.
+   */
+  public Optional<TokenRangeCheckpoint> getResumedTokenRangeCheckpoint(CqlSession session)
+      throws IOException {
+    if (resumedOperationDirectory != null && resumedTokenRangeCheckpoint == null) {
+      Path checkpointFile = resumedOperationDirectory.resolve(Checkpoint.CHECKPOINT_FILE);
+      if (!Files.isReadable(checkpointFile)) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Invalid value for log.%s: could not find any readable checkpoint file in %s",
+                CHECKPOINT_RESUME_FROM, resumedOperationDirectory));
+      }
+      TokenMap tokenMap =
+          session
+              .getMetadata()
+              .getTokenMap()
+              .orElseThrow(() -> new IllegalStateException("Token metadata not present"));
+      resumedTokenRangeCheckpoint = TokenRangeCheckpoint.read(checkpointFile, tokenMap);
+      LOGGER.info("Resuming operation from {}", checkpointFile);
+    }
+    return Optional.ofNullable(resumedTokenRangeCheckpoint);
+  }
+
   @VisibleForTesting
   public static void createMainLogFileAppender(Path mainLogFile) {
     ch.qos.logback.classic.Logger root =
@@ -36,18 +36,25 @@ import com.datastax.dse.driver.api.core.metadata.schema.DseVertexMetadata;
 import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.DefaultProtocolVersion;
+import com.datastax.oss.driver.api.core.DriverException;
 import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.Statement;
 import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
 import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.IndexMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.RelationMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.ViewMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.internal.core.metadata.token.DefaultTokenMap;
 import com.datastax.oss.driver.shaded.guava.common.base.Preconditions;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMultimap;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
@@ -67,6 +74,8 @@ import com.datastax.oss.dsbulk.mapping.MappedMappingField;
 import com.datastax.oss.dsbulk.mapping.MappingField;
 import com.datastax.oss.dsbulk.mapping.MappingInspector;
 import com.datastax.oss.dsbulk.mapping.MappingPreference;
+import com.datastax.oss.dsbulk.partitioner.BulkTokenFactory;
+import com.datastax.oss.dsbulk.partitioner.SizeEstimates;
 import com.datastax.oss.dsbulk.partitioner.TokenRangeReadStatementGenerator;
 import com.datastax.oss.dsbulk.workflow.commons.schema.DefaultReadResultCounter;
 import com.datastax.oss.dsbulk.workflow.commons.schema.DefaultReadResultMapper;
@@ -75,11 +84,14 @@ import com.datastax.oss.dsbulk.workflow.commons.schema.QueryInspector;
 import com.datastax.oss.dsbulk.workflow.commons.schema.ReadResultCounter;
 import com.datastax.oss.dsbulk.workflow.commons.schema.ReadResultMapper;
 import com.datastax.oss.dsbulk.workflow.commons.schema.RecordMapper;
+import com.datastax.oss.dsbulk.workflow.commons.schema.TokenRangeReadScheduler;
 import com.datastax.oss.dsbulk.workflow.commons.settings.StatsSettings.StatisticsMode;
 import com.datastax.oss.dsbulk.workflow.commons.utils.GraphUtils;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigException;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Collection;
@@ -94,6 +106,8 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -120,6 +134,7 @@ public class SchemaSettings {
   private static final String QUERY_TIMESTAMP = "queryTimestamp";
   private static final String CORE = "Core";
   private static final String SPLITS = "splits";
+  private static final String SIZE_ESTIMATES = "sizeEstimates";
 
   private final Config config;
 
@@ -127,6 +142,7 @@ public class SchemaSettings {
   private boolean allowExtraFields;
   private boolean allowMissingFields;
   private int splits;
+  private boolean sizeEstimates;
   private MappingInspector mapping;
   private int ttlSeconds;
   private long timestampMicros;
@@ -140,6 +156,7 @@ public class SchemaSettings {
   private ImmutableSet<CQLFragment> writeTimeVariables;
   private MappingPreference mappingPreference;
   private ProtocolVersion protocolVersion;
+  private TokenMap tokenMap;
 
   public SchemaSettings(Config config) {
     this.config = config;
@@ -388,6 +405,7 @@ public class SchemaSettings {
       allowExtraFields = config.getBoolean(ALLOW_EXTRA_FIELDS);
       allowMissingFields = config.getBoolean(ALLOW_MISSING_FIELDS);
       splits = ConfigUtils.getThreads(config, SPLITS);
+      sizeEstimates = config.getBoolean(SIZE_ESTIMATES);
 
       // Final checks related to graph operations
 
@@ -440,7 +458,8 @@ public class SchemaSettings {
             session,
             codecFactory,
             SchemaGenerationType.MAP_AND_WRITE,
-            EnumSet.noneOf(StatisticsMode.class));
+            EnumSet.noneOf(StatisticsMode.class),
+            false);
     if (protocolVersion.getCode() < DefaultProtocolVersion.V4.getCode() && nullToUnset) {
       LOGGER.warn(
           String.format(
@@ -471,7 +490,8 @@ public class SchemaSettings {
             session,
             codecFactory,
             SchemaGenerationType.READ_AND_MAP,
-            EnumSet.noneOf(StatisticsMode.class));
+            EnumSet.noneOf(StatisticsMode.class),
+            false);
     return new DefaultReadResultMapper(mapping, recordMetadata);
   }
 
@@ -480,7 +500,17 @@ public class SchemaSettings {
       ConvertingCodecFactory codecFactory,
       EnumSet<StatsSettings.StatisticsMode> modes,
       int numPartitions) {
-    prepareStatementAndCreateMapping(session, null, SchemaGenerationType.READ_AND_COUNT, modes);
+    return createReadResultCounter(session, codecFactory, modes, numPartitions, false);
+  }
+
+  public ReadResultCounter createReadResultCounter(
+      CqlSession session,
+      ConvertingCodecFactory codecFactory,
+      EnumSet<StatsSettings.StatisticsMode> modes,
+      int numPartitions,
+      boolean serverSide) {
+    prepareStatementAndCreateMapping(
+        session, null, SchemaGenerationType.READ_AND_COUNT, modes, serverSide);
     ProtocolVersion protocolVersion = session.getContext().getProtocolVersion();
     Metadata metadata = session.getMetadata();
     if (modes.contains(StatisticsMode.partitions) && table.getClusteringColumns().isEmpty()) {
@@ -490,7 +520,13 @@ public class SchemaSettings {
               tableName.render(VARIABLE)));
     }
     return new DefaultReadResultCounter(
-        keyspace.getName(), metadata, modes, numPartitions, protocolVersion, codecFactory);
+        keyspace.getName(),
+        metadata,
+        modes,
+        numPartitions,
+        protocolVersion,
+        codecFactory,
+        serverSide);
   }
 
   public List<Statement<?>> createReadStatements(CqlSession session) {
@@ -520,27 +556,128 @@ public class SchemaSettings {
               + "of the form: WHERE token(...) > ? AND token(...) <= ?");
     }
     Metadata metadata = session.getMetadata();
+    tokenMap = metadata.getTokenMap().orElse(null);
     TokenRangeReadStatementGenerator generator =
-        new TokenRangeReadStatementGenerator(table, metadata);
-    List<Statement<?>> statements =
-        generator.generate(
-            splits,
-            range ->
-                preparedStatement
-                    .bind()
-                    .setToken(
-                        queryInspector.getTokenRangeRestrictionStartVariableIndex(),
-                        range.getStart())
-                    .setToken(
-                        queryInspector.getTokenRangeRestrictionEndVariableIndex(), range.getEnd()));
+        new TokenRangeReadStatementGenerator(
+            table, metadata, sizeEstimates ? readSizeEstimates(session) : null);
+    List<Statement<?>> statements = generator.generate(splits, this::bindReadStatement);
 
+    // Statements are already interleaved by replica set, to avoid hitting the same replicas
+    // sequentially when the statements will be executed.
     LOGGER.debug("Generated {} bound statements", statements.size());
-    // Shuffle the statements to avoid hitting the same replicas sequentially when
-    // the statements will be executed.
-    Collections.shuffle(statements);
     return statements;
   }
 
+  /**
+   * Creates a read statement restricted to the given token range. Can only be called after {@link
+   * #createReadStatements(CqlSession)}, and only if the statements it returned are restricted to
+   * token ranges.
+   *
+   * @param range the token range to read.
+   * @return a new read statement.
+   */
+  @NonNull
+  public BoundStatement createReadStatement(@NonNull TokenRange range) {
+    // same routing information as statements created by TokenRangeReadStatementGenerator
+    return bindReadStatement(range)
+        .setRoutingKeyspace(table.getKeyspace())
+        .setRoutingToken(range.getEnd());
+  }
+
+  @Nullable
+  private SizeEstimates readSizeEstimates(CqlSession session) {
+    String name = table.getKeyspace().asCql(true) + '.' + table.getName().asCql(true);
+    try {
+      SizeEstimates estimates = SizeEstimates.read(session, table);
+      if (estimates.isEmpty()) {
+        LOGGER.warn(
+            "No size estimates found for {}, token ranges will be split by token count", name);
+        return null;
+      }
+      LOGGER.debug("Read {} size estimates", estimates.getBytesByRange().size());
+      return estimates;
+    } catch (DriverException e) {
+      LOGGER.warn(
+          String.format(
+              "Could not read size estimates for %s, token ranges will be split by token count",
+              name),
+          e);
+      return null;
+    }
+  }
+
+  @NonNull
+  private BoundStatement bindReadStatement(@NonNull TokenRange range) {
+    return preparedStatement
+        .bind()
+        .setToken(queryInspector.getTokenRangeRestrictionStartVariableIndex(), range.getStart())
+        .setToken(queryInspector.getTokenRangeRestrictionEndVariableIndex(), range.getEnd());
+  }
+
+  /**
+   * Returns the token range read by the given statement, if it was created by {@link
+   * #createReadStatements(CqlSession)} and restricts its query to a token range; empty otherwise.
+   */
+  @NonNull
+  public Optional<TokenRange> getTokenRange(@NonNull Statement<?> statement) {
+    if (tokenMap != null && statement instanceof BoundStatement) {
+      BoundStatement bs = (BoundStatement) statement;
+      int start = queryInspector.getTokenRangeRestrictionStartVariableIndex();
+      int end = queryInspector.getTokenRangeRestrictionEndVariableIndex();
+      if (start != -1 && end != -1 && bs.isSet(start) && bs.isSet(end)) {
+        return Optional.of(tokenMap.newTokenRange(bs.getToken(start), bs.getToken(end)));
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Creates a scheduler to read the given statements with work stealing. Can only be called after
+   * {@link #createReadStatements(CqlSession)}.
+   *
+   * @param statements the statements to read, as returned by {@link
+   *     #createReadStatements(CqlSession)}, possibly filtered.
+   * @param checkpointer the callback to invoke when a token range was read entirely without errors.
+   * @return the scheduler, or empty if the statements are not restricted to token ranges, or if the
+   *     query does not select all the partition key columns.
+   */
+  @NonNull
+  public Optional<TokenRangeReadScheduler> createTokenRangeReadScheduler(
+      @NonNull List<Statement<?>> statements, @NonNull ObjLongConsumer<TokenRange> checkpointer) {
+    if (tokenMap == null
+        || statements.stream().map(this::getTokenRange).anyMatch(range -> !range.isPresent())) {
+      return Optional.empty();
+    }
+    ColumnDefinitions columns = preparedStatement.getResultSetDefinitions();
+    int[] indices = new int[table.getPartitionKey().size()];
+    for (int i = 0; i < indices.length; i++) {
+      indices[i] = columns.firstIndexOf(table.getPartitionKey().get(i).getName());
+      if (indices[i] == -1) {
+        return Optional.empty();
+      }
+    }
+    TokenMap tokenMap = this.tokenMap;
+    Function<Row, Token> tokenExtractor =
+        row -> {
+          ByteBuffer[] bbs = new ByteBuffer[indices.length];
+          for (int i = 0; i < indices.length; i++) {
+            bbs[i] = row.getBytesUnsafe(indices[i]);
+          }
+          return tokenMap.newToken(bbs);
+        };
+    BulkTokenFactory tokenFactory =
+        BulkTokenFactory.forPartitioner(
+            ((DefaultTokenMap) tokenMap).getTokenFactory().getPartitionerName());
+    return Optional.of(
+        new TokenRangeReadScheduler(
+            statements,
+            statement -> getTokenRange(statement).orElse(null),
+            this::createReadStatement,
+            tokenExtractor,
+            tokenFactory,
+            checkpointer));
+  }
+
   @NonNull
   public RowType getRowType() {
     boolean isTable = table instanceof DseTableMetadata;
@@ -576,7 +713,8 @@ public class SchemaSettings {
       CqlSession session,
       ConvertingCodecFactory codecFactory,
       SchemaGenerationType schemaGenerationType,
-      EnumSet<StatsSettings.StatisticsMode> modes) {
+      EnumSet<StatsSettings.StatisticsMode> modes,
+      boolean countServerSide) {
     ImmutableMultimap<MappingField, CQLFragment> fieldsToVariables = null;
     if (!config.hasPath(QUERY)) {
       // in the absence of user-provided queries, create the mapping *before* query generation and
@@ -598,7 +736,7 @@ public class SchemaSettings {
       } else if (schemaGenerationType == SchemaGenerationType.READ_AND_MAP) {
         query = inferReadQuery(fieldsToVariables);
       } else if (schemaGenerationType == SchemaGenerationType.READ_AND_COUNT) {
-        query = inferCountQuery(modes);
+        query = inferCountQuery(modes, countServerSide);
       }
       LOGGER.debug("Inferred query: {}", query);
       queryInspector = new QueryInspector(query);
@@ -633,9 +771,9 @@ public class SchemaSettings {
                       + "only stats.modes = [global] is allowed",
                   modes));
         }
-        // reduce row size by only selecting one column
+        // reduce row size by only selecting one column, or count server-side
         StringBuilder sb = new StringBuilder("SELECT ");
-        sb.append(getGlobalCountSelector());
+        sb.append(countServerSide ? "count(*)" : getGlobalCountSelector());
         query =
             sb.append(' ')
                 .append(query.substring(queryInspector.getFromClauseStartIndex()))
@@ -1154,7 +1292,7 @@ public class SchemaSettings {
     sb.append(":end");
   }
 
-  private String inferCountQuery(EnumSet<StatisticsMode> modes) {
+  private String inferCountQuery(EnumSet<StatisticsMode> modes, boolean serverSide) {
     StringBuilder sb = new StringBuilder("SELECT ");
     List<ColumnMetadata> partitionKey = table.getPartitionKey();
     if (modes.contains(StatisticsMode.ranges)
@@ -1174,6 +1312,8 @@ public class SchemaSettings {
         // we only need the row's token
         appendTokenFunction(sb);
       }
+    } else if (serverSide) {
+      sb.append("count(*)");
     } else {
       String selector = getGlobalCountSelector();
       sb.append(selector);
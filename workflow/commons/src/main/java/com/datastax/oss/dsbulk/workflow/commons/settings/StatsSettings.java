@@ -32,11 +32,13 @@ public class StatsSettings {
 
   private static final String MODES = "modes";
   private static final String NUM_PARTITIONS = "numPartitions";
+  private static final String SERVER_SIDE = "serverSide";
 
   private final Config config;
 
   private List<StatisticsMode> statisticsModes;
   private int numPartitions;
+  private boolean serverSide;
 
   public StatsSettings(Config config) {
     this.config = config;
@@ -46,9 +48,17 @@ public class StatsSettings {
     try {
       statisticsModes = config.getEnumList(StatisticsMode.class, MODES);
       numPartitions = config.getInt(NUM_PARTITIONS);
+      serverSide = config.getBoolean(SERVER_SIDE);
     } catch (ConfigException e) {
       throw ConfigUtils.convertConfigException(e, "dsbulk.stats");
     }
+    if (serverSide && !getStatisticsModes().equals(EnumSet.of(StatisticsMode.global))) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Cannot count server-side with stats.modes = %s; "
+                  + "only stats.modes = [global] is allowed",
+              statisticsModes));
+    }
   }
 
   public EnumSet<StatisticsMode> getStatisticsModes() {
@@ -58,4 +68,12 @@ public class StatsSettings {
   public int getNumPartitions() {
     return numPartitions;
   }
+
+  /**
+   * @return true if rows should be counted server-side, with one {@code count(*)} query per token
+   *     range; false if rows should be read and counted client-side.
+   */
+  public boolean isServerSide() {
+    return serverSide;
+  }
 }
@@ -26,6 +26,7 @@ import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.api.core.type.DataType;
 import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.datastax.oss.dsbulk.sampler.DataSizeAware;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.nio.ByteBuffer;
@@ -33,14 +34,27 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
-public class BulkBoundStatement<T> implements BoundStatement, BulkStatement<T> {
+public class BulkBoundStatement<T> implements BoundStatement, BulkStatement<T>, DataSizeAware {
 
   private final T source;
   private BoundStatement delegate;
+  private long dataSize;
 
   public BulkBoundStatement(T source, BoundStatement delegate) {
+    this(source, delegate, -1);
+  }
+
+  /**
+   * Creates a new statement whose data size is already known.
+   *
+   * @param source the statement source.
+   * @param delegate the statement to wrap.
+   * @param dataSize the data size of the statement, or -1 if unknown.
+   */
+  public BulkBoundStatement(T source, BoundStatement delegate, long dataSize) {
     this.source = source;
     this.delegate = delegate;
+    this.dataSize = dataSize;
   }
 
   @Override
@@ -48,6 +62,11 @@ public class BulkBoundStatement<T> implements BoundStatement, BulkStatement<T> {
     return source;
   }
 
+  @Override
+  public long getDataSize() {
+    return dataSize;
+  }
+
   @NonNull
   @Override
   public PreparedStatement getPreparedStatement() {
@@ -253,6 +272,7 @@ public class BulkBoundStatement<T> implements BoundStatement, BulkStatement<T> {
   @Override
   public BoundStatement setBytesUnsafe(int i, ByteBuffer v) {
     delegate = delegate.setBytesUnsafe(i, v);
+    dataSize = -1;
     return this;
   }
 
@@ -21,20 +21,34 @@ import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.dsbulk.sampler.DataSizeAware;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
-public class BulkSimpleStatement<T> implements SimpleStatement, BulkStatement<T> {
+public class BulkSimpleStatement<T> implements SimpleStatement, BulkStatement<T>, DataSizeAware {
 
   private final T source;
   private SimpleStatement delegate;
+  private long dataSize;
 
   public BulkSimpleStatement(T source, SimpleStatement delegate) {
+    this(source, delegate, -1);
+  }
+
+  /**
+   * Creates a new statement whose data size is already known.
+   *
+   * @param source the statement source.
+   * @param delegate the statement to wrap.
+   * @param dataSize the data size of the statement, or -1 if unknown.
+   */
+  public BulkSimpleStatement(T source, SimpleStatement delegate, long dataSize) {
     this.source = source;
     this.delegate = delegate;
+    this.dataSize = dataSize;
   }
 
   @Override
@@ -42,6 +56,11 @@ public class BulkSimpleStatement<T> implements SimpleStatement, BulkStatement<T>
     return source;
   }
 
+  @Override
+  public long getDataSize() {
+    return dataSize;
+  }
+
   @NonNull
   @Override
   public String getQuery() {
@@ -72,6 +91,7 @@ public class BulkSimpleStatement<T> implements SimpleStatement, BulkStatement<T>
   @Override
   public SimpleStatement setPositionalValues(@NonNull List<Object> newPositionalValues) {
     delegate = delegate.setPositionalValues(newPositionalValues);
+    dataSize = -1;
     return this;
   }
 
@@ -85,6 +105,7 @@ public class BulkSimpleStatement<T> implements SimpleStatement, BulkStatement<T>
   @Override
   public SimpleStatement setNamedValuesWithIds(@NonNull Map<CqlIdentifier, Object> newNamedValues) {
     delegate = delegate.setNamedValuesWithIds(newNamedValues);
+    dataSize = -1;
     return this;
   }
 
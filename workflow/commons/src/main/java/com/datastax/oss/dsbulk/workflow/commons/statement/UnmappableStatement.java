@@ -24,7 +24,7 @@ public class UnmappableStatement extends BulkSimpleStatement<Record> {
   private final Throwable error;
 
   public UnmappableStatement(Record record, Throwable error) {
-    super(record, SimpleStatement.newInstance(error.getMessage()));
+    super(record, SimpleStatement.newInstance(error.getMessage()), 0);
     this.error = error;
   }
 
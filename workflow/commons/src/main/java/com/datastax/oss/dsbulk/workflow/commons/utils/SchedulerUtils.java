@@ -0,0 +1,100 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.workflow.commons.utils;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+public class SchedulerUtils {
+
+  // Thread.ofVirtual(), Thread.Builder.name(String, long), Thread.Builder.factory() and
+  // Executors.newThreadPerTaskExecutor(ThreadFactory) are only available in Java 21+.
+  private static final Method OF_VIRTUAL;
+  private static final Method NAME;
+  private static final Method FACTORY;
+  private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+  static {
+    Method ofVirtual = null;
+    Method name = null;
+    Method factory = null;
+    Method newThreadPerTaskExecutor = null;
+    try {
+      Class<?> builder = Class.forName("java.lang.Thread$Builder");
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      name = builder.getMethod("name", String.class, long.class);
+      factory = builder.getMethod("factory");
+      newThreadPerTaskExecutor =
+          Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+    } catch (ClassNotFoundException | NoSuchMethodException e) {
+      // virtual threads not available
+    }
+    OF_VIRTUAL = ofVirtual;
+    NAME = name;
+    FACTORY = factory;
+    NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+  }
+
+  /** @return true if virtual threads are available in the running JVM, false otherwise. */
+  public static boolean areVirtualThreadsAvailable() {
+    return NEW_THREAD_PER_TASK_EXECUTOR != null;
+  }
+
+  /**
+   * Creates a new scheduler for workflow tasks.
+   *
+   * <p>If virtual threads are requested and available, the scheduler starts a new virtual thread
+   * for each task, and the number of threads is not limited; blocking I/O then only parks the
+   * virtual thread, not its carrier. Otherwise, the scheduler is backed by a fixed pool of {@code
+   * numThreads} platform threads.
+   *
+   * @param numThreads the number of platform threads to use.
+   * @param name the thread name prefix.
+   * @param virtualThreads whether to use virtual threads, if available.
+   * @return a new scheduler.
+   */
+  @NonNull
+  public static Scheduler newScheduler(int numThreads, String name, boolean virtualThreads) {
+    if (virtualThreads) {
+      ExecutorService executor = newVirtualThreadPerTaskExecutor(name);
+      if (executor != null) {
+        return Schedulers.fromExecutorService(executor, name);
+      }
+    }
+    return Schedulers.newParallel(numThreads, new DefaultThreadFactory(name));
+  }
+
+  @Nullable
+  private static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+    if (areVirtualThreadsAvailable()) {
+      try {
+        Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), name + "-", 0L);
+        ThreadFactory factory = (ThreadFactory) FACTORY.invoke(builder);
+        return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException("Could not create virtual thread executor", e);
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.workflow.commons.log;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.Lists;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.LongPredicate;
+import org.junit.jupiter.api.Test;
+
+class CheckpointTest {
+
+  private static final URI RESOURCE1 = URI.create("file:/data/file%201.csv");
+  private static final URI RESOURCE2 = URI.create("file:/data/file2.csv");
+
+  @Test
+  void should_write_and_read_checkpoint() throws Exception {
+    Path file = Files.createTempDirectory("test").resolve(Checkpoint.CHECKPOINT_FILE);
+    Checkpoint checkpoint =
+        new Checkpoint(
+            ImmutableMap.of(
+                RESOURCE2,
+                Lists.newArrayList(new Range(1L, 10L)),
+                RESOURCE1,
+                Lists.newArrayList(new Range(1L, 3L), new Range(5L, 1000L))));
+    checkpoint.write(file);
+    assertThat(Files.readAllLines(file, UTF_8))
+        .containsExactly("file:/data/file%201.csv 1-3 5-1000", "file:/data/file2.csv 1-10");
+    assertThat(Checkpoint.read(file).getPositions()).isEqualTo(checkpoint.getPositions());
+    // writing again should replace the existing file
+    new Checkpoint(ImmutableMap.of(RESOURCE2, Lists.newArrayList(new Range(1L, 20L)))).write(file);
+    assertThat(Files.readAllLines(file, UTF_8)).containsExactly("file:/data/file2.csv 1-20");
+  }
+
+  @Test
+  void should_read_positions_file() throws Exception {
+    Path file = Files.createTempFile("positions", ".txt");
+    Files.write(
+        file, Lists.newArrayList("file:/data/file%201.csv:42", "file:/data/file2.csv:"), UTF_8);
+    assertThat(Checkpoint.readPositionsFile(file).getPositions())
+        .containsOnlyKeys(RESOURCE1)
+        .containsEntry(RESOURCE1, Lists.newArrayList(new Range(1L, 42L)));
+  }
+
+  @Test
+  void should_reject_invalid_checkpoint_file() throws Exception {
+    Path file = Files.createTempFile("checkpoint", ".txt");
+    Files.write(file, Lists.newArrayList("file:/data/file2.csv 1-10", "file:/data/file1.csv 1+3"));
+    assertThatThrownBy(() -> Checkpoint.read(file))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("line 2: file:/data/file1.csv 1+3");
+  }
+
+  @Test
+  void should_tell_processed_positions() {
+    Checkpoint checkpoint =
+        new Checkpoint(
+            ImmutableMap.of(
+                RESOURCE1, Lists.newArrayList(new Range(2L, 3L), new Range(5L, 1000L))));
+    assertThat(checkpoint.getProcessedPositions(RESOURCE2)).isNull();
+    LongPredicate processed = checkpoint.getProcessedPositions(RESOURCE1);
+    assertThat(processed).isNotNull();
+    assertThat(processed.test(1)).isFalse();
+    assertThat(processed.test(2)).isTrue();
+    assertThat(processed.test(3)).isTrue();
+    assertThat(processed.test(4)).isFalse();
+    assertThat(processed.test(5)).isTrue();
+    assertThat(processed.test(500)).isTrue();
+    assertThat(processed.test(1000)).isTrue();
+    assertThat(processed.test(1001)).isFalse();
+  }
+}
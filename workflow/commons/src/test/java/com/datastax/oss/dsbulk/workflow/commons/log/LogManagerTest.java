@@ -38,7 +38,11 @@ import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
 import com.datastax.oss.dsbulk.connectors.api.DefaultErrorRecord;
 import com.datastax.oss.dsbulk.connectors.api.DefaultRecord;
 import com.datastax.oss.dsbulk.connectors.api.Record;
@@ -64,7 +68,9 @@ import java.net.URI;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.BeforeEach;
@@ -336,6 +342,116 @@ class LogManagerTest {
         .containsOnlyOnce("java.lang.RuntimeException: error 3");
   }
 
+  @Test
+  void should_write_checkpoint_including_resumed_positions() throws Exception {
+    Path outputDir = Files.createTempDirectory("test");
+    Checkpoint resumed =
+        new Checkpoint(ImmutableMap.of(resource1, Lists.newArrayList(new Range(2L, 10L))));
+    LogManager logManager =
+        new LogManager(
+            session,
+            outputDir,
+            ErrorThreshold.unlimited(),
+            ErrorThreshold.forAbsoluteValue(0),
+            true,
+            statementFormatter,
+            EXTENDED,
+            rowFormatter,
+            Duration.ofHours(1),
+            resumed);
+    logManager.init();
+    Flux<BatchableStatement<?>> stmts =
+        Flux.just(unmappableStmt1, unmappableStmt2, unmappableStmt3);
+    stmts.transform(logManager.newUnmappableStatementsHandler()).blockLast();
+    logManager.close();
+    Path checkpoint = logManager.getOperationDirectory().resolve("checkpoint.txt");
+    assertThat(checkpoint.toFile()).exists();
+    assertThat(Files.readAllLines(checkpoint, UTF_8))
+        .containsExactly(resource1 + " 1-10", resource2 + " 2-2", resource3 + " 3-3");
+    assertThat(Files.readAllLines(logManager.getOperationDirectory().resolve("positions.txt")))
+        .containsExactly(resource1 + ":10", resource2 + ":", resource3 + ":");
+  }
+
+  @Test
+  void should_not_write_position_when_first_range_does_not_start_at_one() throws Exception {
+    Path outputDir = Files.createTempDirectory("test");
+    LogManager logManager =
+        new LogManager(
+            session,
+            outputDir,
+            ErrorThreshold.unlimited(),
+            ErrorThreshold.forAbsoluteValue(0),
+            true,
+            statementFormatter,
+            EXTENDED,
+            rowFormatter);
+    logManager.init();
+    // records 1 and 2 of resource1 were never processed, e.g. because they were still in flight
+    Flux.just(3L, 4L, 5L)
+        .map(
+            position ->
+                (Record)
+                    new DefaultErrorRecord(
+                        "line" + position,
+                        () -> resource1,
+                        position,
+                        new RuntimeException("error " + position)))
+        .concatWith(
+            Flux.just(1L, 2L)
+                .map(
+                    position ->
+                        (Record)
+                            new DefaultErrorRecord(
+                                "line" + position,
+                                () -> resource2,
+                                position,
+                                new RuntimeException("error " + position))))
+        .transform(logManager.newFailedRecordsHandler())
+        .blockLast();
+    logManager.close();
+    Path positions = logManager.getOperationDirectory().resolve("positions.txt");
+    assertThat(Files.readAllLines(positions, UTF_8))
+        .containsExactly(resource1 + ":", resource2 + ":2");
+    Checkpoint checkpoint = Checkpoint.readPositionsFile(positions);
+    assertThat(checkpoint.getPositions()).containsOnlyKeys(resource2);
+  }
+
+  @Test
+  void should_append_token_ranges_to_checkpoint() throws Exception {
+    Path outputDir = Files.createTempDirectory("test");
+    TokenMap tokenMap = TokenRangeCheckpointTest.mockTokenMap();
+    Metadata metadata = mock(Metadata.class);
+    when(session.getMetadata()).thenReturn(metadata);
+    when(metadata.getTokenMap()).thenReturn(Optional.of(tokenMap));
+    TokenRange range1 = tokenMap.newTokenRange(tokenMap.parse("1"), tokenMap.parse("2"));
+    TokenRange range2 = tokenMap.newTokenRange(tokenMap.parse("2"), tokenMap.parse("3"));
+    TokenRange range3 = tokenMap.newTokenRange(tokenMap.parse("3"), tokenMap.parse("1"));
+    LogManager logManager =
+        new LogManager(
+            session,
+            outputDir,
+            ErrorThreshold.unlimited(),
+            ErrorThreshold.forAbsoluteValue(0),
+            false,
+            statementFormatter,
+            EXTENDED,
+            rowFormatter,
+            Duration.ofHours(1),
+            null);
+    logManager.init();
+    logManager.carryOverTokenRanges(new TokenRangeCheckpoint(ImmutableMap.of(range3, 5L)));
+    Flux.just(successfulReadResult1, successfulReadResult1)
+        .transform(logManager.newTokenRangeCheckpointHandler(range1))
+        .blockLast();
+    // ranges with failed reads are not checkpointed
+    Flux.just(successfulReadResult1, failedReadResult1)
+        .transform(logManager.newTokenRangeCheckpointHandler(range2))
+        .blockLast();
+    logManager.close();
+    Path checkpoint = logManager.getOperationDirectory().resolve("checkpoint.txt");
+    assertThat(Files.readAllLines(checkpoint, UTF_8)).containsExactly("3 1 5", "1 2 2");
+  }
+
   @Test
   void should_stop_when_max_connector_errors_reached() throws Exception {
     Path outputDir = Files.createTempDirectory("test");
@@ -378,6 +494,65 @@ class LogManagerTest {
         .containsOnlyOnce("java.lang.RuntimeException: error 2");
   }
 
+  @Test
+  void should_write_all_pending_errors_when_closed() throws Exception {
+    Path outputDir = Files.createTempDirectory("test");
+    LogManager logManager =
+        new LogManager(
+            session,
+            outputDir,
+            ErrorThreshold.forAbsoluteValue(10_000),
+            ErrorThreshold.forAbsoluteValue(0),
+            true,
+            statementFormatter,
+            EXTENDED,
+            rowFormatter);
+    logManager.init();
+    Flux.range(1, 1_000)
+        .map(
+            i ->
+                (Record)
+                    new DefaultErrorRecord(
+                        "line" + i, () -> resource1, i, new RuntimeException("error " + i)))
+        .transform(logManager.newFailedRecordsHandler())
+        .blockLast();
+    logManager.close();
+    Path bad = logManager.getOperationDirectory().resolve("connector.bad");
+    List<String> badLines = Files.readAllLines(bad, UTF_8);
+    assertThat(badLines).hasSize(1_000).startsWith("line1").endsWith("line1000");
+    assertThat(logManager.getTotalErrors()).isEqualTo(1_000);
+  }
+
+  @Test
+  void should_write_all_errors_when_producers_outpace_log_writer() throws Exception {
+    Path outputDir = Files.createTempDirectory("test");
+    LogManager logManager =
+        new LogManager(
+            session,
+            outputDir,
+            ErrorThreshold.forAbsoluteValue(10_000),
+            ErrorThreshold.forAbsoluteValue(0),
+            true,
+            statementFormatter,
+            EXTENDED,
+            rowFormatter);
+    logManager.init();
+    // more errors than the log writer accepts before blocking producers
+    Flux.range(1, 5_000)
+        .map(
+            i ->
+                (Record)
+                    new DefaultErrorRecord(
+                        "line" + i, () -> resource1, i, new RuntimeException("error " + i)))
+        .transform(logManager.newFailedRecordsHandler())
+        .blockLast();
+    logManager.close();
+    Path bad = logManager.getOperationDirectory().resolve("connector.bad");
+    List<String> badLines = Files.readAllLines(bad, UTF_8);
+    assertThat(badLines).hasSize(5_000).startsWith("line1").endsWith("line5000");
+    assertThat(logManager.getTotalErrors()).isEqualTo(5_000);
+  }
+
   @Test
   void should_stop_when_max_write_errors_reached() throws Exception {
     Path outputDir = Files.createTempDirectory("test");
@@ -435,8 +610,8 @@ class LogManagerTest {
     List<String> positionLines = Files.readAllLines(positions, UTF_8);
     assertThat(positionLines)
         .contains("file:///file1.csv:1")
-        .contains("file:///file2.csv:2")
-        .contains("file:///file3.csv:3");
+        .contains("file:///file2.csv:")
+        .contains("file:///file3.csv:");
   }
 
   @Test
@@ -490,8 +665,8 @@ class LogManagerTest {
     List<String> positionLines = Files.readAllLines(positions, UTF_8);
     assertThat(positionLines)
         .contains("file:///file1.csv:1")
-        .contains("file:///file2.csv:2")
-        .contains("file:///file3.csv:3");
+        .contains("file:///file2.csv:")
+        .contains("file:///file3.csv:");
   }
 
   @Test
@@ -548,8 +723,8 @@ class LogManagerTest {
     List<String> positionLines = Files.readAllLines(positions, UTF_8);
     assertThat(positionLines)
         .contains("file:///file1.csv:1")
-        .contains("file:///file2.csv:2")
-        .contains("file:///file3.csv:3");
+        .contains("file:///file2.csv:")
+        .contains("file:///file3.csv:");
   }
 
   @Test
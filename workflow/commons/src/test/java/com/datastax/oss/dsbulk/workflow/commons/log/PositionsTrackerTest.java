@@ -21,7 +21,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -77,6 +83,73 @@ class PositionsTrackerTest {
     assertThat(positionsTracker.getPositions()).hasSize(1).containsEntry(RESOURCE, expected);
   }
 
+  @Test
+  void should_merge_positions_updated_concurrently() throws Exception {
+    PositionsTracker tracker = new PositionsTracker();
+    int threads = 8;
+    int positions = 10_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        int offset = i;
+        futures.add(
+            executor.submit(
+                () -> {
+                  // each thread updates interleaved positions, in reverse order
+                  for (long position = positions - offset; position > 0; position -= threads) {
+                    tracker.update(RESOURCE, position);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(tracker.getPositions())
+        .hasSize(1)
+        .containsEntry(RESOURCE, ranges(new Range(1L, positions)));
+  }
+
+  @Test
+  void should_coalesce_interleaved_positions_updated_concurrently() throws Exception {
+    PositionsTracker tracker = new PositionsTracker();
+    int threads = 8;
+    long positions = 100_000;
+    AtomicLong next = new AtomicLong();
+    AtomicInteger maxSize = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  // consecutive positions are handed out to threads in arbitrary order,
+                  // as write results completing on driver I/O threads would be
+                  long position;
+                  while ((position = next.incrementAndGet()) <= positions) {
+                    tracker.update(RESOURCE, position);
+                    if (position % 1000 == 0) {
+                      maxSize.accumulateAndGet(tracker.size(RESOURCE), Math::max);
+                    }
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    // gaps can only be caused by positions being processed concurrently
+    assertThat(maxSize.get()).isLessThanOrEqualTo(threads);
+    assertThat(tracker.size(RESOURCE)).isOne();
+    assertThat(tracker.getPositions()).containsEntry(RESOURCE, ranges(new Range(1L, positions)));
+  }
+
   static List<Range> ranges(Range... ranges) {
     return ranges == null ? emptyList() : newArrayList(ranges);
   }
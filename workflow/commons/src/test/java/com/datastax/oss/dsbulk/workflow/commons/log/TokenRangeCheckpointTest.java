@@ -0,0 +1,100 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.workflow.commons.log;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3TokenFactory;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.Lists;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+class TokenRangeCheckpointTest {
+
+  private static final Murmur3TokenFactory FACTORY = new Murmur3TokenFactory();
+
+  private static final TokenRange RANGE1 =
+      FACTORY.range(FACTORY.parse("-9223372036854775808"), FACTORY.parse("0"));
+  private static final TokenRange RANGE2 =
+      FACTORY.range(FACTORY.parse("0"), FACTORY.parse("-9223372036854775808"));
+
+  static TokenMap mockTokenMap() {
+    TokenMap tokenMap = mock(TokenMap.class);
+    when(tokenMap.parse(anyString())).then(args -> FACTORY.parse(args.getArgument(0)));
+    when(tokenMap.format(any(Token.class))).then(args -> FACTORY.format(args.getArgument(0)));
+    when(tokenMap.newTokenRange(any(Token.class), any(Token.class)))
+        .then(args -> FACTORY.range(args.getArgument(0), args.getArgument(1)));
+    return tokenMap;
+  }
+
+  @Test
+  void should_append_and_read_checkpoint() throws Exception {
+    TokenMap tokenMap = mockTokenMap();
+    Path file = Files.createTempDirectory("test").resolve(Checkpoint.CHECKPOINT_FILE);
+    try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, UTF_8))) {
+      TokenRangeCheckpoint.append(writer, tokenMap, RANGE2, 42);
+      TokenRangeCheckpoint.append(writer, tokenMap, RANGE1, 0);
+    }
+    assertThat(Files.readAllLines(file, UTF_8))
+        .containsExactly("0 -9223372036854775808 42", "-9223372036854775808 0 0");
+    TokenRangeCheckpoint checkpoint = TokenRangeCheckpoint.read(file, tokenMap);
+    assertThat(checkpoint.getRowsByRange().keySet()).containsExactly(RANGE2, RANGE1);
+    assertThat(checkpoint.getRowsByRange()).containsEntry(RANGE2, 42L).containsEntry(RANGE1, 0L);
+    assertThat(checkpoint.isCompleted(RANGE1)).isTrue();
+    assertThat(checkpoint.getTotalRows()).isEqualTo(42L);
+  }
+
+  @Test
+  void should_retain_matching_ranges() {
+    TokenRangeCheckpoint checkpoint =
+        new TokenRangeCheckpoint(ImmutableMap.of(RANGE1, 10L, RANGE2, 32L));
+    TokenRangeCheckpoint retained = checkpoint.retainAll(Lists.newArrayList(RANGE2));
+    assertThat(retained.getRowsByRange()).containsOnlyKeys(RANGE2);
+    assertThat(retained.isCompleted(RANGE1)).isFalse();
+    assertThat(retained.getTotalRows()).isEqualTo(32L);
+  }
+
+  @Test
+  void should_ignore_incomplete_last_line() throws Exception {
+    Path file = Files.createTempFile("checkpoint", ".txt");
+    // a crash while appending the second line left it truncated
+    Files.write(file, "-9223372036854775808 0 10\n0 -9223372036854775808 1".getBytes(UTF_8));
+    TokenRangeCheckpoint checkpoint = TokenRangeCheckpoint.read(file, mockTokenMap());
+    assertThat(checkpoint.getRowsByRange()).containsOnly(entry(RANGE1, 10L));
+  }
+
+  @Test
+  void should_reject_invalid_checkpoint_file() throws Exception {
+    Path file = Files.createTempFile("checkpoint", ".txt");
+    Files.write(file, Lists.newArrayList("-9223372036854775808 0 10", "0 10"));
+    assertThatThrownBy(() -> TokenRangeCheckpoint.read(file, mockTokenMap()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("line 2: 0 10");
+  }
+}
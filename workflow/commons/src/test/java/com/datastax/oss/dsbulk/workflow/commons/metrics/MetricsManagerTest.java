@@ -136,6 +136,38 @@ class MetricsManagerTest {
     }
   }
 
+  @Test
+  void should_increment_records_by_item_count() {
+    try (MetricsManager manager =
+        new MetricsManager(
+            new MetricRegistry(),
+            false,
+            "test",
+            Executors.newSingleThreadScheduledExecutor(),
+            SECONDS,
+            MILLISECONDS,
+            -1,
+            -1,
+            true,
+            false,
+            false,
+            null,
+            LogSettings.Verbosity.quiet,
+            Duration.ofSeconds(5),
+            false,
+            protocolVersion,
+            codecRegistry,
+            RowType.REGULAR)) {
+      manager.init();
+      manager.start();
+      Flux.just(10L, 0L, 32L).transform(manager.newTotalItemsMonitor(count -> count)).blockLast();
+      manager.stop();
+      MetricRegistry registry =
+          (MetricRegistry) ReflectionUtils.getInternalState(manager, "registry");
+      assertThat(registry.counter("records/total").getCount()).isEqualTo(42);
+    }
+  }
+
   @Test
   void should_increment_batches(
       @LogCapture(value = MetricsManager.class, level = INFO) LogInterceptor logs,
@@ -27,6 +27,7 @@ import static com.datastax.oss.dsbulk.workflow.commons.settings.StatsSettings.St
 import static java.net.InetSocketAddress.createUnresolved;
 import static java.util.Collections.singleton;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.api.core.CqlIdentifier;
@@ -39,6 +40,7 @@ import com.datastax.oss.driver.api.core.metadata.TokenMap;
 import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.internal.core.metadata.DefaultEndPoint;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3Token;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
 import com.datastax.oss.driver.shaded.guava.common.collect.Sets;
 import com.datastax.oss.dsbulk.codecs.api.ConvertingCodecFactory;
@@ -186,6 +188,16 @@ class DefaultReadResultCounterTest {
     when(row8.getToken(0)).thenReturn(token2a);
     when(row9.getToken(0)).thenReturn(token3);
     when(row10.getToken(0)).thenReturn(token1a);
+    when(row1.getLong(0)).thenReturn(((Murmur3Token) token1a).getValue());
+    when(row2.getLong(0)).thenReturn(((Murmur3Token) token2a).getValue());
+    when(row3.getLong(0)).thenReturn(((Murmur3Token) token3).getValue());
+    when(row4.getLong(0)).thenReturn(((Murmur3Token) token1a).getValue());
+    when(row5.getLong(0)).thenReturn(((Murmur3Token) token2a).getValue());
+    when(row6.getLong(0)).thenReturn(((Murmur3Token) token3).getValue());
+    when(row7.getLong(0)).thenReturn(((Murmur3Token) token1a).getValue());
+    when(row8.getLong(0)).thenReturn(((Murmur3Token) token2a).getValue());
+    when(row9.getLong(0)).thenReturn(((Murmur3Token) token3).getValue());
+    when(row10.getLong(0)).thenReturn(((Murmur3Token) token1a).getValue());
     when(tokenMap.newToken(bb1)).thenReturn(token1a);
     when(tokenMap.newToken(bb2)).thenReturn(token2a);
     when(tokenMap.newToken(bb3)).thenReturn(token3); // token happens to be a boundary token
@@ -222,6 +234,41 @@ class DefaultReadResultCounterTest {
     assertThat(stdout.getStreamLines()).contains("2");
   }
 
+  @Test
+  void should_count_total_rows_including_resumed_rows() {
+    DefaultReadResultCounter counter =
+        new DefaultReadResultCounter(ks, metadata, EnumSet.of(global), 10, V4, codecFactory);
+    counter.addResumedRows(41);
+    counter.newCountingUnit().update(result1);
+    counter.consolidateUnitCounts();
+    assertThat(counter.totalRows).isEqualTo(42);
+  }
+
+  @Test
+  void should_count_total_rows_server_side(StreamInterceptor stdout) {
+    DefaultReadResultCounter counter =
+        new DefaultReadResultCounter(ks, metadata, EnumSet.of(global), 10, V4, codecFactory, true);
+    when(row1.getLong(0)).thenReturn(1000L);
+    when(row2.getLong(0)).thenReturn(234L);
+    ReadResultCounter.CountingUnit unit = counter.newCountingUnit();
+    unit.update(result1);
+    unit.update(result2);
+    counter.consolidateUnitCounts();
+    assertThat(counter.totalRows).isEqualTo(1234L);
+    counter.reportTotals();
+    assertThat(stdout.getStreamLines()).contains("1234");
+  }
+
+  @Test
+  void should_not_count_ranges_server_side() {
+    assertThatThrownBy(
+            () ->
+                new DefaultReadResultCounter(
+                    ks, metadata, EnumSet.of(global, ranges), 10, V4, codecFactory, true))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Only global totals can be counted server-side");
+  }
+
   @Test
   void should_count_nodes(StreamInterceptor stdout) {
     DefaultReadResultCounter counter =
@@ -312,6 +359,24 @@ class DefaultReadResultCounterTest {
                 "%s %s 0 0.00", getTokenValue(range3.getStart()), getTokenValue(range3.getEnd())));
   }
 
+  @Test
+  void should_reuse_partition_key_while_partition_does_not_change() {
+    DefaultReadResultCounter counter =
+        new DefaultReadResultCounter(ks, metadata, EnumSet.of(partitions), 3, V4, codecFactory);
+    DefaultReadResultCounter.DefaultCountingUnit unit = counter.newCountingUnit();
+    unit.update(result2);
+    DefaultReadResultCounter.PartitionKey pk = unit.currentPk;
+    unit.update(result2);
+    unit.update(result2);
+    assertThat(unit.currentPk).isSameAs(pk);
+    assertThat(unit.currentPkCount).isEqualTo(3);
+    unit.update(result3);
+    assertThat(unit.currentPk).isNotSameAs(pk);
+    assertThat(unit.currentPk.components).containsOnly(bb3);
+    assertThat(unit.totalsByPartitionKey.get(0).pk).isSameAs(pk);
+    assertThat(pk.components).containsOnly(bb2);
+  }
+
   @Test
   void should_count_biggest_partitions(StreamInterceptor stdout) {
     DefaultReadResultCounter counter =
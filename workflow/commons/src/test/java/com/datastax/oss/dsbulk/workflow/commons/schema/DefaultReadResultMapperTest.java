@@ -21,6 +21,9 @@ import static java.util.Collections.singleton;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.util.Sets.newLinkedHashSet;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.api.core.CqlIdentifier;
@@ -104,6 +107,9 @@ class DefaultReadResultMapperTest {
     when(row.get(C1.asIdentifier(), codec1)).thenReturn(42);
     when(row.get(C2.asIdentifier(), codec2)).thenReturn("foo");
     when(row.get(C3.asIdentifier(), codec2)).thenReturn("bar");
+    when(row.get(0, codec1)).thenReturn(42);
+    when(row.get(1, codec2)).thenReturn("foo");
+    when(row.get(2, codec2)).thenReturn("bar");
 
     // to generate locations
     BoundStatement boundStatement = mock(BoundStatement.class);
@@ -138,6 +144,45 @@ class DefaultReadResultMapperTest {
     assertThat(record.getFieldValue(F2)).isEqualTo("bar");
   }
 
+  @Test
+  void should_reuse_extraction_plan_for_rows_with_same_definitions() {
+    DefaultReadResultMapper mapper = new DefaultReadResultMapper(mapping, recordMetadata);
+    for (int i = 0; i < 3; i++) {
+      Record record = mapper.map(result);
+      assertThat(record.getFieldValue(F0)).isEqualTo(42);
+      assertThat(record.getFieldValue(F1)).isEqualTo("foo");
+      assertThat(record.getFieldValue(F2)).isEqualTo("bar");
+    }
+    verify(mapping).codec(C1, DataTypes.INT, GenericType.of(Integer.class));
+    verify(mapping).codec(C3, DataTypes.TEXT, GenericType.of(String.class));
+    verify(row, times(3)).get(0, codec1);
+    verify(row, never()).get(C1.asIdentifier(), codec1);
+  }
+
+  @Test
+  void should_reuse_row_resource_for_rows_with_same_coordinator_and_table() {
+    DefaultReadResultMapper mapper = new DefaultReadResultMapper(mapping, recordMetadata);
+    Record record1 = mapper.map(result);
+    Record record2 = mapper.map(result);
+    assertThat(record1.getResource())
+        .hasScheme("cql")
+        .hasHost("127.0.0.1")
+        .hasPort(9042)
+        .hasPath("/ks/t");
+    assertThat(record2.getResource()).isSameAs(record1.getResource());
+  }
+
+  @Test
+  void should_fail_lazily_when_result_has_no_execution_info() {
+    when(result.getExecutionInfo()).thenReturn(Optional.empty());
+    DefaultReadResultMapper mapper = new DefaultReadResultMapper(mapping, recordMetadata);
+    Record record = mapper.map(result);
+    assertThat(record).isNotInstanceOf(ErrorRecord.class);
+    Assertions.assertThatThrownBy(record::getResource)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Read result has no execution info");
+  }
+
   @Test
   void should_map_result_to_error_record_when_mapping_fails() {
     // emulate a bad mapping (bad writetime variable) - see DefaultMapping
@@ -167,6 +212,7 @@ class DefaultReadResultMapperTest {
     String msg = "Invalid 32-bits integer value, expecting 4 bytes but got 5";
     IllegalArgumentException error = new IllegalArgumentException(msg);
     when(row.get(C1.asIdentifier(), codec1)).thenThrow(error);
+    when(row.get(0, codec1)).thenThrow(error);
     byte[] array = {1, 2, 3, 4, 5};
     when(row.getBytesUnsafe(C1.asIdentifier())).thenReturn(ByteBuffer.wrap(array));
     DefaultReadResultMapper mapper = new DefaultReadResultMapper(mapping, recordMetadata);
@@ -56,8 +56,11 @@ import com.datastax.oss.dsbulk.codecs.api.util.ZonedTemporalFormat;
 import com.datastax.oss.dsbulk.codecs.text.string.StringToIntegerCodec;
 import com.datastax.oss.dsbulk.codecs.text.string.StringToLongCodec;
 import com.datastax.oss.dsbulk.codecs.text.string.StringToStringCodec;
+import com.datastax.oss.dsbulk.connectors.api.ArrayBackedRecord;
+import com.datastax.oss.dsbulk.connectors.api.ArrayBackedRecord.Schema;
 import com.datastax.oss.dsbulk.connectors.api.DefaultMappedField;
 import com.datastax.oss.dsbulk.connectors.api.Field;
+import com.datastax.oss.dsbulk.connectors.api.MappedField;
 import com.datastax.oss.dsbulk.connectors.api.Record;
 import com.datastax.oss.dsbulk.connectors.api.RecordMetadata;
 import com.datastax.oss.dsbulk.mapping.CQLWord;
@@ -67,6 +70,7 @@ import com.datastax.oss.dsbulk.tests.utils.ReflectionUtils;
 import com.datastax.oss.dsbulk.workflow.commons.statement.BulkBoundStatement;
 import com.datastax.oss.dsbulk.workflow.commons.statement.UnmappableStatement;
 import io.netty.util.concurrent.FastThreadLocal;
+import java.net.URI;
 import java.nio.ByteBuffer;
 import java.text.NumberFormat;
 import java.time.Instant;
@@ -212,6 +216,147 @@ class DefaultRecordMapperTest {
             });
   }
 
+  @Test
+  void should_reuse_binding_plan_for_records_with_same_fields() {
+    when(record.fields()).thenReturn(set(F1, F2, F3));
+    RecordMapper mapper =
+        new DefaultRecordMapper(
+            insertStatement,
+            set(C1),
+            set(C2, C3),
+            V4,
+            mapping,
+            recordMetadata,
+            true,
+            true,
+            false,
+            statement -> boundStatementBuilder);
+    assertThat(mapper.map(record)).isInstanceOf(BulkBoundStatement.class);
+    assertThat(mapper.map(record)).isInstanceOf(BulkBoundStatement.class);
+    verify(mapping, times(1)).codec(C1, DataTypes.INT, GenericType.STRING);
+    verify(mapping, times(1)).codec(C2, DataTypes.BIGINT, GenericType.STRING);
+    verify(mapping, times(1)).codec(C3, DataTypes.TEXT, GenericType.STRING);
+    verify(boundStatementBuilder, times(6))
+        .setBytesUnsafe(variableCaptor.capture(), valueCaptor.capture());
+    assertParameter(3, 0, TypeCodecs.INT.encode(42, V4));
+    assertParameter(4, 1, TypeCodecs.BIGINT.encode(4242L, V4));
+    assertParameter(5, 2, TypeCodecs.TEXT.encode("foo", V4));
+  }
+
+  @Test
+  void should_compute_data_size_when_mapping() {
+    when(record.fields()).thenReturn(set(F1, F2, F3));
+    when(boundStatement.size()).thenReturn(3);
+    when(boundStatement.getBytesUnsafe(0)).thenReturn(TypeCodecs.INT.encode(42, V4));
+    when(boundStatement.getBytesUnsafe(1)).thenReturn(TypeCodecs.BIGINT.encode(4242L, V4));
+    when(boundStatement.getBytesUnsafe(2)).thenReturn(null);
+    RecordMapper mapper =
+        new DefaultRecordMapper(
+            insertStatement,
+            set(C1),
+            set(C2, C3),
+            V4,
+            mapping,
+            recordMetadata,
+            true,
+            true,
+            false,
+            statement -> boundStatementBuilder);
+    Statement<?> result = mapper.map(record);
+    assertThat(result).isInstanceOf(BulkBoundStatement.class);
+    assertThat(((BulkBoundStatement<?>) result).getDataSize()).isEqualTo(4 + 8);
+  }
+
+  @Test
+  void should_map_array_backed_record() {
+    Schema schema =
+        Schema.mapped(new MappedField[] {(MappedField) F1, (MappedField) F2, (MappedField) F3});
+    RecordMapper mapper =
+        new DefaultRecordMapper(
+            insertStatement,
+            set(C1),
+            set(C2, C3),
+            V4,
+            mapping,
+            recordMetadata,
+            true,
+            true,
+            false,
+            statement -> boundStatementBuilder);
+    for (int i = 0; i < 2; i++) {
+      Record record =
+          new ArrayBackedRecord(
+              "source",
+              URI.create("file://file1.csv"),
+              i + 1,
+              schema,
+              new Object[] {"42", "4242", "foo"});
+      Statement<?> result = mapper.map(record);
+      assertThat(result).isInstanceOf(BulkBoundStatement.class);
+      assertThat(record.fields()).isEmpty();
+    }
+    verify(mapping, times(1)).codec(C1, DataTypes.INT, GenericType.STRING);
+    verify(boundStatementBuilder, times(6))
+        .setBytesUnsafe(variableCaptor.capture(), valueCaptor.capture());
+    assertParameter(3, 0, TypeCodecs.INT.encode(42, V4));
+    assertParameter(4, 1, TypeCodecs.BIGINT.encode(4242L, V4));
+    assertParameter(5, 2, TypeCodecs.TEXT.encode("foo", V4));
+  }
+
+  @Test
+  void should_share_binding_plans_between_equal_schemas() {
+    RecordMapper mapper =
+        new DefaultRecordMapper(
+            insertStatement,
+            set(C1),
+            set(C2, C3),
+            V4,
+            mapping,
+            recordMetadata,
+            true,
+            true,
+            false,
+            statement -> boundStatementBuilder);
+    for (int i = 0; i < 2; i++) {
+      // e.g. one schema per file, all files having the same header
+      Schema schema =
+          Schema.mapped(new MappedField[] {(MappedField) F1, (MappedField) F2, (MappedField) F3});
+      Record record =
+          new ArrayBackedRecord(
+              "source",
+              URI.create("file://file" + i + ".csv"),
+              1,
+              schema,
+              new Object[] {"42", "4242", "foo"});
+      assertThat(mapper.map(record)).isInstanceOf(BulkBoundStatement.class);
+    }
+    verify(mapping, times(1)).codec(C1, DataTypes.INT, GenericType.STRING);
+  }
+
+  @Test
+  void should_not_compute_binding_plan_again_when_it_failed() {
+    when(record.fields()).thenReturn(set(F1, F2, F3));
+    when(mapping.codec(C3, DataTypes.TEXT, GenericType.STRING))
+        .thenThrow(CodecNotFoundException.class);
+    RecordMapper mapper =
+        new DefaultRecordMapper(
+            insertStatement,
+            set(C1),
+            set(C2, C3),
+            V4,
+            mapping,
+            recordMetadata,
+            false,
+            true,
+            false,
+            statement -> boundStatementBuilder);
+    for (int i = 0; i < 3; i++) {
+      assertThat(mapper.map(record)).isInstanceOf(UnmappableStatement.class);
+    }
+    // once to compute the plan, then once per record when binding field by field
+    verify(mapping, times(4)).codec(C3, DataTypes.TEXT, GenericType.STRING);
+  }
+
   @Test
   void should_map_regular_fields() {
     when(record.fields()).thenReturn(set(F1, F2, F3));
@@ -0,0 +1,173 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.workflow.commons.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3Token;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3TokenRange;
+import com.datastax.oss.dsbulk.executor.api.result.ReadResult;
+import com.datastax.oss.dsbulk.partitioner.murmur3.Murmur3BulkTokenFactory;
+import com.datastax.oss.dsbulk.workflow.commons.schema.TokenRangeReadScheduler.RangePart;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class TokenRangeReadSchedulerTest {
+
+  private final Map<Statement<?>, TokenRange> ranges = new HashMap<>();
+  private final Map<Row, Token> tokens = new HashMap<>();
+  private final Map<TokenRange, Long> checkpoints = new LinkedHashMap<>();
+
+  private Statement<?> stmt1;
+  private Statement<?> stmt2;
+
+  @BeforeEach
+  void setUp() {
+    stmt1 = statement(range(0, 1000));
+    stmt2 = statement(range(1000, 2000));
+  }
+
+  @Test
+  void should_read_statements_in_order_then_steal_largest_remainder() {
+    TokenRangeReadScheduler scheduler = newScheduler(stmt1, stmt2);
+    RangePart part1 = scheduler.next();
+    RangePart part2 = scheduler.next();
+    assertThat(part1).isNotNull();
+    assertThat(part2).isNotNull();
+    assertThat(part1.getStatement()).isSameAs(stmt1);
+    assertThat(part2.getStatement()).isSameAs(stmt2);
+    // part 1 has 800 tokens left, part 2 has 100 tokens left
+    assertThat(part1.accept(result(200))).isTrue();
+    assertThat(part2.accept(result(1900))).isTrue();
+    RangePart stolen = scheduler.next();
+    assertThat(stolen).isNotNull();
+    assertThat(ranges.get(stolen.getStatement())).isEqualTo(range(600, 1000));
+  }
+
+  @Test
+  void should_stop_reading_at_split_point_and_checkpoint_original_range_once() {
+    TokenRangeReadScheduler scheduler = newScheduler(stmt1);
+    RangePart part = scheduler.next();
+    assertThat(part).isNotNull();
+    assertThat(part.accept(result(100))).isTrue();
+    assertThat(part.accept(result(200))).isTrue();
+    RangePart stolen = scheduler.next();
+    assertThat(stolen).isNotNull();
+    assertThat(ranges.get(stolen.getStatement())).isEqualTo(range(600, 1000));
+    // rows up to the split point are still read by the original part
+    assertThat(part.accept(result(600))).isTrue();
+    assertThat(part.accept(result(601))).isFalse();
+    part.complete();
+    assertThat(checkpoints).isEmpty();
+    assertThat(stolen.accept(result(601))).isTrue();
+    assertThat(stolen.accept(result(1000))).isTrue();
+    stolen.complete();
+    assertThat(checkpoints).containsExactly(entry(range(0, 1000), 5L));
+  }
+
+  @Test
+  void should_not_checkpoint_range_when_a_part_failed() {
+    TokenRangeReadScheduler scheduler = newScheduler(stmt1);
+    RangePart part = scheduler.next();
+    assertThat(part).isNotNull();
+    RangePart stolen = scheduler.next();
+    assertThat(stolen).isNotNull();
+    ReadResult failed = mock(ReadResult.class);
+    when(failed.isSuccess()).thenReturn(false);
+    assertThat(stolen.accept(failed)).isTrue();
+    stolen.complete();
+    part.complete();
+    assertThat(checkpoints).isEmpty();
+  }
+
+  @Test
+  void should_not_steal_completed_or_unsplittable_parts() {
+    TokenRangeReadScheduler scheduler = newScheduler(stmt1, statement(range(2000, 2001)));
+    RangePart part1 = scheduler.next();
+    RangePart part2 = scheduler.next();
+    assertThat(part1).isNotNull();
+    assertThat(part2).isNotNull();
+    assertThat(part1.accept(result(1000))).isTrue();
+    assertThat(scheduler.next()).isNull();
+    part1.complete();
+    part2.complete();
+    assertThat(scheduler.next()).isNull();
+  }
+
+  @Test
+  void should_read_all_statements() {
+    TokenRangeReadScheduler scheduler = newScheduler(stmt1, stmt2);
+    Map<Statement<?>, List<ReadResult>> results = new HashMap<>();
+    results.put(stmt1, Arrays.asList(result(1), result(2), result(3)));
+    results.put(stmt2, Arrays.asList(result(1001), result(1002)));
+    List<ReadResult> actual =
+        scheduler
+            .flatMap(
+                (statement, tracker) ->
+                    Flux.fromIterable(results.getOrDefault(statement, new ArrayList<>()))
+                        .transform(tracker),
+                2,
+                500)
+            .collectList()
+            .block();
+    assertThat(actual).hasSize(5);
+    assertThat(checkpoints).containsOnly(entry(range(0, 1000), 3L), entry(range(1000, 2000), 2L));
+  }
+
+  private TokenRangeReadScheduler newScheduler(Statement<?>... statements) {
+    return new TokenRangeReadScheduler(
+        Arrays.asList(statements),
+        ranges::get,
+        this::statement,
+        tokens::get,
+        new Murmur3BulkTokenFactory(),
+        checkpoints::put);
+  }
+
+  private Statement<?> statement(TokenRange range) {
+    Statement<?> statement = mock(Statement.class);
+    ranges.put(statement, range);
+    return statement;
+  }
+
+  private ReadResult result(long token) {
+    Row row = mock(Row.class);
+    tokens.put(row, new Murmur3Token(token));
+    ReadResult result = mock(ReadResult.class);
+    when(result.isSuccess()).thenReturn(true);
+    when(result.getRow()).thenReturn(Optional.of(row));
+    return result;
+  }
+
+  private static TokenRange range(long start, long end) {
+    return new Murmur3TokenRange(new Murmur3Token(start), new Murmur3Token(end));
+  }
+}
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.datastax.oss.dsbulk.tests.utils.TestConfigUtils;
+import com.datastax.oss.dsbulk.workflow.commons.utils.SchedulerUtils;
 import com.typesafe.config.Config;
 import org.junit.jupiter.api.Test;
 
@@ -75,4 +76,32 @@ class EngineSettingsTest {
     settings.init();
     assertThat(settings.getMaxConcurrentQueries()).isEmpty();
   }
+
+  @Test
+  void should_report_default_virtual_threads() {
+    Config config = TestConfigUtils.createTestConfig("dsbulk.engine");
+    EngineSettings settings = new EngineSettings(config);
+    settings.init();
+    assertThat(settings.isVirtualThreads()).isFalse();
+  }
+
+  @Test
+  void should_enable_virtual_threads_only_when_available() {
+    Config config = TestConfigUtils.createTestConfig("dsbulk.engine", "virtualThreads", true);
+    EngineSettings settings = new EngineSettings(config);
+    settings.init();
+    assertThat(settings.isVirtualThreads()).isEqualTo(SchedulerUtils.areVirtualThreadsAvailable());
+  }
+
+  @Test
+  void should_report_work_stealing() {
+    Config config = TestConfigUtils.createTestConfig("dsbulk.engine");
+    EngineSettings settings = new EngineSettings(config);
+    settings.init();
+    assertThat(settings.isWorkStealing()).isFalse();
+    config = TestConfigUtils.createTestConfig("dsbulk.engine", "workStealing", true);
+    settings = new EngineSettings(config);
+    settings.init();
+    assertThat(settings.isWorkStealing()).isTrue();
+  }
 }
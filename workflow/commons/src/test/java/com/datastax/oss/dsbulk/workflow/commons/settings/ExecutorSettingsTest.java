@@ -29,7 +29,9 @@ import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
 import com.datastax.oss.driver.shaded.guava.common.util.concurrent.RateLimiter;
+import com.datastax.oss.dsbulk.executor.api.listener.AdaptiveConcurrencyLimiter;
 import com.datastax.oss.dsbulk.executor.api.reader.ReactiveBulkReader;
+import com.datastax.oss.dsbulk.executor.api.writer.BulkWriter;
 import com.datastax.oss.dsbulk.executor.api.writer.ReactiveBulkWriter;
 import com.datastax.oss.dsbulk.executor.reactor.ContinuousReactorBulkExecutor;
 import com.datastax.oss.dsbulk.executor.reactor.DefaultReactorBulkExecutor;
@@ -196,6 +198,46 @@ class ExecutorSettingsTest {
     assertThat(maxConcurrentRequests).isNull();
   }
 
+  @Test
+  void should_enable_adaptive_concurrency() {
+    Config config =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.executor", "maxInFlight", 100, "adaptive.enabled", true);
+    ExecutorSettings settings = new ExecutorSettings(config);
+    DriverExecutionProfile profile = session.getContext().getConfig().getDefaultProfile();
+    when(profile.getString(DefaultDriverOption.REQUEST_CONSISTENCY)).thenReturn("ONE");
+    settings.init();
+    ReactiveBulkReader executor = settings.newReadExecutor(session, null, false);
+    Semaphore maxConcurrentRequests =
+        (Semaphore) getInternalState(executor, "maxConcurrentRequests");
+    // starts at adaptive.minInFlight
+    assertThat(maxConcurrentRequests.availablePermits()).isEqualTo(8);
+    assertThat(getInternalState(executor, "listener"))
+        .isInstanceOf(AdaptiveConcurrencyLimiter.class);
+  }
+
+  @Test
+  void should_throw_exception_when_adaptive_backoffRatio_invalid() {
+    Config config =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.executor", "adaptive.enabled", true, "adaptive.backoffRatio", 1.5);
+    ExecutorSettings settings = new ExecutorSettings(config);
+    assertThatThrownBy(settings::init)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining(
+            "Invalid value for dsbulk.executor.adaptive.backoffRatio, expecting a number strictly between 0 and 1, got: 1.5");
+  }
+
+  @Test
+  void should_enable_maxInFlightPerReplicaSet() {
+    Config config =
+        TestConfigUtils.createTestConfig("dsbulk.executor", "maxInFlightPerReplicaSet", 10);
+    ExecutorSettings settings = new ExecutorSettings(config);
+    settings.init();
+    BulkWriter executor = settings.newWriteExecutor(session, null);
+    assertThat(getInternalState(executor, "maxInFlightRequestsPerReplicaSet")).isEqualTo(10);
+  }
+
   @Test
   void should_throw_exception_when_maxInFlight_not_a_number() {
     Config config =
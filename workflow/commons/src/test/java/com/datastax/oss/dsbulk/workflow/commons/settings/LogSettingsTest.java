@@ -35,12 +35,15 @@ import com.datastax.oss.dsbulk.workflow.api.error.ErrorThreshold;
 import com.datastax.oss.dsbulk.workflow.api.error.RatioErrorThreshold;
 import com.datastax.oss.dsbulk.workflow.api.error.UnlimitedErrorThreshold;
 import com.datastax.oss.dsbulk.workflow.commons.log.LogManager;
+import com.datastax.oss.dsbulk.workflow.commons.log.Range;
 import com.typesafe.config.Config;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -166,6 +169,80 @@ class LogSettingsTest {
     }
   }
 
+  @Test
+  void should_resume_from_previous_checkpoint_or_positions_file() throws Exception {
+    Path previous1 = Files.createDirectories(customLogsDirectory.resolve("LOAD_1"));
+    Files.write(previous1.resolve("checkpoint.txt"), Lists.list("file:/data.csv 1-10 12-20"));
+    Files.write(previous1.resolve("positions.txt"), Lists.list("file:/data.csv:10"));
+    Path previous2 = Files.createDirectories(customLogsDirectory.resolve("LOAD_2"));
+    Files.write(previous2.resolve("positions.txt"), Lists.list("file:/data.csv:10"));
+    Config config =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.log",
+            "directory",
+            quoteJson(customLogsDirectory),
+            "checkpoint.resumeFrom",
+            "LOAD_1");
+    LogSettings settings = new LogSettings(config, executionId);
+    settings.init();
+    assertThat(settings.getResumedCheckpoint())
+        .hasValueSatisfying(
+            checkpoint ->
+                assertThat(checkpoint.getPositions())
+                    .containsEntry(
+                        URI.create("file:/data.csv"),
+                        Lists.list(new Range(1L, 10L), new Range(12L, 20L))));
+    config =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.log",
+            "directory",
+            quoteJson(customLogsDirectory),
+            "checkpoint.resumeFrom",
+            "LOAD_2");
+    // the operation directory of the first resumed operation now exists, use another one
+    settings = new LogSettings(config, executionId + "_2");
+    settings.init();
+    assertThat(settings.getResumedCheckpoint())
+        .hasValueSatisfying(
+            checkpoint ->
+                assertThat(checkpoint.getPositions())
+                    .containsEntry(URI.create("file:/data.csv"), Lists.list(new Range(1L, 10L))));
+  }
+
+  @Test
+  void should_error_when_resumed_operation_does_not_exist() {
+    Config config =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.log",
+            "directory",
+            quoteJson(customLogsDirectory),
+            "checkpoint.resumeFrom",
+            "LOAD_1");
+    LogSettings settings = new LogSettings(config, executionId);
+    assertThatThrownBy(settings::init)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Invalid value for log.checkpoint.resumeFrom: operation directory")
+        .hasMessageContaining("does not exist");
+  }
+
+  @Test
+  void should_error_when_resumed_operation_has_no_checkpoint() throws IOException {
+    Files.createDirectories(customLogsDirectory.resolve("LOAD_1"));
+    Config config =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.log",
+            "directory",
+            quoteJson(customLogsDirectory),
+            "checkpoint.resumeFrom",
+            "LOAD_1");
+    LogSettings settings = new LogSettings(config, executionId);
+    settings.init();
+    assertThatThrownBy(settings::getResumedCheckpoint)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining(
+            "Invalid value for log.checkpoint.resumeFrom: could not find any readable checkpoint or positions file");
+  }
+
   @Test
   void should_log_to_main_log_file_in_normal_mode(@StreamCapture(STDERR) StreamInterceptor stdout)
       throws Exception {
@@ -56,15 +56,18 @@ import com.datastax.dse.driver.api.core.metadata.schema.DseVertexMetadata;
 import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.DefaultProtocolVersion;
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
 import com.datastax.oss.driver.api.core.ProtocolVersion;
 import com.datastax.oss.driver.api.core.Version;
 import com.datastax.oss.driver.api.core.context.DriverContext;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.cql.Statement;
 import com.datastax.oss.driver.api.core.metadata.Metadata;
 import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.NodeState;
 import com.datastax.oss.driver.api.core.metadata.schema.ClusteringOrder;
 import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.IndexMetadata;
@@ -1197,6 +1200,46 @@ class SchemaSettingsTest {
     assertThat(statements).hasSize(3).contains(bs1, bs2, bs3);
   }
 
+  @Test
+  void should_split_by_token_count_when_size_estimates_cannot_be_read() {
+    ColumnDefinitions definitions =
+        mockColumnDefinitions(
+            mockColumnDefinition("start", BIGINT), mockColumnDefinition("end", BIGINT));
+    when(ps.getVariableDefinitions()).thenReturn(definitions);
+    BoundStatement bs1 = mock(BoundStatement.class);
+    when(bs1.setToken(0, token1)).thenReturn(bs1);
+    when(bs1.setToken(1, token2)).thenReturn(bs1);
+    when(bs1.setRoutingKeyspace(any(CqlIdentifier.class))).thenReturn(bs1);
+    when(bs1.setRoutingToken(token2)).thenReturn(bs1);
+    BoundStatement bs2 = mock(BoundStatement.class);
+    when(bs2.setToken(0, token2)).thenReturn(bs2);
+    when(bs2.setToken(1, token3)).thenReturn(bs2);
+    when(bs2.setRoutingKeyspace(any(CqlIdentifier.class))).thenReturn(bs2);
+    when(bs2.setRoutingToken(token3)).thenReturn(bs2);
+    BoundStatement bs3 = mock(BoundStatement.class);
+    when(bs3.setToken(0, token3)).thenReturn(bs3);
+    when(bs3.setToken(1, token1)).thenReturn(bs3);
+    when(bs3.setRoutingKeyspace(any(CqlIdentifier.class))).thenReturn(bs3);
+    when(bs3.setRoutingToken(token1)).thenReturn(bs3);
+    when(ps.bind()).thenReturn(bs1, bs2, bs3);
+    Node node = mock(Node.class);
+    when(node.getState()).thenReturn(NodeState.UP);
+    when(metadata.getNodes()).thenReturn(ImmutableMap.of(UUID.randomUUID(), node));
+    when(session.execute(any(SimpleStatement.class)))
+        .thenThrow(new DriverTimeoutException("Query timed out"));
+    Config config =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.schema", "keyspace", "ks", "table", "t1", "splits", 3, "sizeEstimates", true);
+    SchemaSettings schemaSettings = new SchemaSettings(config);
+    schemaSettings.init(SchemaGenerationType.READ_AND_MAP, session, false, true);
+    schemaSettings.createReadResultMapper(session, recordMetadata, codecFactory);
+    List<Statement<?>> statements = schemaSettings.createReadStatements(session);
+    assertThat(statements).hasSize(3).contains(bs1, bs2, bs3);
+    assertThat(logs)
+        .hasMessageContaining(
+            "Could not read size estimates for ks.t1, token ranges will be split by token count");
+  }
+
   @Test
   void should_create_multiple_read_statements_when_token_range_provided_in_query() {
     ColumnDefinitions definitions =
@@ -1411,6 +1454,36 @@ class SchemaSettingsTest {
     assertThat(argument.getValue()).isEqualTo("SELECT c1 FROM ks.t1 WHERE c1 = 0");
   }
 
+  @Test
+  void should_create_row_counter_for_global_stats_server_side() {
+    Config config =
+        TestConfigUtils.createTestConfig("dsbulk.schema", "keyspace", "ks", "table", "t1");
+    SchemaSettings schemaSettings = new SchemaSettings(config);
+    schemaSettings.init(SchemaGenerationType.READ_AND_COUNT, session, false, true);
+    ReadResultCounter counter =
+        schemaSettings.createReadResultCounter(session, codecFactory, EnumSet.of(global), 10, true);
+    assertThat(counter).isNotNull();
+    ArgumentCaptor<String> argument = ArgumentCaptor.forClass(String.class);
+    verify(session).prepare(argument.capture());
+    assertThat(argument.getValue())
+        .isEqualTo("SELECT count(*) FROM ks.t1 WHERE token(c1) > :start AND token(c1) <= :end");
+  }
+
+  @Test
+  void should_use_custom_query_when_counting_server_side() {
+    Config config =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.schema", "query", "\"SELECT c1, c3 FROM ks.t1 WHERE c1 = 0\"");
+    SchemaSettings schemaSettings = new SchemaSettings(config);
+    schemaSettings.init(SchemaGenerationType.READ_AND_COUNT, session, false, true);
+    ReadResultCounter counter =
+        schemaSettings.createReadResultCounter(session, codecFactory, EnumSet.of(global), 10, true);
+    assertThat(counter).isNotNull();
+    ArgumentCaptor<String> argument = ArgumentCaptor.forClass(String.class);
+    verify(session).prepare(argument.capture());
+    assertThat(argument.getValue()).isEqualTo("SELECT count(*) FROM ks.t1 WHERE c1 = 0");
+  }
+
   @Test
   void should_throw_when_custom_query_and_mode_is_not_global() {
     Config config =
@@ -20,6 +20,7 @@ import static com.datastax.oss.dsbulk.workflow.commons.settings.StatsSettings.St
 import static com.datastax.oss.dsbulk.workflow.commons.settings.StatsSettings.StatisticsMode.partitions;
 import static com.datastax.oss.dsbulk.workflow.commons.settings.StatsSettings.StatisticsMode.ranges;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.datastax.oss.dsbulk.tests.utils.TestConfigUtils;
 import com.typesafe.config.Config;
@@ -44,4 +45,28 @@ class StatsSettingsTest {
     settings.init();
     assertThat(settings.getNumPartitions()).isEqualTo(20);
   }
+
+  @Test
+  void should_report_server_side() {
+    StatsSettings settings = new StatsSettings(TestConfigUtils.createTestConfig("dsbulk.stats"));
+    settings.init();
+    assertThat(settings.isServerSide()).isFalse();
+    Config config = TestConfigUtils.createTestConfig("dsbulk.stats", "serverSide", true);
+    settings = new StatsSettings(config);
+    settings.init();
+    assertThat(settings.isServerSide()).isTrue();
+  }
+
+  @Test
+  void should_throw_when_server_side_and_not_global() {
+    Config config =
+        TestConfigUtils.createTestConfig(
+            "dsbulk.stats", "serverSide", true, "modes", "[global,partitions]");
+    StatsSettings settings = new StatsSettings(config);
+    assertThatThrownBy(settings::init)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Cannot count server-side with stats.modes = [global, partitions]; "
+                + "only stats.modes = [global] is allowed");
+  }
 }
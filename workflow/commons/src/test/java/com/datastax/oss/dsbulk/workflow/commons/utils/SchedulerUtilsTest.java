@@ -0,0 +1,40 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.dsbulk.workflow.commons.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import reactor.core.scheduler.Scheduler;
+
+class SchedulerUtilsTest {
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void should_run_tasks_on_named_threads(boolean virtualThreads) throws Exception {
+    Scheduler scheduler = SchedulerUtils.newScheduler(2, "test", virtualThreads);
+    try {
+      CompletableFuture<String> threadName = new CompletableFuture<>();
+      scheduler.schedule(() -> threadName.complete(Thread.currentThread().getName()));
+      assertThat(threadName.get(10, TimeUnit.SECONDS)).startsWith("test-");
+    } finally {
+      scheduler.dispose();
+    }
+  }
+}
@@ -17,8 +17,11 @@ package com.datastax.oss.dsbulk.workflow.count;
 
 import com.codahale.metrics.MetricRegistry;
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
 import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.api.core.metrics.Metrics;
+import com.datastax.oss.driver.api.core.servererrors.ReadTimeoutException;
 import com.datastax.oss.driver.shaded.guava.common.base.Stopwatch;
 import com.datastax.oss.dsbulk.codecs.api.ConvertingCodecFactory;
 import com.datastax.oss.dsbulk.executor.api.reader.BulkReader;
@@ -26,6 +29,7 @@ import com.datastax.oss.dsbulk.executor.api.result.ReadResult;
 import com.datastax.oss.dsbulk.workflow.api.Workflow;
 import com.datastax.oss.dsbulk.workflow.api.utils.DurationUtils;
 import com.datastax.oss.dsbulk.workflow.commons.log.LogManager;
+import com.datastax.oss.dsbulk.workflow.commons.log.TokenRangeCheckpoint;
 import com.datastax.oss.dsbulk.workflow.commons.metrics.MetricsManager;
 import com.datastax.oss.dsbulk.workflow.commons.schema.ReadResultCounter;
 import com.datastax.oss.dsbulk.workflow.commons.settings.CodecSettings;
@@ -38,27 +42,35 @@ import com.datastax.oss.dsbulk.workflow.commons.settings.SchemaGenerationType;
 import com.datastax.oss.dsbulk.workflow.commons.settings.SchemaSettings;
 import com.datastax.oss.dsbulk.workflow.commons.settings.SettingsManager;
 import com.datastax.oss.dsbulk.workflow.commons.settings.StatsSettings;
+import com.datastax.oss.dsbulk.workflow.commons.settings.StatsSettings.StatisticsMode;
 import com.datastax.oss.dsbulk.workflow.commons.utils.CloseableUtils;
 import com.datastax.oss.dsbulk.workflow.commons.utils.ClusterInformationUtils;
+import com.datastax.oss.dsbulk.workflow.commons.utils.SchedulerUtils;
 import com.typesafe.config.Config;
-import io.netty.util.concurrent.DefaultThreadFactory;
 import java.time.Duration;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.scheduler.Scheduler;
-import reactor.core.scheduler.Schedulers;
 
 /** The main class for count workflows. */
 public class CountWorkflow implements Workflow {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CountWorkflow.class);
 
+  // When counting server-side, token ranges that time out are split in this many sub-ranges, at
+  // most this many times, before giving up.
+  private static final int SUB_SPLITS = 4;
+  private static final int MAX_SUB_SPLIT_DEPTH = 3;
+
   private final SettingsManager settingsManager;
   private final AtomicBoolean closed = new AtomicBoolean(false);
 
@@ -77,7 +89,13 @@ public class CountWorkflow implements Workflow {
   private Function<Flux<ReadResult>, Flux<ReadResult>> failedReadsHandler;
   private Function<Flux<ReadResult>, Flux<ReadResult>> queryWarningsHandler;
   private Function<Flux<Void>, Flux<Void>> terminationHandler;
+  private Function<Statement<?>, Function<Flux<ReadResult>, Flux<ReadResult>>>
+      tokenRangeCheckpointHandler;
+  private Function<Statement<?>, Optional<TokenRange>> tokenRangeExtractor;
+  private Function<TokenRange, Statement<?>> readStatementFactory;
+  private boolean serverSide;
   private int readConcurrency;
+  private boolean virtualThreads;
 
   CountWorkflow(Config config) {
     settingsManager = new SettingsManager(config);
@@ -100,6 +118,7 @@ public class CountWorkflow implements Workflow {
     if (engineSettings.isDryRun()) {
       throw new IllegalArgumentException("Dry-run is not supported for count");
     }
+    virtualThreads = engineSettings.isVirtualThreads();
     logSettings.init();
     driverSettings.init(false);
     logSettings.logEffectiveSettings(
@@ -131,26 +150,78 @@ public class CountWorkflow implements Workflow {
             schemaSettings.isAllowExtraFields(), schemaSettings.isAllowMissingFields());
     EnumSet<StatsSettings.StatisticsMode> modes = statsSettings.getStatisticsModes();
     int numPartitions = statsSettings.getNumPartitions();
+    serverSide = statsSettings.isServerSide();
     readResultCounter =
-        schemaSettings.createReadResultCounter(session, codecFactory, modes, numPartitions);
+        schemaSettings.createReadResultCounter(
+            session, codecFactory, modes, numPartitions, serverSide);
     readStatements = schemaSettings.createReadStatements(session);
+    Optional<TokenRangeCheckpoint> resumed = logSettings.getResumedTokenRangeCheckpoint(session);
+    if (resumed.isPresent()) {
+      if (!modes.equals(EnumSet.of(StatisticsMode.global))) {
+        throw new IllegalArgumentException(
+            "Resuming a count operation is only possible when counting global statistics");
+      }
+      TokenRangeCheckpoint skipped =
+          resumed
+              .get()
+              .retainAll(
+                  readStatements.stream()
+                      .map(schemaSettings::getTokenRange)
+                      .filter(Optional::isPresent)
+                      .map(Optional::get)
+                      .collect(Collectors.toSet()));
+      readStatements =
+          readStatements.stream()
+              .filter(
+                  stmt ->
+                      !schemaSettings.getTokenRange(stmt).filter(skipped::isCompleted).isPresent())
+              .collect(Collectors.toList());
+      readResultCounter.addResumedRows(skipped.getTotalRows());
+      logManager.carryOverTokenRanges(skipped);
+      LOGGER.info(
+          "Skipping {} token ranges already read by the resumed operation",
+          skipped.getRowsByRange().size());
+    }
+    tokenRangeExtractor = schemaSettings::getTokenRange;
+    readStatementFactory = schemaSettings::createReadStatement;
+    tokenRangeCheckpointHandler =
+        serverSide
+            ? statement ->
+                logManager.newTokenRangeCheckpointHandler(
+                    schemaSettings.getTokenRange(statement).orElse(null),
+                    result -> result.getRow().map(row -> row.getLong(0)).orElse(0L))
+            : statement ->
+                logManager.newTokenRangeCheckpointHandler(
+                    schemaSettings.getTokenRange(statement).orElse(null));
     closed.set(false);
     success = false;
-    totalItemsMonitor = metricsManager.newTotalItemsMonitor();
+    if (serverSide) {
+      // each result is a token range whose rows were counted by the server; a failed range
+      // accounts for one item, just like a failed read would when counting client-side.
+      ToLongFunction<ReadResult> itemCount =
+          result -> result.getRow().map(row -> row.getLong(0)).orElse(1L);
+      totalItemsMonitor = metricsManager.newTotalItemsMonitor(itemCount);
+      totalItemsCounter = logManager.newTotalItemsCounter(itemCount);
+    } else {
+      totalItemsMonitor = metricsManager.newTotalItemsMonitor();
+      totalItemsCounter = logManager.newTotalItemsCounter();
+    }
     failedItemsMonitor = metricsManager.newFailedItemsMonitor();
-    totalItemsCounter = logManager.newTotalItemsCounter();
     failedReadsHandler = logManager.newFailedReadsHandler();
     queryWarningsHandler = logManager.newQueryWarningsHandler();
     terminationHandler = logManager.newTerminationHandler();
     int numCores = Runtime.getRuntime().availableProcessors();
     readConcurrency =
-        Math.min(readStatements.size(), engineSettings.getMaxConcurrentQueries().orElse(numCores));
+        Math.max(
+            1,
+            Math.min(
+                readStatements.size(), engineSettings.getMaxConcurrentQueries().orElse(numCores)));
     LOGGER.debug(
         "Using read concurrency: {} (user-supplied: {})",
         readConcurrency,
         engineSettings.getMaxConcurrentQueries().isPresent());
     int numThreads = Math.min(readConcurrency, numCores);
-    scheduler = Schedulers.newParallel(numThreads, new DefaultThreadFactory("workflow"));
+    scheduler = SchedulerUtils.newScheduler(numThreads, "workflow", virtualThreads);
   }
 
   @Override
@@ -161,7 +232,8 @@ public class CountWorkflow implements Workflow {
     Flux.fromIterable(readStatements)
         .flatMap(
             statement ->
-                Flux.from(executor.readReactive(statement))
+                (serverSide ? countServerSide(statement, 0) : readRows(statement))
+                    .transform(tokenRangeCheckpointHandler.apply(statement))
                     .transform(queryWarningsHandler)
                     .transform(totalItemsMonitor)
                     .transform(totalItemsCounter)
@@ -195,6 +267,40 @@ public class CountWorkflow implements Workflow {
     return logManager.getTotalErrors() == 0;
   }
 
+  private Flux<ReadResult> readRows(Statement<?> statement) {
+    return Flux.from(executor.readReactive(statement));
+  }
+
+  /**
+   * Counts the rows in the token range of the given statement server-side. If the query times out,
+   * the range is split into smaller sub-ranges which are counted in turn, recursively.
+   */
+  private Flux<ReadResult> countServerSide(Statement<?> statement, int depth) {
+    return readRows(statement)
+        .concatMap(
+            result -> {
+              if (depth < MAX_SUB_SPLIT_DEPTH && isTimeout(result)) {
+                Optional<TokenRange> range = tokenRangeExtractor.apply(statement);
+                if (range.isPresent()) {
+                  LOGGER.debug(
+                      "Counting rows in {} timed out, splitting it in {} sub-ranges",
+                      range.get(),
+                      SUB_SPLITS);
+                  return Flux.fromIterable(range.get().splitEvenly(SUB_SPLITS))
+                      .concatMap(
+                          subRange ->
+                              countServerSide(readStatementFactory.apply(subRange), depth + 1));
+                }
+              }
+              return Flux.just(result);
+            });
+  }
+
+  private static boolean isTimeout(ReadResult result) {
+    Throwable error = result.getError().orElse(null);
+    return error instanceof ReadTimeoutException || error instanceof DriverTimeoutException;
+  }
+
   @Override
   public void close() throws Exception {
     if (closed.compareAndSet(false, true)) {
@@ -51,8 +51,8 @@ import com.datastax.oss.dsbulk.workflow.commons.settings.SchemaSettings;
 import com.datastax.oss.dsbulk.workflow.commons.settings.SettingsManager;
 import com.datastax.oss.dsbulk.workflow.commons.utils.CloseableUtils;
 import com.datastax.oss.dsbulk.workflow.commons.utils.ClusterInformationUtils;
+import com.datastax.oss.dsbulk.workflow.commons.utils.SchedulerUtils;
 import com.typesafe.config.Config;
-import io.netty.util.concurrent.DefaultThreadFactory;
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -62,7 +62,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.scheduler.Scheduler;
-import reactor.core.scheduler.Schedulers;
 import reactor.util.concurrent.Queues;
 
 /** The main class for load workflows. */
@@ -88,6 +87,7 @@ public class LoadWorkflow implements Workflow {
   private Scheduler scheduler;
   private int numCores;
   private int readConcurrency;
+  private boolean virtualThreads;
   private int writeConcurrency;
   private boolean hasManyReaders;
 
@@ -121,6 +121,9 @@ public class LoadWorkflow implements Workflow {
     connectorSettings.init();
     connector = connectorSettings.getConnector();
     connector.init();
+    logSettings
+        .getResumedCheckpoint()
+        .ifPresent(checkpoint -> connector.skipProcessedRecords(checkpoint::getProcessedPositions));
     DriverSettings driverSettings = settingsManager.getDriverSettings();
     SchemaSettings schemaSettings = settingsManager.getSchemaSettings();
     BatchSettings batchSettings = settingsManager.getBatchSettings();
@@ -169,6 +172,7 @@ public class LoadWorkflow implements Workflow {
       batcher = batchSettings.newStatementBatcher(session)::batchByGroupingKey;
     }
     dryRun = engineSettings.isDryRun();
+    virtualThreads = engineSettings.isVirtualThreads();
     if (dryRun) {
       LOGGER.info("Dry-run mode enabled.");
     }
@@ -240,7 +244,7 @@ public class LoadWorkflow implements Workflow {
    */
   private Flux<Statement<?>> manyReaders() {
     int numThreads = Math.min(readConcurrency, numCores);
-    scheduler = Schedulers.newParallel(numThreads, new DefaultThreadFactory("workflow"));
+    scheduler = SchedulerUtils.newScheduler(numThreads, "workflow", virtualThreads);
     return Flux.defer(() -> connector.read())
         .flatMap(
             records ->
@@ -266,7 +270,7 @@ public class LoadWorkflow implements Workflow {
    * chunk of records, with {@code numCores} parallelism.
    */
   private Flux<Statement<?>> fewReaders() {
-    scheduler = Schedulers.newParallel(numCores, new DefaultThreadFactory("workflow"));
+    scheduler = SchedulerUtils.newScheduler(numCores, "workflow", virtualThreads);
     return Flux.defer(() -> connector.read())
         .flatMap(
             records ->
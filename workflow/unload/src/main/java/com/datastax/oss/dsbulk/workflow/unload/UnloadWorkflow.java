@@ -18,6 +18,7 @@ package com.datastax.oss.dsbulk.workflow.unload;
 import com.codahale.metrics.MetricRegistry;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.api.core.metrics.Metrics;
 import com.datastax.oss.driver.shaded.guava.common.base.Stopwatch;
 import com.datastax.oss.dsbulk.codecs.api.ConvertingCodecFactory;
@@ -30,8 +31,10 @@ import com.datastax.oss.dsbulk.executor.api.result.ReadResult;
 import com.datastax.oss.dsbulk.workflow.api.Workflow;
 import com.datastax.oss.dsbulk.workflow.api.utils.DurationUtils;
 import com.datastax.oss.dsbulk.workflow.commons.log.LogManager;
+import com.datastax.oss.dsbulk.workflow.commons.log.TokenRangeCheckpoint;
 import com.datastax.oss.dsbulk.workflow.commons.metrics.MetricsManager;
 import com.datastax.oss.dsbulk.workflow.commons.schema.ReadResultMapper;
+import com.datastax.oss.dsbulk.workflow.commons.schema.TokenRangeReadScheduler;
 import com.datastax.oss.dsbulk.workflow.commons.settings.CodecSettings;
 import com.datastax.oss.dsbulk.workflow.commons.settings.ConnectorSettings;
 import com.datastax.oss.dsbulk.workflow.commons.settings.DriverSettings;
@@ -44,15 +47,21 @@ import com.datastax.oss.dsbulk.workflow.commons.settings.SchemaSettings;
 import com.datastax.oss.dsbulk.workflow.commons.settings.SettingsManager;
 import com.datastax.oss.dsbulk.workflow.commons.utils.CloseableUtils;
 import com.datastax.oss.dsbulk.workflow.commons.utils.ClusterInformationUtils;
+import com.datastax.oss.dsbulk.workflow.commons.utils.SchedulerUtils;
 import com.typesafe.config.Config;
-import io.netty.util.concurrent.DefaultThreadFactory;
 import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,6 +76,9 @@ public class UnloadWorkflow implements Workflow {
 
   private final SettingsManager settingsManager;
   private final AtomicBoolean closed = new AtomicBoolean(false);
+  // token ranges read entirely, whose records were not flushed yet by the connector; see
+  // checkpointTokenRange
+  private final Map<TokenRange, Long> unflushedTokenRanges = new ConcurrentHashMap<>();
 
   private String executionId;
   private Connector connector;
@@ -87,7 +99,11 @@ public class UnloadWorkflow implements Workflow {
   private Function<Flux<ReadResult>, Flux<ReadResult>> queryWarningsHandler;
   private Function<Flux<Record>, Flux<Record>> unmappableRecordsHandler;
   private Function<Flux<Void>, Flux<Void>> terminationHandler;
+  private Function<Statement<?>, Optional<TokenRange>> tokenRangeExtractor;
+  private TokenRangeReadScheduler readScheduler;
+  private volatile boolean sharedWriters;
   private int readConcurrency;
+  private boolean virtualThreads;
   private int numCores;
   private int writeConcurrency;
 
@@ -112,6 +128,7 @@ public class UnloadWorkflow implements Workflow {
     if (engineSettings.isDryRun()) {
       throw new IllegalArgumentException("Dry-run is not supported for unload");
     }
+    virtualThreads = engineSettings.isVirtualThreads();
     // No logs should be produced until the following statement returns
     logSettings.init();
     connectorSettings.init();
@@ -149,6 +166,40 @@ public class UnloadWorkflow implements Workflow {
             schemaSettings.isAllowExtraFields(), schemaSettings.isAllowMissingFields());
     readResultMapper = schemaSettings.createReadResultMapper(session, recordMetadata, codecFactory);
     readStatements = schemaSettings.createReadStatements(session);
+    Optional<TokenRangeCheckpoint> resumed = logSettings.getResumedTokenRangeCheckpoint(session);
+    if (resumed.isPresent()) {
+      TokenRangeCheckpoint skipped =
+          resumed
+              .get()
+              .retainAll(
+                  readStatements.stream()
+                      .map(schemaSettings::getTokenRange)
+                      .filter(Optional::isPresent)
+                      .map(Optional::get)
+                      .collect(Collectors.toSet()));
+      readStatements =
+          readStatements.stream()
+              .filter(
+                  stmt ->
+                      !schemaSettings.getTokenRange(stmt).filter(skipped::isCompleted).isPresent())
+              .collect(Collectors.toList());
+      logManager.carryOverTokenRanges(skipped);
+      LOGGER.info(
+          "Skipping {} token ranges already read by the resumed operation",
+          skipped.getRowsByRange().size());
+    }
+    tokenRangeExtractor = schemaSettings::getTokenRange;
+    if (engineSettings.isWorkStealing()) {
+      readScheduler =
+          schemaSettings
+              .createTokenRangeReadScheduler(readStatements, this::checkpointTokenRange)
+              .orElse(null);
+      if (readScheduler == null) {
+        LOGGER.warn(
+            "Work stealing requires a query reading token ranges and selecting all the "
+                + "partition key columns; token ranges will not be split at runtime.");
+      }
+    }
     executor =
         executorSettings.newReadExecutor(
             session, metricsManager.getExecutionListener(), schemaSettings.isSearchQuery());
@@ -170,11 +221,13 @@ public class UnloadWorkflow implements Workflow {
     writeConcurrency = connector.writeConcurrency();
     LOGGER.debug("Using write concurrency: {}", writeConcurrency);
     readConcurrency =
-        Math.min(
-            readStatements.size(),
-            // Most connectors have a default of numCores/2 for writeConcurrency;
-            // a good readConcurrency is then numCores.
-            engineSettings.getMaxConcurrentQueries().orElse(numCores));
+        Math.max(
+            1,
+            Math.min(
+                readStatements.size(),
+                // Most connectors have a default of numCores/2 for writeConcurrency;
+                // a good readConcurrency is then numCores.
+                engineSettings.getMaxConcurrentQueries().orElse(numCores)));
     LOGGER.debug(
         "Using read concurrency: {} (user-supplied: {})",
         readConcurrency,
@@ -216,13 +269,15 @@ public class UnloadWorkflow implements Workflow {
     Scheduler scheduler =
         numThreads == 1
             ? Schedulers.immediate()
-            : Schedulers.newParallel(numThreads, new DefaultThreadFactory("workflow"));
+            : SchedulerUtils.newScheduler(numThreads, "workflow", virtualThreads);
     schedulers.add(scheduler);
-    return Flux.fromIterable(readStatements)
-        .flatMap(
-            results ->
+    // the single writer only flushes once all ranges were read
+    sharedWriters = true;
+    return readAll(
+            (results, tracker) ->
                 Flux.from(executor.readReactive(results))
                     .publishOn(scheduler, 500)
+                    .transform(tracker)
                     .transform(queryWarningsHandler)
                     .transform(totalItemsMonitor)
                     .transform(totalItemsCounter)
@@ -231,11 +286,11 @@ public class UnloadWorkflow implements Workflow {
                     .map(readResultMapper::map)
                     .transform(failedRecordsMonitor)
                     .transform(unmappableRecordsHandler),
-            readConcurrency,
-            500)
+            readConcurrency)
         .transform(writer)
         .transform(failedRecordsMonitor)
-        .transform(failedRecordsHandler);
+        .transform(failedRecordsHandler)
+        .doOnComplete(this::checkpointUnflushedTokenRanges);
   }
 
   private Flux<Record> fewWriters() {
@@ -244,17 +299,19 @@ public class UnloadWorkflow implements Workflow {
     Scheduler schedulerForReads =
         numThreadsForReads == 1
             ? Schedulers.immediate()
-            : Schedulers.newParallel(numThreadsForReads, new DefaultThreadFactory("workflow-read"));
+            : SchedulerUtils.newScheduler(numThreadsForReads, "workflow-read", virtualThreads);
     int numThreadsForWrites = Math.min(numCores, writeConcurrency);
     Scheduler schedulerForWrites =
-        Schedulers.newParallel(numThreadsForWrites, new DefaultThreadFactory("workflow-write"));
+        SchedulerUtils.newScheduler(numThreadsForWrites, "workflow-write", virtualThreads);
     schedulers.add(schedulerForReads);
     schedulers.add(schedulerForWrites);
-    return Flux.fromIterable(readStatements)
-        .flatMap(
-            results ->
+    // each writer only flushes once all ranges were read
+    sharedWriters = true;
+    return readAll(
+            (results, tracker) ->
                 Flux.from(executor.readReactive(results))
                     .publishOn(schedulerForReads, 500)
+                    .transform(tracker)
                     .transform(queryWarningsHandler)
                     .transform(totalItemsMonitor)
                     .transform(totalItemsCounter)
@@ -263,8 +320,7 @@ public class UnloadWorkflow implements Workflow {
                     .map(readResultMapper::map)
                     .transform(failedRecordsMonitor)
                     .transform(unmappableRecordsHandler),
-            readConcurrency,
-            500)
+            readConcurrency)
         .parallel(writeConcurrency)
         .runOn(schedulerForWrites)
         .groups()
@@ -275,44 +331,116 @@ public class UnloadWorkflow implements Workflow {
                     .transform(failedRecordsMonitor)
                     .transform(failedRecordsHandler),
             writeConcurrency,
-            500);
+            500)
+        .doOnComplete(this::checkpointUnflushedTokenRanges);
   }
 
   private Flux<Record> manyWriters() {
     // writeConcurrency and readConcurrency are >= 0.5C here
     int actualConcurrency = Math.min(readConcurrency, writeConcurrency);
     int numThreads = Math.min(numCores * 2, actualConcurrency);
-    Scheduler scheduler = Schedulers.newParallel(numThreads, new DefaultThreadFactory("workflow"));
+    Scheduler scheduler = SchedulerUtils.newScheduler(numThreads, "workflow", virtualThreads);
     schedulers.add(scheduler);
+    return readAll(
+        (results, tracker) -> {
+          Flux<Record> records =
+              Flux.from(executor.readReactive(results))
+                  .publishOn(scheduler, 500)
+                  .transform(tracker)
+                  .transform(queryWarningsHandler)
+                  .transform(totalItemsMonitor)
+                  .transform(totalItemsCounter)
+                  .transform(failedReadResultsMonitor)
+                  .transform(failedReadsHandler)
+                  .map(readResultMapper::map)
+                  .transform(failedRecordsMonitor)
+                  .transform(unmappableRecordsHandler);
+          if (actualConcurrency == writeConcurrency) {
+            records = records.transform(writer);
+          } else {
+            // If the actual concurrency is lesser than the connector's desired write
+            // concurrency, we need to give the connector a chance to switch writers
+            // frequently so that it can really redirect records to all the final destinations
+            // (to that many files on disk for example). If the connector is correctly
+            // implemented, each window will be redirected to a different destination
+            // in a round-robin fashion.
+            records = records.window(500).concatMap(window -> window.transform(writer));
+          }
+          return records.transform(failedRecordsMonitor).transform(failedRecordsHandler);
+        },
+        actualConcurrency);
+  }
+
+  /**
+   * Reads all the statements with the given concurrency, splitting straggling token ranges at
+   * runtime if work stealing is enabled.
+   *
+   * <p>The token range of a statement is checkpointed when the flux returned by the reader for it
+   * completes, if all its results were successful.
+   *
+   * @param reader the function reading a statement; it is given a tracker that must be applied to
+   *     the statement results.
+   * @param concurrency the maximum number of statements to read concurrently.
+   */
+  private Flux<Record> readAll(
+      BiFunction<Statement<?>, Function<Flux<ReadResult>, Flux<ReadResult>>, Flux<Record>> reader,
+      int concurrency) {
+    if (readScheduler != null) {
+      return readScheduler.flatMap(reader, concurrency, 500);
+    }
     return Flux.fromIterable(readStatements)
-        .flatMap(
-            results -> {
-              Flux<Record> records =
-                  Flux.from(executor.readReactive(results))
-                      .publishOn(scheduler, 500)
-                      .transform(queryWarningsHandler)
-                      .transform(totalItemsMonitor)
-                      .transform(totalItemsCounter)
-                      .transform(failedReadResultsMonitor)
-                      .transform(failedReadsHandler)
-                      .map(readResultMapper::map)
-                      .transform(failedRecordsMonitor)
-                      .transform(unmappableRecordsHandler);
-              if (actualConcurrency == writeConcurrency) {
-                records = records.transform(writer);
-              } else {
-                // If the actual concurrency is lesser than the connector's desired write
-                // concurrency, we need to give the connector a chance to switch writers
-                // frequently so that it can really redirect records to all the final destinations
-                // (to that many files on disk for example). If the connector is correctly
-                // implemented, each window will be redirected to a different destination
-                // in a round-robin fashion.
-                records = records.window(500).flatMap(window -> window.transform(writer), 1, 500);
+        .flatMap(statement -> read(statement, reader), concurrency, 500);
+  }
+
+  private Flux<Record> read(
+      Statement<?> statement,
+      BiFunction<Statement<?>, Function<Flux<ReadResult>, Flux<ReadResult>>, Flux<Record>> reader) {
+    TokenRange range = tokenRangeExtractor.apply(statement).orElse(null);
+    if (range == null) {
+      return reader.apply(statement, Function.identity());
+    }
+    LongAdder rows = new LongAdder();
+    AtomicBoolean failed = new AtomicBoolean(false);
+    return reader
+        .apply(
+            statement,
+            results ->
+                results.doOnNext(
+                    result -> {
+                      if (result.isSuccess()) {
+                        rows.increment();
+                      } else {
+                        failed.set(true);
+                      }
+                    }))
+        .doOnComplete(
+            () -> {
+              if (!failed.get()) {
+                checkpointTokenRange(range, rows.sum());
               }
-              return records.transform(failedRecordsMonitor).transform(failedRecordsHandler);
-            },
-            actualConcurrency,
-            500);
+            });
+  }
+
+  /**
+   * Checkpoints a token range read entirely without errors, once its records were flushed.
+   *
+   * <p>When each range is written by its own writer invocation, the writer flushes the range's
+   * records before the range's flux completes, and the range can be checkpointed right away.
+   * Otherwise, writers are shared by all ranges and only flush at the end of the operation, so
+   * ranges are only checkpointed once the operation completes; if the operation crashes or is
+   * aborted, it will be resumed from the start.
+   */
+  private void checkpointTokenRange(TokenRange range, long rows) {
+    if (sharedWriters) {
+      unflushedTokenRanges.put(range, rows);
+    } else {
+      logManager.checkpointTokenRange(range, rows);
+    }
+  }
+
+  private void checkpointUnflushedTokenRanges() {
+    unflushedTokenRanges.forEach(logManager::checkpointTokenRange);
+    unflushedTokenRanges.clear();
   }
 
   @Override